@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Stage;
+import com.google.inject.matcher.Matchers;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks calls to a method with and without interceptors applied.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AopBenchmark {
+
+  private Counter plain;
+  private Counter intercepted;
+  private Counter interceptedTwice;
+
+  @Setup public void setUp() {
+    plain = new Counter();
+    intercepted = newInjector(1).getInstance(Counter.class);
+    interceptedTwice = newInjector(2).getInstance(Counter.class);
+  }
+
+  private static Injector newInjector(final int interceptorCount) {
+    return Guice.createInjector(Stage.PRODUCTION, new AbstractModule() {
+      protected void configure() {
+        for (int i = 0; i < interceptorCount; i++) {
+          bindInterceptor(Matchers.any(), Matchers.annotatedWith(Intercepted.class),
+              new PassThroughInterceptor());
+        }
+      }
+    });
+  }
+
+  @Benchmark public int callPlain() {
+    return plain.increment();
+  }
+
+  @Benchmark public int callIntercepted() {
+    return intercepted.increment();
+  }
+
+  @Benchmark public int callInterceptedTwice() {
+    return interceptedTwice.increment();
+  }
+
+  @Retention(RetentionPolicy.RUNTIME) @Target(ElementType.METHOD)
+  public @interface Intercepted {}
+
+  public static class Counter {
+    private int count;
+
+    @Intercepted public int increment() {
+      return ++count;
+    }
+  }
+
+  static class PassThroughInterceptor implements MethodInterceptor {
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+      return invocation.proceed();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Stage;
+import com.google.inject.assistedinject.Assisted;
+import com.google.inject.assistedinject.FactoryModuleBuilder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks creating objects through factories built by
+ * {@link FactoryModuleBuilder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AssistedInjectBenchmark {
+
+  private PaymentFactory factory;
+
+  @Setup public void setUp() {
+    Injector injector = Guice.createInjector(Stage.PRODUCTION, new AbstractModule() {
+      protected void configure() {
+        install(new FactoryModuleBuilder()
+            .implement(Payment.class, RealPayment.class)
+            .build(PaymentFactory.class));
+      }
+    });
+    factory = injector.getInstance(PaymentFactory.class);
+  }
+
+  @Benchmark public Payment create() {
+    return factory.create(42);
+  }
+
+  public interface PaymentFactory {
+    Payment create(int amount);
+  }
+
+  public interface Payment {}
+
+  public static class CreditService {}
+
+  static class RealPayment implements Payment {
+    @Inject RealPayment(CreditService creditService, @Assisted int amount) {}
+  }
+}
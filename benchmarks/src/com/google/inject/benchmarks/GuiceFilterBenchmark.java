@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+import com.google.inject.Stage;
+import com.google.inject.servlet.GuiceFilter;
+import com.google.inject.servlet.ServletModule;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks dispatching a request through {@link GuiceFilter} to a filter
+ * and servlet registered with {@link ServletModule}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GuiceFilterBenchmark {
+
+  private GuiceFilter guiceFilter;
+  private HttpServletRequest servedRequest;
+  private HttpServletRequest unservedRequest;
+  private HttpServletResponse response;
+  private FilterChain chain;
+
+  @Setup public void setUp() throws ServletException {
+    Injector injector = Guice.createInjector(Stage.PRODUCTION, new ServletModule() {
+      @Override protected void configureServlets() {
+        filter("/*").through(PassThroughFilter.class);
+        serve("/served/*").with(NoOpServlet.class);
+      }
+    });
+
+    guiceFilter = injector.getInstance(GuiceFilter.class);
+    guiceFilter.init(fake(FilterConfig.class, null));
+    servedRequest = fake(HttpServletRequest.class, "/served/page");
+    unservedRequest = fake(HttpServletRequest.class, "/static/page");
+    response = fake(HttpServletResponse.class, null);
+    chain = new FilterChain() {
+      public void doFilter(ServletRequest request, ServletResponse response) {}
+    };
+  }
+
+  @TearDown public void tearDown() {
+    guiceFilter.destroy();
+  }
+
+  @Benchmark public void dispatchToServlet() throws Exception {
+    guiceFilter.doFilter(servedRequest, response, chain);
+  }
+
+  @Benchmark public void dispatchToChain() throws Exception {
+    guiceFilter.doFilter(unservedRequest, response, chain);
+  }
+
+  /**
+   * Returns an implementation of a servlet API interface that returns
+   * {@code requestUri} for the request URI and defaults for everything else.
+   */
+  private static <T> T fake(Class<T> type, final String requestUri) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+        new InvocationHandler() {
+          public Object invoke(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            Class<?> returnType = method.getReturnType();
+            if (name.equals("getRequestURI")) {
+              return requestUri;
+            } else if (name.equals("getContextPath") || name.equals("getServletPath")) {
+              return "";
+            } else if (name.equals("getMethod")) {
+              return "GET";
+            } else if (name.equals("getServletContext")) {
+              return fake(ServletContext.class, null);
+            } else if (name.equals("hashCode")) {
+              return System.identityHashCode(proxy);
+            } else if (name.equals("equals")) {
+              return proxy == args[0];
+            } else if (returnType == boolean.class) {
+              return false;
+            } else if (returnType == int.class) {
+              return 0;
+            } else if (returnType == long.class) {
+              return 0L;
+            }
+            return null;
+          }
+        }));
+  }
+
+  @Singleton
+  public static class PassThroughFilter implements Filter {
+    public void init(FilterConfig filterConfig) {}
+
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+        throws IOException, ServletException {
+      chain.doFilter(request, response);
+    }
+
+    public void destroy() {}
+  }
+
+  @Singleton
+  public static class NoOpServlet extends HttpServlet {
+    @Override protected void service(HttpServletRequest request, HttpServletResponse response) {}
+  }
+}
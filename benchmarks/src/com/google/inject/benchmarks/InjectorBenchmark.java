@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Singleton;
+import com.google.inject.Stage;
+import com.google.inject.servlet.ServletScopes;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link Injector#getInstance} for each kind of scoping, and child
+ * injector creation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InjectorBenchmark {
+
+  private Injector injector;
+  private Callable<RequestScopedService> getRequestScopedTwice;
+
+  @Setup public void setUp() {
+    injector = Guice.createInjector(Stage.PRODUCTION, new AbstractModule() {
+      protected void configure() {
+        bind(Service.class).to(ServiceImpl.class);
+        bind(Dependency.class).to(DependencyImpl.class);
+        bind(SingletonService.class).in(Singleton.class);
+        bind(RequestScopedService.class).in(ServletScopes.REQUEST);
+      }
+    });
+
+    getRequestScopedTwice = new Callable<RequestScopedService>() {
+      public RequestScopedService call() {
+        injector.getInstance(RequestScopedService.class);
+        return injector.getInstance(RequestScopedService.class);
+      }
+    };
+  }
+
+  @Benchmark public Service getUnscoped() {
+    return injector.getInstance(Service.class);
+  }
+
+  @Benchmark public SingletonService getSingleton() {
+    return injector.getInstance(SingletonService.class);
+  }
+
+  /**
+   * Enters a new request scope, then gets the request-scoped instance twice: a
+   * miss and a hit. The scoped callable keeps its scope map between calls, so
+   * it's created for each request.
+   */
+  @Benchmark public RequestScopedService getRequestScoped() throws Exception {
+    return ServletScopes.scopeRequest(getRequestScopedTwice,
+        Collections.<Key<?>, Object>emptyMap()).call();
+  }
+
+  @Benchmark public Injector createChildInjector() {
+    return injector.createChildInjector(new AbstractModule() {
+      protected void configure() {
+        bind(ChildService.class);
+      }
+    });
+  }
+
+  public interface Service {}
+
+  static class ServiceImpl implements Service {
+    @Inject ServiceImpl(Dependency dependency, SingletonService singletonService) {}
+  }
+
+  public interface Dependency {}
+
+  static class DependencyImpl implements Dependency {}
+
+  public static class SingletonService {}
+
+  public static class ChildService {
+    @Inject ChildService(Service service) {}
+  }
+
+  public static class RequestScopedService {
+    @Inject Service service;
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@code Key.get(Class)}, which returns cached keys, against
+ * building an equal key and type literal, which is what {@code Key.get(Class)}
+ * did before keys were cached. Each {@code new} benchmark is the baseline for
+ * the {@code cached} benchmark beside it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(4)
+public class KeyBenchmark {
+
+  static class Foo {}
+
+  private Injector injector;
+
+  @Setup public void setUp() {
+    injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        bind(Foo.class);
+      }
+    });
+  }
+
+  @Benchmark public Key<Foo> cachedKey() {
+    return Key.get(Foo.class);
+  }
+
+  @Benchmark public Key<Foo> newKey() {
+    return Key.get(TypeLiteral.get(Foo.class));
+  }
+
+  @Benchmark public Foo cachedKeyGetInstance() {
+    return injector.getInstance(Foo.class);
+  }
+
+  @Benchmark public Foo newKeyGetInstance() {
+    return injector.getInstance(Key.get(TypeLiteral.get(Foo.class)));
+  }
+}
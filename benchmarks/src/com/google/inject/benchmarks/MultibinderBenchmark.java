@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Stage;
+import com.google.inject.TypeLiteral;
+import com.google.inject.multibindings.MapBinder;
+import com.google.inject.multibindings.Multibinder;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks injecting the sets and maps built by {@link Multibinder} and
+ * {@link MapBinder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MultibinderBenchmark {
+
+  private static final Key<Set<Runnable>> SET_KEY = Key.get(new TypeLiteral<Set<Runnable>>() {});
+  private static final Key<Map<String, Runnable>> MAP_KEY
+      = Key.get(new TypeLiteral<Map<String, Runnable>>() {});
+
+  @Param({"1", "10", "100"})
+  private int elementCount;
+
+  private Injector injector;
+
+  @Setup public void setUp() {
+    injector = Guice.createInjector(Stage.PRODUCTION, new AbstractModule() {
+      protected void configure() {
+        Multibinder<Runnable> setBinder = Multibinder.newSetBinder(binder(), Runnable.class);
+        MapBinder<String, Runnable> mapBinder
+            = MapBinder.newMapBinder(binder(), String.class, Runnable.class);
+        for (int i = 0; i < elementCount; i++) {
+          setBinder.addBinding().toInstance(new Task());
+          mapBinder.addBinding("task" + i).toInstance(new Task());
+        }
+      }
+    });
+  }
+
+  @Benchmark public Set<Runnable> getSet() {
+    return injector.getInstance(SET_KEY);
+  }
+
+  @Benchmark public Map<String, Runnable> getMap() {
+    return injector.getInstance(MAP_KEY);
+  }
+
+  static class Task implements Runnable {
+    public void run() {}
+  }
+}
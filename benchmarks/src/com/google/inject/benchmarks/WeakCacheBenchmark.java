@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.benchmarks;
+
+import com.google.inject.internal.util.Function;
+import com.google.inject.internal.util.MapMaker;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks reads and writes of the weak-keyed maps Guice uses for internal
+ * caches, with references cleaned up by the finalizer thread and inline.
+ * Each value of {@code finalizerThread} runs in its own fork, since the
+ * choice is made once per JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(4)
+public class WeakCacheBenchmark {
+
+  @Param({"true", "false"})
+  private String finalizerThread;
+
+  private Object[] keys;
+  private Map<Object, Object> computingMap;
+  private ConcurrentMap<Object, Object> map;
+
+  @Setup public void setUp() {
+    System.setProperty("guice.finalizer.thread", finalizerThread);
+
+    keys = new Object[1024];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = new Object();
+    }
+    computingMap = new MapMaker().weakKeys().makeComputingMap(
+        new Function<Object, Object>() {
+          public Object apply(Object key) {
+            return key.toString();
+          }
+        });
+    map = new MapMaker().weakKeys().makeMap();
+  }
+
+  /** Computing map hits, like {@code BytecodeGen.CLASS_LOADER_CACHE}. */
+  @Benchmark public Object read() {
+    return computingMap.get(keys[ThreadLocalRandom.current().nextInt(keys.length)]);
+  }
+
+  /** Puts of keys that are immediately garbage, so the queue always has work. */
+  @Benchmark public Object write() {
+    return map.put(new Object(), Boolean.TRUE);
+  }
+}
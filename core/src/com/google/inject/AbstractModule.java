@@ -22,7 +22,9 @@ import com.google.inject.binder.LinkedBindingBuilder;
 import static com.google.inject.internal.util.Preconditions.checkNotNull;
 import static com.google.inject.internal.util.Preconditions.checkState;
 import com.google.inject.matcher.Matcher;
+import com.google.inject.spi.BeanDescriptor;
 import com.google.inject.spi.Message;
+import com.google.inject.spi.ProvisionListener;
 import com.google.inject.spi.TypeConverter;
 import com.google.inject.spi.TypeListener;
 import java.lang.annotation.Annotation;
@@ -250,4 +252,21 @@ public abstract class AbstractModule implements Module {
       TypeListener listener) {
     binder.bindListener(typeMatcher, listener);
   }
+
+  /**
+   * @see Binder#bindListener(Matcher, ProvisionListener...)
+   * @since 3.0
+   */
+  protected void bindListener(Matcher<? super Binding<?>> bindingMatcher,
+      ProvisionListener... listeners) {
+    binder.bindListener(bindingMatcher, listeners);
+  }
+
+  /**
+   * @see Binder#bindBeans(Object, Iterable)
+   * @since 3.0
+   */
+  protected void bindBeans(Object source, Iterable<BeanDescriptor> beans) {
+    binder.bindBeans(source, beans);
+  }
 }
@@ -20,7 +20,9 @@ import com.google.inject.binder.AnnotatedBindingBuilder;
 import com.google.inject.binder.AnnotatedConstantBindingBuilder;
 import com.google.inject.binder.LinkedBindingBuilder;
 import com.google.inject.matcher.Matcher;
+import com.google.inject.spi.BeanDescriptor;
 import com.google.inject.spi.Message;
+import com.google.inject.spi.ProvisionListener;
 import com.google.inject.spi.TypeConverter;
 import com.google.inject.spi.TypeListener;
 import java.lang.annotation.Annotation;
@@ -372,6 +374,32 @@ public interface Binder {
   void bindListener(Matcher<? super TypeLiteral<?>> typeMatcher,
       TypeListener listener);
 
+  /**
+   * Registers listeners for provisioned objects. Guice will notify the listeners just before and
+   * after the object is provisioned. Provisioning is done when a new object is constructed, or a
+   * provider is called to supply one. Only bindings matched by the binding matcher are reported.
+   *
+   * @param bindingMatcher that matches bindings of provisioned objects the listener should be
+   *          notified of
+   * @param listeners for provisioned objects matched by bindingMatcher
+   * @since 3.0
+   */
+  void bindListener(Matcher<? super Binding<?>> bindingMatcher,
+      ProvisionListener... listeners);
+
+  /**
+   * Binds each bean's type to instances built from its descriptor. This is intended for modules
+   * that load many bindings from external configuration: descriptors are consumed as {@code beans}
+   * is iterated, named types are loaded once, setters are looked up once per type, and every
+   * binding uses {@code source} rather than capturing the caller's stack.
+   *
+   * @param source any object representing the source location, such as the configuration file's
+   *     path. It is shared by all of the bindings and by errors reported for bad descriptors.
+   * @param beans descriptors of the beans to bind
+   * @since 3.0
+   */
+  void bindBeans(Object source, Iterable<BeanDescriptor> beans);
+
   /**
    * Returns a binder that uses {@code source} as the reference location for
    * configuration errors. This is typically a {@link StackTraceElement}
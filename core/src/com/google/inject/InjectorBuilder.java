@@ -1,6 +1,7 @@
 package com.google.inject;
 
 import com.google.inject.internal.InternalInjectorCreator;
+import static com.google.inject.internal.util.Preconditions.checkArgument;
 import java.lang.reflect.Proxy;
 import java.util.Arrays;
 
@@ -45,6 +46,7 @@ public final class InjectorBuilder {
   private Stage stage = Stage.DEVELOPMENT;
   private boolean jitDisabled = false;
   private boolean allowCircularProxy = true;
+  private int parallelism = 1;
   
   /**
    * Sets the stage for the injector. If the stage is {@link Stage#PRODUCTION}, 
@@ -82,6 +84,24 @@ public final class InjectorBuilder {
     return this;
   }
 
+  /**
+   * Creates the injector using {@code threads} threads. Top-level modules are configured
+   * concurrently, and the constructors and injectable members of bound types are scanned
+   * concurrently before the bindings are processed. Errors are reported in the same order as
+   * they are without this option.
+   *
+   * <p>Only use this if every module can be configured concurrently with the others. A module
+   * installed by several top-level modules is usually configured once, as it is without this
+   * option. But if a later top-level module installs it before an earlier one does, all modules
+   * are configured again on the calling thread, so the shared module's {@code configure()} must
+   * tolerate running twice. By default injectors are created on the calling thread.
+   */
+  public InjectorBuilder parallelCreation(int threads) {
+    checkArgument(threads > 0, "threads must be positive: %s", threads);
+    this.parallelism = threads;
+    return this;
+  }
+
   /** Adds more modules that will be used when the Injector is created. */
   public InjectorBuilder addModules(Iterable<? extends Module> modules) {
     creator.addModules(modules);
@@ -96,7 +116,8 @@ public final class InjectorBuilder {
 
   /** Builds the injector. */
   public Injector build() {
-    creator.injectorOptions(new InternalInjectorCreator.InjectorOptions(stage, jitDisabled, allowCircularProxy));
+    creator.injectorOptions(new InternalInjectorCreator.InjectorOptions(
+        stage, jitDisabled, allowCircularProxy, parallelism));
     return creator.build();
   }
 
@@ -22,6 +22,8 @@ import static com.google.inject.internal.util.Preconditions.checkArgument;
 import static com.google.inject.internal.util.Preconditions.checkNotNull;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Binding key consisting of an injection type and an optional annotation.
@@ -48,6 +50,14 @@ import java.lang.reflect.Type;
  */
 public class Key<T> {
 
+  /**
+   * Unannotated keys for classes, the keys used by {@code getInstance(Class)}. Reads don't lock,
+   * and a hit is cheaper than building the key and its type literal. Only classes that can't be
+   * unloaded before Guice itself are cached, so the map holds them strongly.
+   */
+  private static final ConcurrentMap<Class<?>, Key<?>> CLASS_KEYS
+      = new ConcurrentHashMap<Class<?>, Key<?>>();
+
   private final AnnotationStrategy annotationStrategy;
 
   private final TypeLiteral<T> typeLiteral;
@@ -208,8 +218,17 @@ public class Key<T> {
   /**
    * Gets a key for an injection type.
    */
+  @SuppressWarnings("unchecked") // the cached key was created for this class
   public static <T> Key<T> get(Class<T> type) {
-    return new Key<T>(type, NullAnnotationStrategy.INSTANCE);
+    Key<T> key = (Key<T>) CLASS_KEYS.get(type);
+    if (key == null) {
+      key = new Key<T>(type, NullAnnotationStrategy.INSTANCE);
+      ClassLoader classLoader = type.getClassLoader();
+      if (classLoader == null || classLoader == Key.class.getClassLoader()) {
+        CLASS_KEYS.putIfAbsent(type, key);
+      }
+    }
+    return key;
   }
 
   /**
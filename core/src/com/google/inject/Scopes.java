@@ -18,6 +18,7 @@ package com.google.inject;
 
 import com.google.inject.internal.CircularDependencyProxy;
 import com.google.inject.internal.InternalInjectorCreator;
+import com.google.inject.internal.LazySingletonProxy;
 import com.google.inject.internal.LinkedBindingImpl;
 import com.google.inject.spi.BindingScopingVisitor;
 import com.google.inject.spi.ExposedBinding;
@@ -98,6 +99,43 @@ public class Scopes {
     }
   };
 
+  /**
+   * One instance per {@link Injector}, created when it's first used rather than when it's first
+   * injected. Dependents are injected with a proxy, and the instance is created on the first
+   * method call. The proxy answers {@code equals()}, {@code hashCode()} and {@code toString()}
+   * itself, and is only equal to itself. Lazy singletons are never created eagerly, even in {@link
+   * Stage#PRODUCTION}, and {@link com.google.inject.util.WarmUp} doesn't create them either.
+   * Only bindings of interface types are proxied; other bindings in this scope behave like
+   * {@link #SINGLETON}. Also see {@link
+   * com.google.inject.binder.ScopedBindingBuilder#asLazySingleton()}.
+   *
+   * @since 3.0
+   */
+  public static final Scope LAZY_SINGLETON = new Scope() {
+    public <T> Provider<T> scope(final Key<T> key, final Provider<T> creator) {
+      final Provider<T> singleton = SINGLETON.scope(key, creator);
+      Class<? super T> rawType = key.getTypeLiteral().getRawType();
+      if (!rawType.isInterface()) {
+        return singleton;
+      }
+
+      final T proxy = LazySingletonProxy.create(rawType, singleton);
+      return new Provider<T>() {
+        public T get() {
+          return proxy;
+        }
+
+        public String toString() {
+          return String.format("%s[%s]", creator, LAZY_SINGLETON);
+        }
+      };
+    }
+
+    @Override public String toString() {
+      return "Scopes.LAZY_SINGLETON";
+    }
+  };
+
   /**
    * No scope; the same as not applying any scope at all.  Each time the
    * Injector obtains an instance of an object with "no scope", it injects this
@@ -140,7 +178,7 @@ public class Scopes {
         }
 
         public Boolean visitScope(Scope scope) {
-          return scope == Scopes.SINGLETON;
+          return scope == Scopes.SINGLETON || scope == Scopes.LAZY_SINGLETON;
         }
 
         public Boolean visitEagerSingleton() {
@@ -140,6 +140,9 @@ public class TypeLiteral<T> {
   }
 
   @Override public final boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
     return o instanceof TypeLiteral<?>
         && MoreTypes.equals(type, ((TypeLiteral) o).type);
   }
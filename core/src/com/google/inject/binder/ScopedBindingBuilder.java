@@ -43,4 +43,15 @@ public interface ScopedBindingBuilder {
    * {@link com.google.inject.Binder}.
    */
   void asEagerSingleton();
+
+  /**
+   * Instructs the {@link com.google.inject.Injector} to create this singleton
+   * when it's first used, rather than when it's first injected or when the
+   * injector is created. Dependents are injected with a proxy that creates the
+   * singleton on its first method call, so the binding's type must be an
+   * interface. See {@link com.google.inject.Scopes#LAZY_SINGLETON}.
+   *
+   * @since 3.0
+   */
+  void asLazySingleton();
 }
@@ -19,6 +19,7 @@ package com.google.inject.internal;
 import com.google.inject.Binder;
 import com.google.inject.Key;
 import com.google.inject.Scope;
+import com.google.inject.Scopes;
 import static com.google.inject.internal.util.Preconditions.checkNotNull;
 import com.google.inject.spi.Element;
 import com.google.inject.spi.InstanceBinding;
@@ -41,6 +42,8 @@ public abstract class AbstractBindingBuilder<T> {
   public static final String CONSTANT_VALUE_ALREADY_SET = "Constant value is set more than once.";
   public static final String ANNOTATION_ALREADY_SPECIFIED
       = "More than one annotation is specified for this binding.";
+  public static final String LAZY_SINGLETON_NOT_INTERFACE
+      = "Only bindings of interface types can be lazy singletons.";
 
   protected static final Key<?> NULL_KEY = Key.get(Void.class);
 
@@ -100,6 +103,15 @@ public abstract class AbstractBindingBuilder<T> {
     setBinding(getBinding().withScoping(Scoping.EAGER_SINGLETON));
   }
 
+  public void asLazySingleton() {
+    checkNotScoped();
+    if (!binding.getKey().getTypeLiteral().getRawType().isInterface()) {
+      binder.addError(LAZY_SINGLETON_NOT_INTERFACE);
+      return;
+    }
+    setBinding(getBinding().withScoping(Scoping.forInstance(Scopes.LAZY_SINGLETON)));
+  }
+
   protected boolean keyTypeIsSet() {
     return !Void.class.equals(binding.getKey().getTypeLiteral().getType());
   }
@@ -24,6 +24,7 @@ import com.google.inject.spi.MembersInjectorLookup;
 import com.google.inject.spi.Message;
 import com.google.inject.spi.PrivateElements;
 import com.google.inject.spi.ProviderLookup;
+import com.google.inject.spi.ProvisionListenerBinding;
 import com.google.inject.spi.ScopeBinding;
 import com.google.inject.spi.StaticInjectionRequest;
 import com.google.inject.spi.TypeConverterBinding;
@@ -119,4 +120,8 @@ abstract class AbstractProcessor implements ElementVisitor<Boolean> {
   public Boolean visit(TypeListenerBinding binding) {
     return false;
   }
+
+  public Boolean visit(ProvisionListenerBinding binding) {
+    return false;
+  }
 }
@@ -21,12 +21,15 @@ import com.google.inject.Key;
 import com.google.inject.ScopeAnnotation;
 import com.google.inject.TypeLiteral;
 import com.google.inject.internal.util.Classes;
+import com.google.inject.internal.util.Function;
+import com.google.inject.internal.util.MapMaker;
 import com.google.inject.name.Named;
 import com.google.inject.name.Names;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Member;
+import java.util.Map;
 import javax.inject.Qualifier;
 
 /**
@@ -36,19 +39,48 @@ import javax.inject.Qualifier;
  */
 public class Annotations {
 
+  /**
+   * Reflective facts about annotation types, computed once per type. Annotation types are weakly
+   * referenced so that they can be unloaded with their class loader.
+   */
+  private static final Map<Class<? extends Annotation>, AnnotationMetadata> METADATA
+      = new MapMaker().weakKeys().makeComputingMap(
+          new Function<Class<? extends Annotation>, AnnotationMetadata>() {
+            public AnnotationMetadata apply(Class<? extends Annotation> annotationType) {
+              return new AnnotationMetadata(annotationType);
+            }
+          });
+
+  /** The classification of an annotation type. */
+  private static class AnnotationMetadata {
+    final boolean marker;
+    final boolean retainedAtRuntime;
+    final boolean scopeAnnotation;
+    final boolean bindingAnnotation;
+
+    AnnotationMetadata(Class<? extends Annotation> annotationType) {
+      marker = annotationType.getDeclaredMethods().length == 0;
+      Retention retention = annotationType.getAnnotation(Retention.class);
+      retainedAtRuntime = retention != null && retention.value() == RetentionPolicy.RUNTIME;
+      scopeAnnotation = annotationType.isAnnotationPresent(ScopeAnnotation.class)
+          || annotationType.isAnnotationPresent(javax.inject.Scope.class);
+      bindingAnnotation = annotationType.isAnnotationPresent(BindingAnnotation.class)
+          || annotationType.isAnnotationPresent(Qualifier.class);
+    }
+  }
+
   /**
    * Returns {@code true} if the given annotation type has no attributes.
    */
   public static boolean isMarker(Class<? extends Annotation> annotationType) {
-    return annotationType.getDeclaredMethods().length == 0;
+    return METADATA.get(annotationType).marker;
   }
 
   /**
    * Returns true if the given annotation is retained at runtime.
    */
   public static boolean isRetainedAtRuntime(Class<? extends Annotation> annotationType) {
-    Retention retention = annotationType.getAnnotation(Retention.class);
-    return retention != null && retention.value() == RetentionPolicy.RUNTIME;
+    return METADATA.get(annotationType).retainedAtRuntime;
   }
 
   /** Returns the scope annotation on {@code type}, or null if none is specified. */
@@ -76,8 +108,7 @@ public class Annotations {
   }
 
   public static boolean isScopeAnnotation(Class<? extends Annotation> annotationType) {
-    return annotationType.isAnnotationPresent(ScopeAnnotation.class) 
-        || annotationType.isAnnotationPresent(javax.inject.Scope.class);
+    return METADATA.get(annotationType).scopeAnnotation;
   }
 
   /**
@@ -130,8 +161,7 @@ public class Annotations {
    * Returns true if annotations of the specified type are binding annotations.
    */
   public static boolean isBindingAnnotation(Class<? extends Annotation> annotationType) {
-    return annotationType.isAnnotationPresent(BindingAnnotation.class) 
-          || annotationType.isAnnotationPresent(Qualifier.class);
+    return METADATA.get(annotationType).bindingAnnotation;
   }
 
   /**
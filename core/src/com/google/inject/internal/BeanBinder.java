@@ -0,0 +1,203 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject.internal;
+
+import com.google.inject.Binder;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.internal.util.ImmutableSet;
+import com.google.inject.internal.util.Lists;
+import com.google.inject.internal.util.Maps;
+import com.google.inject.spi.BeanDescriptor;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.ProviderWithDependencies;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binds beans for {@link Binder#bindBeans}. Type names and setters are resolved once per call, so
+ * that loading thousands of beans of a few types doesn't repeat the reflective lookups.
+ */
+public final class BeanBinder {
+
+  /** Binder that has the shared source of all the beans. */
+  private final Binder binder;
+  private final ClassLoader classLoader;
+
+  /** Loaded types by name, null for names that failed to load. */
+  private final Map<String, Class<?>> types = Maps.newHashMap();
+
+  /** Single-argument public methods named "set*", by name, for each bean type. */
+  private final Map<Class<?>, Map<String, Method>> setters = Maps.newHashMap();
+
+  public BeanBinder(Binder binder) {
+    this.binder = binder;
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    this.classLoader = contextClassLoader != null
+        ? contextClassLoader
+        : BeanBinder.class.getClassLoader();
+  }
+
+  public void bindAll(Iterable<BeanDescriptor> beans) {
+    for (BeanDescriptor bean : beans) {
+      Class<?> type = bean.getType() != null
+          ? bean.getType()
+          : loadType(bean.getTypeName());
+      if (type != null) {
+        bind(bean, type);
+      }
+    }
+  }
+
+  /** Loads the named type, reporting an error only the first time it fails to load. */
+  private Class<?> loadType(String name) {
+    if (types.containsKey(name)) {
+      return types.get(name);
+    }
+
+    Class<?> type = null;
+    try {
+      type = Class.forName(name, false, classLoader);
+    } catch (ClassNotFoundException e) {
+      binder.addError("Bean type %s could not be loaded.", name);
+    } catch (LinkageError e) {
+      binder.addError("Bean type %s could not be loaded: %s", name, e);
+    }
+    types.put(name, type);
+    return type;
+  }
+
+  private <T> void bind(BeanDescriptor bean, Class<T> type) {
+    if (Modifier.isAbstract(type.getModifiers())) {
+      binder.addError("%s is abstract and cannot be bound as a bean.", type.getName());
+      return;
+    }
+
+    Constructor<T> constructor;
+    try {
+      constructor = type.getConstructor();
+    } catch (NoSuchMethodException e) {
+      binder.addError("%s doesn't have a public no-arg constructor.", type.getName());
+      return;
+    }
+    if (!Modifier.isPublic(type.getModifiers())) {
+      constructor.setAccessible(true);
+    }
+
+    Map<String, Method> settersByName = getSetters(type);
+    List<String> properties = bean.getProperties();
+    Method[] beanSetters = new Method[properties.size()];
+    Provider<?>[] providers = new Provider<?>[properties.size()];
+    List<Dependency<?>> dependencies = Lists.newArrayList();
+    boolean valid = true;
+
+    for (int i = 0; i < beanSetters.length; i++) {
+      String setterName = "set" + capitalize(properties.get(i));
+      Method setter = settersByName.get(setterName);
+      if (setter == null) {
+        binder.addError("%s.%s() not found, or doesn't take one argument.",
+            type.getName(), setterName);
+        valid = false;
+        continue;
+      }
+      if (!Modifier.isPublic(setter.getDeclaringClass().getModifiers())) {
+        setter.setAccessible(true);
+      }
+
+      Key<?> key = Key.get(setter.getGenericParameterTypes()[0]);
+      beanSetters[i] = setter;
+      providers[i] = binder.getProvider(key);
+      dependencies.add(Dependency.get(key));
+    }
+
+    if (valid) {
+      binder.bind(type).toProvider(new BeanProvider<T>(
+          constructor, beanSetters, providers, ImmutableSet.copyOf(dependencies)));
+    }
+  }
+
+  private Map<String, Method> getSetters(Class<?> type) {
+    Map<String, Method> result = setters.get(type);
+    if (result == null) {
+      result = Maps.newHashMap();
+      for (Method method : type.getMethods()) {
+        String name = method.getName();
+        if (name.startsWith("set")
+            && method.getParameterTypes().length == 1
+            && !result.containsKey(name)) {
+          result.put(name, method);
+        }
+      }
+      setters.put(type, result);
+    }
+    return result;
+  }
+
+  private static String capitalize(String s) {
+    return s.length() == 0
+        ? s
+        : Character.toUpperCase(s.charAt(0)) + s.substring(1);
+  }
+
+  /** Creates a bean with its no-arg constructor, then calls each setter. */
+  private static class BeanProvider<T> implements ProviderWithDependencies<T> {
+    private final Constructor<T> constructor;
+    private final Method[] setters;
+    private final Provider<?>[] providers;
+    private final ImmutableSet<Dependency<?>> dependencies;
+
+    BeanProvider(Constructor<T> constructor, Method[] setters, Provider<?>[] providers,
+        ImmutableSet<Dependency<?>> dependencies) {
+      this.constructor = constructor;
+      this.setters = setters;
+      this.providers = providers;
+      this.dependencies = dependencies;
+    }
+
+    public T get() {
+      try {
+        T bean = constructor.newInstance();
+        for (int i = 0; i < setters.length; i++) {
+          setters[i].invoke(bean, providers[i].get());
+        }
+        return bean;
+      } catch (InstantiationException e) {
+        // the type was checked not to be abstract
+        throw new AssertionError(e);
+      } catch (IllegalAccessException e) {
+        // the constructor and setters are public or made accessible
+        throw new AssertionError(e);
+      } catch (InvocationTargetException e) {
+        throw Exceptions.throwCleanly(e);
+      }
+    }
+
+    public Set<Dependency<?>> getDependencies() {
+      return dependencies;
+    }
+
+    @Override public String toString() {
+      return "bean " + constructor.getDeclaringClass().getName();
+    }
+  }
+}
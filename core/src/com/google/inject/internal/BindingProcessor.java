@@ -116,9 +116,24 @@ final class BindingProcessor extends AbstractProcessor {
       public Void visit(ProviderInstanceBinding<? extends T> binding) {
         Provider<? extends T> provider = binding.getProviderInstance();
         Set<InjectionPoint> injectionPoints = binding.getInjectionPoints();
-        Initializable<Provider<? extends T>> initializable = initializer
-            .<Provider<? extends T>>requestInjection(injector, provider, source, injectionPoints);
-        InternalFactory<T> factory = new InternalFactoryToProviderAdapter<T>(initializable, source);
+        @SuppressWarnings("unchecked") // the listeners only see the binding's key and source
+        ProvisionListenerStackCallback<T> provisionCallback
+            = injector.provisionListenerStore.get((Binding<T>) binding);
+        InternalFactory<T> factory;
+        if (provider instanceof ProviderMethod) {
+          // Optimization: call @Provides methods directly, without going through Providers
+          @SuppressWarnings("unchecked") // the provider method's return type is T
+          ProviderMethod<T> providerMethod = (ProviderMethod<T>) provider;
+          ProviderMethodFactory<T> providerMethodFactory
+              = new ProviderMethodFactory<T>(providerMethod, source, provisionCallback);
+          scheduleInitialization(providerMethodFactory);
+          factory = providerMethodFactory;
+        } else {
+          Initializable<Provider<? extends T>> initializable = initializer
+              .<Provider<? extends T>>requestInjection(injector, provider, source, injectionPoints);
+          factory = new InternalFactoryToProviderAdapter<T>(
+              initializable, source, provisionCallback);
+        }
         InternalFactory<? extends T> scopedFactory
             = Scoping.scope(key, injector, factory, source, scoping);
         putBinding(new ProviderInstanceBindingImpl<T>(injector, key, source, scopedFactory, scoping,
@@ -128,8 +143,11 @@ final class BindingProcessor extends AbstractProcessor {
 
       public Void visit(ProviderKeyBinding<? extends T> binding) {
         Key<? extends javax.inject.Provider<? extends T>> providerKey = binding.getProviderKey();
+        @SuppressWarnings("unchecked") // the listeners only see the binding's key and source
+        ProvisionListenerStackCallback<T> provisionCallback
+            = injector.provisionListenerStore.get((Binding<T>) binding);
         BoundProviderFactory<T> boundProviderFactory
-            = new BoundProviderFactory<T>(injector, providerKey, source);
+            = new BoundProviderFactory<T>(injector, providerKey, source, provisionCallback);
         creationListeners.add(boundProviderFactory);
         InternalFactory<? extends T> scopedFactory = Scoping.scope(
             key, injector, (InternalFactory<? extends T>) boundProviderFactory, source, scoping);
@@ -190,6 +208,15 @@ final class BindingProcessor extends AbstractProcessor {
         throw new IllegalArgumentException("Cannot apply a non-module element");
       }
 
+      private void scheduleInitialization(final ProviderMethodFactory<?> factory) {
+        final InjectorImpl injector = BindingProcessor.this.injector;
+        uninitializedBindings.add(new Runnable() {
+          public void run() {
+            factory.initialize(injector);
+          }
+        });
+      }
+
       private void scheduleInitialization(final BindingImpl<?> binding) {
         uninitializedBindings.add(new Runnable() {
           public void run() {
@@ -19,6 +19,7 @@ package com.google.inject.internal;
 import com.google.inject.Key;
 import com.google.inject.internal.BindingProcessor.CreationListener;
 import com.google.inject.internal.InjectorImpl.JitLimitation;
+import com.google.inject.internal.ProvisionListenerStackCallback.ProvisionCallback;
 import com.google.inject.spi.Dependency;
 
 /**
@@ -29,15 +30,18 @@ final class BoundProviderFactory<T> implements InternalFactory<T>, CreationListe
   private final InjectorImpl injector;
   final Key<? extends javax.inject.Provider<? extends T>> providerKey;
   final Object source;
+  private final ProvisionListenerStackCallback<T> provisionCallback;
   private InternalFactory<? extends javax.inject.Provider<? extends T>> providerFactory;
 
   BoundProviderFactory(
       InjectorImpl injector,
       Key<? extends javax.inject.Provider<? extends T>> providerKey,
-      Object source) {
+      Object source,
+      ProvisionListenerStackCallback<T> provisionCallback) {
     this.injector = injector;
     this.providerKey = providerKey;
     this.source = source;
+    this.provisionCallback = provisionCallback;
   }
 
   public void notify(Errors errors) {
@@ -48,10 +52,24 @@ final class BoundProviderFactory<T> implements InternalFactory<T>, CreationListe
     }
   }
 
-  public T get(Errors errors, InternalContext context, Dependency<?> dependency, boolean linked)
-      throws ErrorsException {
-    errors = errors.withSource(providerKey);
-    javax.inject.Provider<? extends T> provider = providerFactory.get(errors, context, dependency, true);
+  public T get(Errors errors, InternalContext context, final Dependency<?> dependency,
+      boolean linked) throws ErrorsException {
+    final Errors providerErrors = errors.withSource(providerKey);
+    final javax.inject.Provider<? extends T> provider
+        = providerFactory.get(providerErrors, context, dependency, true);
+    // Optimization: Don't go through the callback stack if we have no listeners.
+    if (provisionCallback == null) {
+      return provision(provider, providerErrors, dependency);
+    }
+    return provisionCallback.provision(providerErrors, context, new ProvisionCallback<T>() {
+      public T call() throws ErrorsException {
+        return provision(provider, providerErrors, dependency);
+      }
+    });
+  }
+
+  private T provision(javax.inject.Provider<? extends T> provider, Errors errors,
+      Dependency<?> dependency) throws ErrorsException {
     try {
       return errors.checkForNull(provider.get(), source, dependency);
     } catch(RuntimeException userException) {
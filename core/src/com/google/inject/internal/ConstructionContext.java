@@ -16,9 +16,8 @@
 
 package com.google.inject.internal;
 
-import java.lang.reflect.Proxy;
-import java.util.ArrayList;
-import java.util.List;
+import com.google.inject.internal.util.Maps;
+import java.util.Map;
 
 /**
  * Context of a dependency construction. Used to manage circular references.
@@ -30,7 +29,11 @@ final class ConstructionContext<T> {
   T currentReference;
   boolean constructing;
 
-  List<DelegatingInvocationHandler<T>> invocationHandlers;
+  /** Delegates for this construction's proxies, or null if no proxies have been created. */
+  DelegatingInvocationHandler<T> invocationHandler;
+
+  /** The circular proxies of this construction, one per expected type. */
+  Map<Class<?>, Object> proxies;
 
   public T getCurrentReference() {
     return currentReference;
@@ -54,35 +57,76 @@ final class ConstructionContext<T> {
 
   public void finishConstruction() {
     this.constructing = false;
-    invocationHandlers = null;
+    invocationHandler = null;
+    proxies = null;
   }
 
+  /**
+   * Returns a proxy of {@code expectedType} for the object under construction. Callers that expect
+   * the same type share a proxy.
+   */
   public Object createProxy(Errors errors, Class<?> expectedType) throws ErrorsException {
-    // TODO: if I create a proxy which implements all the interfaces of
-    // the implementation type, I'll be able to get away with one proxy
-    // instance (as opposed to one per caller).
-
     if (!expectedType.isInterface()) {
       throw errors.cannotSatisfyCircularDependency(expectedType).toException();
     }
 
-    if (invocationHandlers == null) {
-      invocationHandlers = new ArrayList<DelegatingInvocationHandler<T>>();
+    if (proxies == null) {
+      invocationHandler = new DelegatingInvocationHandler<T>();
+      proxies = Maps.newHashMap();
     }
 
-    DelegatingInvocationHandler<T> invocationHandler = new DelegatingInvocationHandler<T>();
-    invocationHandlers.add(invocationHandler);
-
-    ClassLoader classLoader = BytecodeGen.getClassLoader(expectedType);
-    return expectedType.cast(Proxy.newProxyInstance(classLoader,
-        new Class[] { expectedType, CircularDependencyProxy.class }, invocationHandler));
+    Object proxy = proxies.get(expectedType);
+    if (proxy == null) {
+      proxy = newProxy(expectedType, invocationHandler);
+      proxies.put(expectedType, proxy);
+    }
+    return expectedType.cast(proxy);
   }
 
   public void setProxyDelegates(T delegate) {
-    if (invocationHandlers != null) {
-      for (DelegatingInvocationHandler<T> handler : invocationHandlers) {
-        handler.setDelegate(delegate);
-      }
+    if (invocationHandler != null) {
+      invocationHandler.setDelegate(delegate);
     }
   }
+
+  private static Object newProxy(Class<?> expectedType,
+      final DelegatingInvocationHandler<?> invocationHandler) {
+    Class<?>[] interfaces = { expectedType, CircularDependencyProxy.class };
+    ClassLoader classLoader = BytecodeGen.getClassLoader(expectedType);
+
+    /*if[AOP]*/
+    // Generate a class that calls the delegate directly, so that calls on the proxy don't pay for
+    // reflection for the rest of its life.
+    net.sf.cglib.proxy.Enhancer enhancer = new net.sf.cglib.proxy.Enhancer();
+    enhancer.setInterfaces(interfaces);
+    enhancer.setUseFactory(false);
+    enhancer.setClassLoader(classLoader);
+    enhancer.setNamingPolicy(BytecodeGen.ENHANCER_NAMING_POLICY);
+    enhancer.setCallbackFilter(DELEGATE_PUBLIC_METHODS);
+    enhancer.setCallbacks(new net.sf.cglib.proxy.Callback[] {
+        new net.sf.cglib.proxy.Dispatcher() {
+          public Object loadObject() {
+            return invocationHandler.getDelegateOrThrow();
+          }
+        },
+        net.sf.cglib.proxy.NoOp.INSTANCE });
+    return enhancer.create();
+    /*end[AOP]*/
+    /*if[NO_AOP]
+    return java.lang.reflect.Proxy.newProxyInstance(classLoader, interfaces, invocationHandler);
+    end[NO_AOP]*/
+  }
+
+  /*if[AOP]*/
+  /**
+   * Dispatches interface methods and the public methods of Object to the delegate. Protected
+   * methods like {@code finalize()} are left alone, since the delegate might never be set.
+   */
+  private static final net.sf.cglib.proxy.CallbackFilter DELEGATE_PUBLIC_METHODS
+      = new net.sf.cglib.proxy.CallbackFilter() {
+    public int accept(java.lang.reflect.Method method) {
+      return java.lang.reflect.Modifier.isPublic(method.getModifiers()) ? 0 : 1;
+    }
+  };
+  /*end[AOP]*/
 }
@@ -122,6 +122,7 @@ final class ConstructorBindingImpl<T> extends BindingImpl<T> implements Construc
   @SuppressWarnings("unchecked") // the result type always agrees with the ConstructorInjector type
   public void initialize(InjectorImpl injector, Errors errors) throws ErrorsException {
     factory.allowCircularProxy = injector.options.allowCircularProxy;
+    factory.provisionCallback = injector.provisionListenerStore.get(this);
     factory.constructorInjector
         = (ConstructorInjector<T>) injector.constructors.get(constructorInjectionPoint, errors);
   }
@@ -233,6 +234,7 @@ final class ConstructorBindingImpl<T> extends BindingImpl<T> implements Construc
     private final Key<?> key;
     private boolean allowCircularProxy;
     private ConstructorInjector<T> constructorInjector;
+    private ProvisionListenerStackCallback<T> provisionCallback;
     
     Factory(boolean failIfNotLinked, Key<?> key) {
       this.failIfNotLinked = failIfNotLinked;
@@ -251,7 +253,8 @@ final class ConstructorBindingImpl<T> extends BindingImpl<T> implements Construc
       // This may not actually be safe because it could return a super type of T (if that's all the
       // client needs), but it should be OK in practice thanks to the wonders of erasure.
       return (T) constructorInjector.construct(errors, context,
-          dependency.getKey().getTypeLiteral().getRawType(), allowCircularProxy);
+          dependency.getKey().getTypeLiteral().getRawType(), allowCircularProxy,
+          provisionCallback);
     }
   }
 }
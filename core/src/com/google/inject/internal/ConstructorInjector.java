@@ -16,6 +16,7 @@
 
 package com.google.inject.internal;
 
+import com.google.inject.internal.ProvisionListenerStackCallback.ProvisionCallback;
 import com.google.inject.internal.util.ImmutableSet;
 import com.google.inject.spi.InjectionPoint;
 import java.lang.reflect.InvocationTargetException;
@@ -56,9 +57,10 @@ final class ConstructorInjector<T> {
    * Construct an instance. Returns {@code Object} instead of {@code T} because
    * it may return a proxy.
    */
-  Object construct(Errors errors, InternalContext context, Class<?> expectedType, boolean allowProxy)
+  Object construct(final Errors errors, final InternalContext context, Class<?> expectedType,
+      boolean allowProxy, ProvisionListenerStackCallback<T> provisionCallback)
       throws ErrorsException {
-    ConstructionContext<T> constructionContext = context.getConstructionContext(this);
+    final ConstructionContext<T> constructionContext = context.getConstructionContext(this);
 
     // We have a circular reference between constructors. Return a proxy.
     if (constructionContext.isConstructing()) {
@@ -77,7 +79,23 @@ final class ConstructorInjector<T> {
       return t;
     }
 
+    // Optimization: Don't go through the callback stack if we have no listeners.
+    if (provisionCallback == null) {
+      return provision(errors, context, constructionContext);
+    } else {
+      return provisionCallback.provision(errors, context, new ProvisionCallback<T>() {
+        public T call() throws ErrorsException {
+          return provision(errors, context, constructionContext);
+        }
+      });
+    }
+  }
+
+  /** Provisions a new T. */
+  private T provision(Errors errors, InternalContext context,
+      ConstructionContext<T> constructionContext) throws ErrorsException {
     try {
+      T t;
       // First time through...
       constructionContext.startConstruction();
       try {
@@ -102,6 +120,7 @@ final class ConstructorInjector<T> {
       throw errors.withSource(constructionProxy.getInjectionPoint())
           .errorInjectingConstructor(cause).toException();
     } finally {
+      // Listeners see a completed provision, so re-entrant lookups from them get a new instance.
       constructionContext.removeCurrentReference();
     }
   }
@@ -26,15 +26,8 @@ class DelegatingInvocationHandler<T> implements InvocationHandler {
 
   public Object invoke(Object proxy, Method method, Object[] args)
       throws Throwable {
-    if (delegate == null) {
-      throw new IllegalStateException("This is a proxy used to support"
-          + " circular references involving constructors. The object we're"
-          + " proxying is not constructed yet. Please wait until after"
-          + " injection has completed to use this object.");
-    }
-
     try {
-      return method.invoke(delegate, args);
+      return method.invoke(getDelegateOrThrow(), args);
     } catch (IllegalAccessException e) {
       throw new RuntimeException(e);
     } catch (IllegalArgumentException e) {
@@ -48,6 +41,16 @@ class DelegatingInvocationHandler<T> implements InvocationHandler {
     return delegate;
   }
 
+  T getDelegateOrThrow() {
+    if (delegate == null) {
+      throw new IllegalStateException("This is a proxy used to support"
+          + " circular references involving constructors. The object we're"
+          + " proxying is not constructed yet. Please wait until after"
+          + " injection has completed to use this object.");
+    }
+    return delegate;
+  }
+
   void setDelegate(T delegate) {
     this.delegate = delegate;
   }
@@ -34,6 +34,7 @@ import com.google.inject.spi.Dependency;
 import com.google.inject.spi.InjectionListener;
 import com.google.inject.spi.InjectionPoint;
 import com.google.inject.spi.Message;
+import com.google.inject.spi.ProvisionListener;
 import com.google.inject.spi.TypeConverterBinding;
 import com.google.inject.spi.TypeListenerBinding;
 import java.io.PrintWriter;
@@ -317,6 +318,14 @@ public final class Errors implements Serializable {
         listener.getListener(), convert(listener.getSource()), type, cause);
   }
 
+  public Errors errorNotifyingProvisionListener(ProvisionListener listener, Key<?> key,
+      Throwable cause) {
+    return errorInUserCode(cause,
+        "Error notifying ProvisionListener %s of %s.%n"
+        + " Reason: %s",
+        listener, key, cause);
+  }
+
   public Errors errorInjectingConstructor(Throwable cause) {
     return errorInUserCode(cause, "Error injecting constructor, %s", cause);
   }
@@ -455,6 +464,26 @@ public final class Errors implements Serializable {
     return this;
   }
 
+  /**
+   * Adds {@code source} to the context of the messages added since this had {@code sizeBefore}
+   * errors, as though they had been reported through {@code withSource(source)}. Hot paths use
+   * this to skip allocating a sourced instance unless an error actually occurs.
+   */
+  public void addSourceToNewErrors(int sizeBefore, Object source) {
+    if (size() == sizeBefore || source == SourceProvider.UNKNOWN_SOURCE) {
+      return;
+    }
+
+    List<Message> messages = root.errors;
+    int index = getSources().size();
+    for (int i = sizeBefore; i < messages.size(); i++) {
+      Message message = messages.get(i);
+      List<Object> sources = Lists.newArrayList(message.getSources());
+      sources.add(Math.min(index, sources.size()), source);
+      messages.set(i, new Message(sources, message.getMessage(), message.getCause()));
+    }
+  }
+
   public List<Object> getSources() {
     List<Object> sources = Lists.newArrayList();
     for (Errors e = this; e != null; e = e.parent) {
@@ -24,6 +24,7 @@ import com.google.inject.internal.util.ImmutableList;
 import com.google.inject.internal.util.Lists;
 import com.google.inject.internal.util.Maps;
 import static com.google.inject.internal.util.Preconditions.checkNotNull;
+import com.google.inject.spi.ProvisionListenerBinding;
 import com.google.inject.spi.TypeConverterBinding;
 import com.google.inject.spi.TypeListenerBinding;
 import java.lang.annotation.Annotation;
@@ -49,6 +50,7 @@ final class InheritingState implements State {
   private final List<MethodAspect> methodAspects = Lists.newArrayList();
   /*end[AOP]*/
   private final List<TypeListenerBinding> listenerBindings = Lists.newArrayList();
+  private final List<ProvisionListenerBinding> provisionListenerBindings = Lists.newArrayList();
   private final WeakKeySet blacklistedKeys = new WeakKeySet();
   private final Object lock;
 
@@ -134,6 +136,19 @@ final class InheritingState implements State {
     return result;
   }
 
+  public void addProvisionListener(ProvisionListenerBinding listenerBinding) {
+    provisionListenerBindings.add(listenerBinding);
+  }
+
+  public List<ProvisionListenerBinding> getProvisionListenerBindings() {
+    List<ProvisionListenerBinding> parentBindings = parent.getProvisionListenerBindings();
+    List<ProvisionListenerBinding> result
+        = new ArrayList<ProvisionListenerBinding>(parentBindings.size() + 1);
+    result.addAll(parentBindings);
+    result.addAll(provisionListenerBindings);
+    return result;
+  }
+
   public void blacklist(Key<?> key) {
     parent.blacklist(key);
     blacklistedKeys.add(key);
@@ -31,6 +31,7 @@ import com.google.inject.ProvisionException;
 import com.google.inject.Scope;
 import com.google.inject.TypeLiteral;
 import com.google.inject.internal.InternalInjectorCreator.InjectorOptions;
+import com.google.inject.internal.ProvisionListenerStackCallback.ProvisionCallback;
 import com.google.inject.internal.util.ImmutableList;
 import com.google.inject.internal.util.ImmutableMap;
 import com.google.inject.internal.util.ImmutableSet;
@@ -657,12 +658,26 @@ final class InjectorImpl implements Injector, Lookups {
     final BindingImpl<? extends Provider<?>> providerBinding
         = getBindingOrThrow(providerKey, errors, JitLimitation.NEW_OR_EXISTING_JIT);
 
-    InternalFactory<T> internalFactory = new InternalFactory<T>() {
+    class ProvidedByInternalFactory implements InternalFactory<T> {
+      ProvisionListenerStackCallback<T> provisionCallback;
+
       public T get(Errors errors, InternalContext context, Dependency dependency, boolean linked)
           throws ErrorsException {
-        errors = errors.withSource(providerKey);
-        Provider<?> provider = providerBinding.getInternalFactory().get(
-            errors, context, dependency, true);
+        final Errors providerErrors = errors.withSource(providerKey);
+        final Provider<?> provider = providerBinding.getInternalFactory().get(
+            providerErrors, context, dependency, true);
+        // Optimization: Don't go through the callback stack if we have no listeners.
+        if (provisionCallback == null) {
+          return provision(provider, providerErrors);
+        }
+        return provisionCallback.provision(providerErrors, context, new ProvisionCallback<T>() {
+          public T call() throws ErrorsException {
+            return provision(provider, providerErrors);
+          }
+        });
+      }
+
+      private T provision(Provider<?> provider, Errors errors) throws ErrorsException {
         try {
           Object o = provider.get();
           if (o != null && !rawType.isInstance(o)) {
@@ -675,16 +690,19 @@ final class InjectorImpl implements Injector, Lookups {
           throw errors.errorInProvider(e).toException();
         }
       }
-    };
+    }
+    ProvidedByInternalFactory internalFactory = new ProvidedByInternalFactory();
 
     Object source = rawType;
-    return new LinkedProviderBindingImpl<T>(
+    LinkedProviderBindingImpl<T> binding = new LinkedProviderBindingImpl<T>(
         this,
         key,
         source,
         Scoping.<T>scope(key, this, internalFactory, source, scoping),
         scoping,
         providerKey);
+    internalFactory.provisionCallback = provisionListenerStore.get(binding);
+    return binding;
   }
 
   /** Creates a binding for a type annotated with @ImplementedBy. */
@@ -909,6 +927,9 @@ final class InjectorImpl implements Injector, Lookups {
   /** Cached field and method injectors for each type. */
   MembersInjectorStore membersInjectorStore;
 
+  /** Provision listener callbacks for each binding. */
+  ProvisionListenerCallbackStore provisionListenerStore;
+
   @SuppressWarnings("unchecked") // the members injector type is consistent with instance's type
   public void injectMembers(Object instance) {
     MembersInjector membersInjector = getMembersInjector(instance.getClass());
@@ -36,8 +36,13 @@ import com.google.inject.spi.Element;
 import com.google.inject.spi.Elements;
 import com.google.inject.spi.InjectionPoint;
 import com.google.inject.spi.PrivateElements;
+import com.google.inject.spi.ProvisionListenerBinding;
 import com.google.inject.spi.TypeListenerBinding;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 /**
@@ -135,8 +140,21 @@ final class InjectorShell {
         new TypeConverterBindingProcessor(errors).prepareBuiltInConverters(injector);
       }
 
-      elements.addAll(Elements.getElements(options.stage, modules));
-      stopwatch.resetAndLog("Module execution");
+      if (options.parallelism > 1 && !modules.isEmpty()) {
+        ExecutorService executor = newCreationExecutor(options.parallelism);
+        try {
+          elements.addAll(Elements.getElements(options.stage, modules, executor));
+          stopwatch.resetAndLog("Module execution");
+
+          new ReflectionPrefetcher(executor).prefetch(elements);
+          stopwatch.resetAndLog("Injection point prefetching");
+        } finally {
+          executor.shutdown();
+        }
+      } else {
+        elements.addAll(Elements.getElements(options.stage, modules));
+        stopwatch.resetAndLog("Module execution");
+      }
 
       new MessageProcessor(errors).process(injector, elements);
 
@@ -146,10 +164,14 @@ final class InjectorShell {
       stopwatch.resetAndLog("Interceptors creation");
       /*end[AOP]*/
 
-      new TypeListenerBindingProcessor(errors).process(injector, elements);
+      new ListenerBindingProcessor(errors).process(injector, elements);
       List<TypeListenerBinding> listenerBindings = injector.state.getTypeListenerBindings();
       injector.membersInjectorStore = new MembersInjectorStore(injector, listenerBindings);
-      stopwatch.resetAndLog("TypeListeners creation");
+      List<ProvisionListenerBinding> provisionListenerBindings
+          = injector.state.getProvisionListenerBindings();
+      injector.provisionListenerStore
+          = new ProvisionListenerCallbackStore(provisionListenerBindings);
+      stopwatch.resetAndLog("TypeListeners & ProvisionListener creation");
 
       new ScopeBindingProcessor(errors).process(injector, elements);
       stopwatch.resetAndLog("Scopes creation");
@@ -176,6 +198,19 @@ final class InjectorShell {
       return injectorShells;
     }
 
+    /** Returns an executor of daemon threads, so an abandoned creation can't keep the VM alive. */
+    private static ExecutorService newCreationExecutor(int threads) {
+      return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "Guice injector creation #"
+              + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+
     private State getState() {
       if (state == null) {
         state = new InheritingState(State.NONE);
@@ -16,8 +16,11 @@
 
 package com.google.inject.internal;
 
+import com.google.inject.Key;
+import com.google.inject.internal.util.Lists;
 import com.google.inject.internal.util.Maps;
 import com.google.inject.spi.Dependency;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,11 +31,17 @@ import java.util.Map;
  */
 final class InternalContext {
 
-  private Map<Object, ConstructionContext<?>> constructionContexts = Maps.newHashMap();
+  /** Allocated by the first construction, injecting members alone doesn't need it. */
+  private Map<Object, ConstructionContext<?>> constructionContexts;
   private Dependency dependency;
+  /** Keys of listened-to bindings being provisioned; allocated by the first provision listener. */
+  private List<Key<?>> provisionChain;
 
   @SuppressWarnings("unchecked")
   public <T> ConstructionContext<T> getConstructionContext(Object key) {
+    if (constructionContexts == null) {
+      constructionContexts = Maps.newHashMap();
+    }
     ConstructionContext<T> constructionContext
         = (ConstructionContext<T>) constructionContexts.get(key);
     if (constructionContext == null) {
@@ -51,4 +60,19 @@ final class InternalContext {
     this.dependency = dependency;
     return previous;
   }
+
+  public void pushProvision(Key<?> key) {
+    if (provisionChain == null) {
+      provisionChain = Lists.newArrayList();
+    }
+    provisionChain.add(key);
+  }
+
+  public void popProvision() {
+    provisionChain.remove(provisionChain.size() - 1);
+  }
+
+  public List<Key<?>> getProvisionChain() {
+    return provisionChain;
+  }
 }
@@ -17,6 +17,7 @@
 package com.google.inject.internal;
 
 import com.google.inject.Provider;
+import com.google.inject.internal.ProvisionListenerStackCallback.ProvisionCallback;
 import static com.google.inject.internal.util.Preconditions.checkNotNull;
 import com.google.inject.spi.Dependency;
 
@@ -27,15 +28,30 @@ final class InternalFactoryToProviderAdapter<T> implements InternalFactory<T> {
 
   private final Initializable<Provider<? extends T>> initializable;
   private final Object source;
+  private final ProvisionListenerStackCallback<T> provisionCallback;
 
   public InternalFactoryToProviderAdapter(
-      Initializable<Provider<? extends T>> initializable, Object source) {
+      Initializable<Provider<? extends T>> initializable, Object source,
+      ProvisionListenerStackCallback<T> provisionCallback) {
     this.initializable = checkNotNull(initializable, "provider");
     this.source = checkNotNull(source, "source");
+    this.provisionCallback = provisionCallback;
   }
 
-  public T get(Errors errors, InternalContext context, Dependency<?> dependency, boolean linked)
-      throws ErrorsException {
+  public T get(final Errors errors, InternalContext context, final Dependency<?> dependency,
+      boolean linked) throws ErrorsException {
+    // Optimization: Don't go through the callback stack if we have no listeners.
+    if (provisionCallback == null) {
+      return provision(errors, dependency);
+    }
+    return provisionCallback.provision(errors, context, new ProvisionCallback<T>() {
+      public T call() throws ErrorsException {
+        return provision(errors, dependency);
+      }
+    });
+  }
+
+  private T provision(Errors errors, Dependency<?> dependency) throws ErrorsException {
     try {
       return errors.checkForNull(initializable.get(errors).get(), source, dependency);
     } catch (RuntimeException userException) {
@@ -71,11 +71,19 @@ public final class InternalInjectorCreator {
     final Stage stage;
     final boolean jitDisabled;
     final boolean allowCircularProxy;
+    /** The number of threads used to create the injector, 1 to create it on the calling thread. */
+    final int parallelism;
     
     public InjectorOptions(Stage stage, boolean jitDisabled, boolean allowCircularProxy) {
+      this(stage, jitDisabled, allowCircularProxy, 1);
+    }
+
+    public InjectorOptions(Stage stage, boolean jitDisabled, boolean allowCircularProxy,
+        int parallelism) {
       this.stage = stage;
       this.jitDisabled = jitDisabled;
       this.allowCircularProxy = allowCircularProxy;
+      this.parallelism = parallelism;
     }
   }
 
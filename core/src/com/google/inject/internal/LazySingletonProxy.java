@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject.internal;
+
+import com.google.inject.Provider;
+
+/**
+ * Creates the proxies injected for {@link com.google.inject.Scopes#LAZY_SINGLETON lazy
+ * singletons}. The singleton is created on the first call of one of the interface's methods.
+ * {@code equals()}, {@code hashCode()} and {@code toString()} are answered by the proxy itself,
+ * so putting a proxy in a hash set or logging it doesn't create the singleton. A proxy is only
+ * equal to itself.
+ */
+public final class LazySingletonProxy {
+  private LazySingletonProxy() {}
+
+  /**
+   * Returns a proxy that implements {@code type} by delegating to the instance provided by
+   * {@code singleton}.
+   */
+  public static <T> T create(Class<? super T> type, final Provider<T> singleton) {
+    ClassLoader classLoader = BytecodeGen.getClassLoader(type);
+
+    /*if[AOP]*/
+    // Generate a class that calls the singleton directly, so that calls on the proxy don't pay
+    // for reflection.
+    net.sf.cglib.proxy.Enhancer enhancer = new net.sf.cglib.proxy.Enhancer();
+    enhancer.setInterfaces(new Class[] { type });
+    enhancer.setUseFactory(false);
+    enhancer.setClassLoader(classLoader);
+    enhancer.setNamingPolicy(BytecodeGen.ENHANCER_NAMING_POLICY);
+    enhancer.setCallbackFilter(DELEGATE_INTERFACE_METHODS);
+    enhancer.setCallbacks(new net.sf.cglib.proxy.Callback[] {
+        new net.sf.cglib.proxy.Dispatcher() {
+          public Object loadObject() {
+            return singleton.get();
+          }
+        },
+        net.sf.cglib.proxy.NoOp.INSTANCE });
+    @SuppressWarnings("unchecked") // the proxy implements T's raw type
+    T proxy = (T) enhancer.create();
+    return proxy;
+    /*end[AOP]*/
+    /*if[NO_AOP]
+    @SuppressWarnings("unchecked") // the proxy implements T's raw type
+    T proxy = (T) java.lang.reflect.Proxy.newProxyInstance(classLoader, new Class[] { type },
+        new Handler<T>(type, singleton));
+    return proxy;
+    end[NO_AOP]*/
+  }
+
+  /** Returns true if {@code method} overrides a method of {@code Object}. */
+  private static boolean isObjectMethod(java.lang.reflect.Method method) {
+    try {
+      Object.class.getDeclaredMethod(method.getName(), method.getParameterTypes());
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /*if[AOP]*/
+  /**
+   * Dispatches the interface's methods to the singleton. The methods of Object are left to the
+   * proxy.
+   */
+  private static final net.sf.cglib.proxy.CallbackFilter DELEGATE_INTERFACE_METHODS
+      = new net.sf.cglib.proxy.CallbackFilter() {
+    public int accept(java.lang.reflect.Method method) {
+      return isObjectMethod(method) ? 1 : 0;
+    }
+  };
+  /*end[AOP]*/
+
+  /*if[NO_AOP]
+  private static class Handler<T> implements java.lang.reflect.InvocationHandler {
+    private final Class<?> type;
+    private final Provider<T> singleton;
+    private final java.util.Map<java.lang.reflect.Method, java.lang.reflect.Method> methods
+        = com.google.inject.internal.util.Maps.newHashMap();
+
+    Handler(Class<?> type, Provider<T> singleton) {
+      this.type = type;
+      this.singleton = singleton;
+      // the proxy's interface may not be public, so neither are its methods
+      for (java.lang.reflect.Method method : type.getMethods()) {
+        if (!java.lang.reflect.Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+          method.setAccessible(true);
+        }
+        methods.put(method, method);
+      }
+    }
+
+    public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args)
+        throws Throwable {
+      if (isObjectMethod(method)) {
+        if (method.getName().equals("equals")) {
+          return proxy == args[0];
+        } else if (method.getName().equals("hashCode")) {
+          return System.identityHashCode(proxy);
+        } else {
+          return type.getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+      }
+
+      try {
+        return methods.get(method).invoke(singleton.get(), args);
+      } catch (IllegalAccessException e) {
+        throw new RuntimeException(e);
+      } catch (java.lang.reflect.InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+    }
+  }
+  end[NO_AOP]*/
+}
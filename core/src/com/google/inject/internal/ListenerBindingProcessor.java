@@ -16,6 +16,7 @@
 
 package com.google.inject.internal;
 
+import com.google.inject.spi.ProvisionListenerBinding;
 import com.google.inject.spi.TypeListenerBinding;
 
 /**
@@ -23,9 +24,9 @@ import com.google.inject.spi.TypeListenerBinding;
  *
  * @author jessewilson@google.com (Jesse Wilson)
  */
-final class TypeListenerBindingProcessor extends AbstractProcessor {
+final class ListenerBindingProcessor extends AbstractProcessor {
 
-  TypeListenerBindingProcessor(Errors errors) {
+  ListenerBindingProcessor(Errors errors) {
     super(errors);
   }
 
@@ -33,4 +34,9 @@ final class TypeListenerBindingProcessor extends AbstractProcessor {
     injector.state.addTypeListener(binding);
     return true;
   }
+
+  @Override public Boolean visit(ProvisionListenerBinding binding) {
+    injector.state.addProvisionListener(binding);
+    return true;
+  }
 }
\ No newline at end of file
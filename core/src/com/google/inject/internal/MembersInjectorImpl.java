@@ -70,12 +70,20 @@ final class MembersInjectorImpl<T> implements MembersInjector<T> {
       return;
     }
 
-    injector.callInContext(new ContextualCallable<Void>() {
-      public Void call(InternalContext context) throws ErrorsException {
-        injectMembers(instance, errors, context, toolableOnly);
-        return null;
+    // optimization: same as injector.callInContext(), without allocating a callable
+    Object[] reference = injector.localContext.get();
+    InternalContext context = (InternalContext) reference[0];
+    if (context != null) {
+      injectMembers(instance, errors, context, toolableOnly);
+    } else {
+      reference[0] = new InternalContext();
+      try {
+        injectMembers(instance, errors, (InternalContext) reference[0], toolableOnly);
+      } finally {
+        // Only clear the context if this call created it.
+        reference[0] = null;
       }
-    });
+    }
 
     // TODO: We *could* notify listeners too here,
     // but it's not clear if we want to.  There's no way to know
@@ -91,6 +99,11 @@ final class MembersInjectorImpl<T> implements MembersInjector<T> {
   }
 
   void notifyListeners(T instance, Errors errors) throws ErrorsException {
+    // optimization: skip allocating an iterator for the common case of no listeners
+    if (injectionListeners.isEmpty()) {
+      return;
+    }
+
     int numErrorsBefore = errors.size();
     for (InjectionListener<? super T> injectionListener : injectionListeners) {
       try {
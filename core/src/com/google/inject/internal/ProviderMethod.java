@@ -21,6 +21,8 @@ import com.google.inject.Exposed;
 import com.google.inject.Key;
 import com.google.inject.PrivateBinder;
 import com.google.inject.Provider;
+import com.google.inject.internal.InjectorImpl.MethodInvoker;
+import com.google.inject.internal.util.ImmutableList;
 import com.google.inject.internal.util.ImmutableSet;
 import com.google.inject.internal.util.StackTraceElements;
 import com.google.inject.spi.Dependency;
@@ -41,25 +43,28 @@ public class ProviderMethod<T> implements ProviderWithDependencies<T> {
   private final Class<? extends Annotation> scopeAnnotation;
   private final Object instance;
   private final Method method;
+  /** Created on first use, so that recording a module doesn't generate bytecode. */
+  private volatile MethodInvoker methodInvoker;
   private final ImmutableSet<Dependency<?>> dependencies;
+  private final ImmutableList<Dependency<?>> parameterDependencies;
   private final List<Provider<?>> parameterProviders;
   private final boolean exposed;
 
   /**
    * @param method the method to invoke. It's return type must be the same type as {@code key}.
+   * @param parameterDependencies the dependency of each of the method's parameters, in order.
    */
   ProviderMethod(Key<T> key, Method method, Object instance,
-      ImmutableSet<Dependency<?>> dependencies, List<Provider<?>> parameterProviders,
+      ImmutableList<Dependency<?>> parameterDependencies, List<Provider<?>> parameterProviders,
       Class<? extends Annotation> scopeAnnotation) {
     this.key = key;
     this.scopeAnnotation = scopeAnnotation;
     this.instance = instance;
-    this.dependencies = dependencies;
+    this.dependencies = ImmutableSet.copyOf(parameterDependencies);
+    this.parameterDependencies = parameterDependencies;
     this.method = method;
     this.parameterProviders = parameterProviders;
     this.exposed = method.isAnnotationPresent(Exposed.class);
-
-    method.setAccessible(true);
   }
 
   public Key<T> getKey() {
@@ -97,10 +102,38 @@ public class ProviderMethod<T> implements ProviderWithDependencies<T> {
       parameters[i] = parameterProviders.get(i).get();
     }
 
+    return invoke(parameters);
+  }
+
+  /**
+   * Returns the dependencies of the method's parameters, in order. Unlike {@link
+   * #getDependencies}, a key that is injected twice appears twice.
+   */
+  List<Dependency<?>> getParameterDependencies() {
+    return parameterDependencies;
+  }
+
+  /**
+   * Returns the invoker for the method, creating it if necessary. Concurrent callers may each
+   * create one, which is harmless.
+   */
+  MethodInvoker getMethodInvoker() {
+    MethodInvoker result = methodInvoker;
+    if (result == null) {
+      methodInvoker = result = SingleMethodInjector.createMethodInvoker(method);
+    }
+    return result;
+  }
+
+  /**
+   * Invokes the method with the given parameter values. Used directly by {@link
+   * ProviderMethodFactory}, which resolves the parameters itself.
+   */
+  T invoke(Object[] parameters) {
     try {
       // We know this cast is safe becase T is the method's return type.
       @SuppressWarnings({ "unchecked", "UnnecessaryLocalVariable" })
-      T result = (T) method.invoke(instance, parameters);
+      T result = (T) getMethodInvoker().invoke(instance, parameters);
       return result;
     } catch (IllegalAccessException e) {
       throw new AssertionError(e);
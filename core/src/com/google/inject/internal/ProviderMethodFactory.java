@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import com.google.inject.internal.ProvisionListenerStackCallback.ProvisionCallback;
+import com.google.inject.spi.Dependency;
+
+/**
+ * Provisions from a {@literal @}{@link com.google.inject.Provides Provides} method. The method's
+ * parameters are resolved directly from their internal factories in the caller's context, rather
+ * than through the {@link com.google.inject.Provider Provider}s that {@link ProviderMethod#get}
+ * uses, and the method is called through generated bytecode when possible.
+ */
+final class ProviderMethodFactory<T> implements InternalFactory<T> {
+
+  private final ProviderMethod<T> providerMethod;
+  private final Object source;
+  private final ProvisionListenerStackCallback<T> provisionCallback;
+  private SingleParameterInjector<?>[] parameterInjectors;
+
+  ProviderMethodFactory(ProviderMethod<T> providerMethod, Object source,
+      ProvisionListenerStackCallback<T> provisionCallback) {
+    this.providerMethod = providerMethod;
+    this.source = source;
+    this.provisionCallback = provisionCallback;
+  }
+
+  /**
+   * Resolves the parameters' factories once all bindings are known, and creates the method's
+   * invoker. Missing bindings are reported by the provider lookups that {@link
+   * ProviderMethodsModule} records for each parameter, so errors here are not reported again.
+   */
+  void initialize(InjectorImpl injector) {
+    providerMethod.getMethodInvoker();
+    try {
+      parameterInjectors = injector.getParametersInjectors(
+          providerMethod.getParameterDependencies(), new Errors());
+    } catch (ErrorsException ignored) {
+      // reported by the provider lookups
+    }
+  }
+
+  public T get(final Errors errors, final InternalContext context, final Dependency<?> dependency,
+      boolean linked) throws ErrorsException {
+    // Optimization: Don't go through the callback stack if we have no listeners.
+    if (provisionCallback == null) {
+      return provision(errors, context, dependency);
+    }
+    return provisionCallback.provision(errors, context, new ProvisionCallback<T>() {
+      public T call() throws ErrorsException {
+        return provision(errors, context, dependency);
+      }
+    });
+  }
+
+  private T provision(Errors errors, InternalContext context, Dependency<?> dependency)
+      throws ErrorsException {
+    Object[] parameters = SingleParameterInjector.getAll(errors, context, parameterInjectors);
+    try {
+      return errors.checkForNull(providerMethod.invoke(parameters), source, dependency);
+    } catch (RuntimeException userException) {
+      throw errors.withSource(source).errorInProvider(userException).toException();
+    }
+  }
+
+  @Override public String toString() {
+    return providerMethod.toString();
+  }
+}
@@ -22,7 +22,7 @@ import com.google.inject.Module;
 import com.google.inject.Provider;
 import com.google.inject.Provides;
 import com.google.inject.TypeLiteral;
-import com.google.inject.internal.util.ImmutableSet;
+import com.google.inject.internal.util.ImmutableList;
 import com.google.inject.internal.util.Lists;
 import static com.google.inject.internal.util.Preconditions.checkNotNull;
 import com.google.inject.spi.Dependency;
@@ -121,7 +121,7 @@ public final class ProviderMethodsModule implements Module {
       binder.addError(message);
     }
 
-    return new ProviderMethod<T>(key, method, delegate, ImmutableSet.copyOf(dependencies),
+    return new ProviderMethod<T>(key, method, delegate, ImmutableList.copyOf(dependencies),
         parameterProviders, scopeAnnotation);
   }
 
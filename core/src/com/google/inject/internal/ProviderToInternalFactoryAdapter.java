@@ -16,6 +16,7 @@
 
 package com.google.inject.internal;
 
+import com.google.inject.Key;
 import com.google.inject.Provider;
 import com.google.inject.ProvisionException;
 import com.google.inject.spi.Dependency;
@@ -27,11 +28,13 @@ final class ProviderToInternalFactoryAdapter<T> implements Provider<T> {
 
   private final InjectorImpl injector;
   private final InternalFactory<? extends T> internalFactory;
+  private final Key<T> key;
 
   public ProviderToInternalFactoryAdapter(InjectorImpl injector,
-      InternalFactory<? extends T> internalFactory) {
+      InternalFactory<? extends T> internalFactory, Key<T> key) {
     this.injector = injector;
     this.internalFactory = internalFactory;
+    this.key = key;
   }
 
   public T get() {
@@ -40,10 +43,22 @@ final class ProviderToInternalFactoryAdapter<T> implements Provider<T> {
       T t = injector.callInContext(new ContextualCallable<T>() {
         public T call(InternalContext context) throws ErrorsException {
           Dependency dependency = context.getDependency();
-          // Always pretend that we are a linked binding, to support
-          // scoping implicit bindings.  If we are not actually a linked
-          // binding, we'll fail properly elsewhere in the chain.
-          return internalFactory.get(errors, context, dependency, true);
+          if (dependency != null) {
+            // Always pretend that we are a linked binding, to support
+            // scoping implicit bindings.  If we are not actually a linked
+            // binding, we'll fail properly elsewhere in the chain.
+            return internalFactory.get(errors, context, dependency, true);
+          }
+
+          // The scope is calling us outside of an injection, such as to create a
+          // lazy singleton. Provision as if our own key had been requested.
+          dependency = Dependency.get(key);
+          context.setDependency(dependency);
+          try {
+            return internalFactory.get(errors, context, dependency, true);
+          } finally {
+            context.setDependency(null);
+          }
         }
       });
       errors.throwIfNewErrors(0);
@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import com.google.inject.Binding;
+import com.google.inject.internal.util.ImmutableList;
+import com.google.inject.internal.util.Lists;
+import com.google.inject.spi.ProvisionListener;
+import com.google.inject.spi.ProvisionListenerBinding;
+import java.util.List;
+
+/**
+ * {@link ProvisionListenerStackCallback} for each binding, built from the provision listener
+ * bindings of an injector and its parents.
+ */
+final class ProvisionListenerCallbackStore {
+
+  private final ImmutableList<ProvisionListenerBinding> listenerBindings;
+
+  ProvisionListenerCallbackStore(List<ProvisionListenerBinding> listenerBindings) {
+    this.listenerBindings = ImmutableList.copyOf(listenerBindings);
+  }
+
+  /**
+   * Returns the callback for the binding's matching listeners, or null if no listener matches it.
+   * Factories skip provision listening entirely when this returns null.
+   */
+  <T> ProvisionListenerStackCallback<T> get(Binding<T> binding) {
+    if (listenerBindings.isEmpty()) {
+      return null;
+    }
+
+    List<ProvisionListener> listeners = null;
+    for (ProvisionListenerBinding listenerBinding : listenerBindings) {
+      if (listenerBinding.getBindingMatcher().matches(binding)) {
+        if (listeners == null) {
+          listeners = Lists.newArrayList();
+        }
+        listeners.addAll(listenerBinding.getListeners());
+      }
+    }
+
+    return listeners == null
+        ? null
+        : new ProvisionListenerStackCallback<T>(binding, listeners);
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.internal;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.ProvisionException;
+import com.google.inject.internal.util.ImmutableList;
+import com.google.inject.spi.ProvisionListener;
+import java.util.List;
+
+/**
+ * Intercepts provisions with a stack of listeners.
+ */
+final class ProvisionListenerStackCallback<T> {
+
+  private final ProvisionListener[] listeners;
+  private final Binding<T> binding;
+
+  ProvisionListenerStackCallback(Binding<T> binding, List<ProvisionListener> listeners) {
+    this.binding = binding;
+    this.listeners = listeners.toArray(new ProvisionListener[listeners.size()]);
+  }
+
+  T provision(Errors errors, InternalContext context, ProvisionCallback<T> callable)
+      throws ErrorsException {
+    Provision provision = new Provision(errors, context, callable);
+    RuntimeException caught = null;
+    context.pushProvision(binding.getKey());
+    try {
+      provision.provision();
+    } catch (RuntimeException t) {
+      caught = t;
+    } finally {
+      context.popProvision();
+    }
+
+    if (provision.exceptionDuringProvision != null) {
+      throw provision.exceptionDuringProvision;
+    } else if (caught != null) {
+      throw errors.errorNotifyingProvisionListener(
+          provision.erroredListener, binding.getKey(), caught).toException();
+    } else {
+      return provision.result;
+    }
+  }
+
+  interface ProvisionCallback<T> {
+    T call() throws ErrorsException;
+  }
+
+  private class Provision extends ProvisionListener.ProvisionInvocation<T> {
+
+    final Errors errors;
+    final InternalContext context;
+    final ProvisionCallback<T> callable;
+    int index = -1;
+    T result;
+    ErrorsException exceptionDuringProvision;
+    ProvisionListener erroredListener;
+
+    Provision(Errors errors, InternalContext context, ProvisionCallback<T> callable) {
+      this.callable = callable;
+      this.context = context;
+      this.errors = errors;
+    }
+
+    @Override
+    public T provision() {
+      index++;
+      if (index == listeners.length) {
+        try {
+          result = callable.call();
+        } catch (ErrorsException ee) {
+          exceptionDuringProvision = ee;
+          throw new ProvisionException(errors.merge(ee.getErrors()).getMessages());
+        }
+      } else if (index < listeners.length) {
+        int currentIdx = index;
+        try {
+          listeners[index].onProvision(this);
+        } catch (RuntimeException re) {
+          erroredListener = listeners[currentIdx];
+          throw re;
+        }
+        if (currentIdx == index) {
+          // Our listener didn't provision -- do it for them.
+          provision();
+        }
+      } else {
+        throw new IllegalStateException("Already provisioned in this listener.");
+      }
+      return result;
+    }
+
+    @Override
+    public Binding<T> getBinding() {
+      return binding;
+    }
+
+    @Override
+    public List<Key<?>> getDependencyChain() {
+      return ImmutableList.copyOf(context.getProvisionChain());
+    }
+
+    @Override
+    public int getDependencyDepth() {
+      return context.getProvisionChain().size();
+    }
+  }
+}
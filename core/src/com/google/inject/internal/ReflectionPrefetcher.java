@@ -0,0 +1,233 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject.internal;
+
+import com.google.inject.Binding;
+import com.google.inject.ConfigurationException;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.TypeLiteral;
+import com.google.inject.internal.util.Lists;
+import com.google.inject.internal.util.Sets;
+import com.google.inject.spi.ConstructorBinding;
+import com.google.inject.spi.DefaultBindingTargetVisitor;
+import com.google.inject.spi.DefaultElementVisitor;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.InjectionPoint;
+import com.google.inject.spi.InjectionRequest;
+import com.google.inject.spi.InstanceBinding;
+import com.google.inject.spi.LinkedKeyBinding;
+import com.google.inject.spi.PrivateElements;
+import com.google.inject.spi.ProviderInstanceBinding;
+import com.google.inject.spi.ProviderKeyBinding;
+import com.google.inject.spi.UntargettedBinding;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Scans the injection points of bound types on an executor before the bindings are processed.
+ * Constructor discovery and injection point scanning are mostly spent loading classes and parsing
+ * annotations, and the JDK caches both. Warming those caches concurrently makes the serial
+ * binding processing that follows cheaper.
+ *
+ * <p>Nothing computed here is kept: the binding processors scan the same types again and report
+ * any errors in their usual order.
+ */
+final class ReflectionPrefetcher {
+  private final ExecutorService executor;
+  private final Set<TypeLiteral<?>> scanned = Sets.newHashSet();
+
+  ReflectionPrefetcher(ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Scans the types bound by {@code elements}, then the types of their dependencies, one level
+   * at a time. Prefetching is only an optimization, so it never fails: problems with the elements
+   * are left for the binding processors to report.
+   */
+  void prefetch(List<Element> elements) {
+    try {
+      prefetchLevels(elements);
+    } catch (Throwable ignored) {
+      // the binding processors will report the problem
+    }
+  }
+
+  private void prefetchLevels(List<Element> elements) {
+    List<TypeLiteral<?>> frontier = Lists.newArrayList();
+    collectTypes(elements, frontier);
+
+    while (!frontier.isEmpty()) {
+      List<Callable<Collection<TypeLiteral<?>>>> tasks = Lists.newArrayList();
+      for (TypeLiteral<?> type : frontier) {
+        if (scanned.add(type)) {
+          tasks.add(new ScanTask(type));
+        }
+      }
+
+      List<Future<Collection<TypeLiteral<?>>>> futures;
+      try {
+        futures = executor.invokeAll(tasks);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      frontier = Lists.newArrayList();
+      for (Future<Collection<TypeLiteral<?>>> future : futures) {
+        try {
+          frontier.addAll(future.get());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        } catch (ExecutionException e) {
+          // ignore, the binding processors will report the problem
+        }
+      }
+    }
+  }
+
+  private void collectTypes(List<Element> elements, final List<TypeLiteral<?>> types) {
+    final DefaultBindingTargetVisitor<Object, Void> bindingVisitor
+        = new DefaultBindingTargetVisitor<Object, Void>() {
+      @Override public Void visit(UntargettedBinding<?> untargettedBinding) {
+        addIfScannable(untargettedBinding.getKey().getTypeLiteral(), types);
+        return null;
+      }
+
+      @Override public Void visit(LinkedKeyBinding<?> linkedKeyBinding) {
+        addIfScannable(linkedKeyBinding.getLinkedKey().getTypeLiteral(), types);
+        return null;
+      }
+
+      @Override public Void visit(ProviderKeyBinding<?> providerKeyBinding) {
+        addIfScannable(providerKeyBinding.getProviderKey().getTypeLiteral(), types);
+        return null;
+      }
+
+      @Override public Void visit(ConstructorBinding<?> constructorBinding) {
+        addIfScannable(constructorBinding.getConstructor().getDeclaringType(), types);
+        return null;
+      }
+
+      @Override public Void visit(InstanceBinding<?> instanceBinding) {
+        addInstanceTypeIfScannable(instanceBinding.getInstance(), types);
+        return null;
+      }
+
+      @Override public Void visit(ProviderInstanceBinding<?> providerInstanceBinding) {
+        addInstanceTypeIfScannable(providerInstanceBinding.getProviderInstance(), types);
+        return null;
+      }
+    };
+
+    DefaultElementVisitor<Void> elementVisitor = new DefaultElementVisitor<Void>() {
+      @Override public <T> Void visit(Binding<T> binding) {
+        return binding.acceptTargetVisitor(bindingVisitor);
+      }
+
+      @Override public Void visit(InjectionRequest<?> injectionRequest) {
+        addIfScannable(injectionRequest.getType(), types);
+        return null;
+      }
+
+      @Override public Void visit(PrivateElements privateElements) {
+        collectTypes(privateElements.getElements(), types);
+        return null;
+      }
+    };
+
+    for (Element element : elements) {
+      element.acceptVisitor(elementVisitor);
+    }
+  }
+
+  /** Adds the class of {@code instance}, if it's non-null and scannable. */
+  private static void addInstanceTypeIfScannable(
+      Object instance, Collection<TypeLiteral<?>> types) {
+    if (instance != null) {
+      addIfScannable(TypeLiteral.get(instance.getClass()), types);
+    }
+  }
+
+  /**
+   * Adds {@code type} if it's a class that Guice could construct. Types from the JDK are skipped,
+   * they're rarely constructed by Guice and are already loaded.
+   */
+  private static void addIfScannable(TypeLiteral<?> type, Collection<TypeLiteral<?>> types) {
+    Class<?> rawType = type.getRawType();
+    if (rawType.isInterface()
+        || rawType.isArray()
+        || rawType.isPrimitive()
+        || Modifier.isAbstract(rawType.getModifiers())
+        || rawType.getName().startsWith("java.")) {
+      return;
+    }
+    types.add(type);
+  }
+
+  /** Scans a type's injection points and returns the types of their dependencies. */
+  private static class ScanTask implements Callable<Collection<TypeLiteral<?>>> {
+    private final TypeLiteral<?> type;
+
+    ScanTask(TypeLiteral<?> type) {
+      this.type = type;
+    }
+
+    public Collection<TypeLiteral<?>> call() {
+      List<InjectionPoint> injectionPoints = Lists.newArrayList();
+      try {
+        injectionPoints.add(InjectionPoint.forConstructorOf(type));
+      } catch (ConfigurationException ignored) {
+      }
+      try {
+        injectionPoints.addAll(InjectionPoint.forInstanceMethodsAndFields(type));
+      } catch (ConfigurationException e) {
+        injectionPoints.addAll(e.<Set<InjectionPoint>>getPartialValue());
+      }
+
+      List<TypeLiteral<?>> dependencyTypes = Lists.newArrayList();
+      for (InjectionPoint injectionPoint : injectionPoints) {
+        for (Dependency<?> dependency : injectionPoint.getDependencies()) {
+          addIfScannable(providedType(dependency.getKey()), dependencyTypes);
+        }
+      }
+      return dependencyTypes;
+    }
+
+    /** Returns {@code T} for keys of {@code Provider<T>}, and the key's type otherwise. */
+    private static TypeLiteral<?> providedType(Key<?> key) {
+      Type type = key.getTypeLiteral().getType();
+      if (key.getTypeLiteral().getRawType() == Provider.class
+          && type instanceof ParameterizedType) {
+        return TypeLiteral.get(((ParameterizedType) type).getActualTypeArguments()[0]);
+      }
+      return key.getTypeLiteral();
+    }
+  }
+}
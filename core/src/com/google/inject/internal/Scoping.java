@@ -238,9 +238,9 @@ public abstract class Scoping {
     Scope scope = scoping.getScopeInstance();
 
     Provider<T> scoped
-        = scope.scope(key, new ProviderToInternalFactoryAdapter<T>(injector, creator));
+        = scope.scope(key, new ProviderToInternalFactoryAdapter<T>(injector, creator, key));
     return new InternalFactoryToProviderAdapter<T>(
-        Initializables.<Provider<? extends T>>of(scoped), source);
+        Initializables.<Provider<? extends T>>of(scoped), source, null);
   }
 
   /**
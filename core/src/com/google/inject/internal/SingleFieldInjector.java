@@ -46,14 +46,17 @@ final class SingleFieldInjector implements SingleMemberInjector {
   }
 
   public void inject(Errors errors, InternalContext context, Object o) {
-    errors = errors.withSource(dependency);
+    // optimization: only add the dependency to the errors' context if there are errors
+    int numErrorsBefore = errors.size();
 
     Dependency previous = context.setDependency(dependency);
     try {
       Object value = factory.get(errors, context, dependency, false);
       field.set(o, value);
+      errors.addSourceToNewErrors(numErrorsBefore, dependency);
     } catch (ErrorsException e) {
-      errors.withSource(injectionPoint).merge(e.getErrors());
+      errors.addSourceToNewErrors(numErrorsBefore, dependency);
+      errors.withSource(dependency).withSource(injectionPoint).merge(e.getErrors());
     } catch (IllegalAccessException e) {
       throw new AssertionError(e); // a security manager is blocking us, we're hosed
     } finally {
@@ -39,7 +39,11 @@ final class SingleMethodInjector implements SingleMemberInjector {
     parameterInjectors = injector.getParametersInjectors(injectionPoint.getDependencies(), errors);
   }
 
-  private MethodInvoker createMethodInvoker(final Method method) {
+  /**
+   * Returns an invoker for {@code method}, using generated bytecode rather than reflection
+   * when the method's visibility permits it.
+   */
+  static MethodInvoker createMethodInvoker(final Method method) {
 
     // We can't use FastMethod if the method is private.
     int modifiers = method.getModifiers();
@@ -33,11 +33,15 @@ final class SingleParameterInjector<T> {
   }
 
   private T inject(Errors errors, InternalContext context) throws ErrorsException {
+    // optimization: only add the dependency to the errors' context if there are errors
+    int numErrorsBefore = errors.size();
+
     Dependency previous = context.setDependency(dependency);
     try {
-      return factory.get(errors.withSource(dependency), context, dependency, false);
+      return factory.get(errors, context, dependency, false);
     } finally {
       context.setDependency(previous);
+      errors.addSourceToNewErrors(numErrorsBefore, dependency);
     }
   }
 
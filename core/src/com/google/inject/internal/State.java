@@ -23,6 +23,7 @@ import com.google.inject.TypeLiteral;
 import com.google.inject.internal.util.ImmutableList;
 import com.google.inject.internal.util.ImmutableMap;
 import com.google.inject.internal.util.ImmutableSet;
+import com.google.inject.spi.ProvisionListenerBinding;
 import com.google.inject.spi.TypeConverterBinding;
 import com.google.inject.spi.TypeListenerBinding;
 import java.lang.annotation.Annotation;
@@ -93,6 +94,14 @@ interface State {
       return ImmutableList.of();
     }
 
+    public void addProvisionListener(ProvisionListenerBinding provisionListenerBinding) {
+      throw new UnsupportedOperationException();
+    }
+
+    public List<ProvisionListenerBinding> getProvisionListenerBindings() {
+      return ImmutableList.of();
+    }
+
     public void blacklist(Key<?> key) {
     }
 
@@ -143,6 +152,11 @@ interface State {
 
   List<TypeListenerBinding> getTypeListenerBindings();
 
+  void addProvisionListener(ProvisionListenerBinding provisionListenerBinding);
+
+  /** Returns the provision listener bindings at this level and parent levels. */
+  List<ProvisionListenerBinding> getProvisionListenerBindings();
+
   /**
    * Forbids the corresponding injector from creating a binding to {@code key}. Child injectors
    * blacklist their bound keys on their parent injectors to prevent just-in-time bindings on the
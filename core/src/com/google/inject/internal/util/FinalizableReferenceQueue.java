@@ -23,6 +23,7 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -31,6 +32,12 @@ import java.util.logging.Logger;
  * references and invokes {@link FinalizableReference#finalizeReferent()} on
  * them.
  *
+ * <p>Use {@code -Dguice.finalizer.thread=false} to run without the
+ * background thread. Enqueued references are then finalized a few at a time
+ * whenever new references are created and, for {@link MapMaker} maps, as
+ * entries are read. No thread is started and no class loader is created for
+ * {@code Finalizer}, which suits containers that redeploy applications often.
+ *
  * <p>Keep a strong reference to this object until all of the associated
  * referents have been finalized. If this object is garbage collected earlier,
  * the backing thread will not invoke {@code finalizeReferent()} on the
@@ -94,12 +101,24 @@ public class FinalizableReferenceQueue {
   private static final String FINALIZER_CLASS_NAME
       = "com.google.inject.internal.util.Finalizer";
 
-  /** Reference to Finalizer.startFinalizer(). */
-  private static final Method startFinalizer;
-  static {
-    Class<?> finalizer = loadFinalizer(
-        new SystemLoader(), new DecoupledLoader(), new DirectLoader());
-    startFinalizer = getStartFinalizer(finalizer);
+  /** Use "-Dguice.finalizer.thread=false" to clean up without a thread. */
+  private static final boolean START_THREAD
+      = Boolean.parseBoolean(System.getProperty("guice.finalizer.thread", "true"));
+
+  /** Maximum number of references finalized by one call to cleanUp(). */
+  private static final int CLEANUP_BATCH_SIZE = 16;
+
+  /** Reads between calls to cleanUp() from cleanUpOnRead(), less one. */
+  private static final int READ_MASK = 0x3F;
+
+  /**
+   * Wrapper class ensures that Finalizer isn't loaded until a thread is
+   * actually started.
+   */
+  private static class FinalizerHolder {
+    /** Reference to Finalizer.startFinalizer(). */
+    static final Method startFinalizer = getStartFinalizer(loadFinalizer(
+        new SystemLoader(), new DecoupledLoader(), new DirectLoader()));
   }
 
   /**
@@ -112,25 +131,52 @@ public class FinalizableReferenceQueue {
    */
   final boolean threadStarted;
 
+  /**
+   * Counts reads for cleanUpOnRead(). Updates are deliberately racy, a lost
+   * increment only delays cleanup slightly.
+   */
+  private int reads;
+
+  /**
+   * Held by the one thread allowed to finalize references. Without a
+   * background thread, references are finalized by callers that may hold a
+   * map segment lock while finalizeReferent() takes another. Letting a single
+   * thread at a time do so keeps those locks from being acquired in
+   * conflicting orders.
+   */
+  private final AtomicBoolean cleaning = new AtomicBoolean();
+
   /**
    * Constructs a new queue.
    */
-  @SuppressWarnings("unchecked")
   public FinalizableReferenceQueue() {
+    this(START_THREAD);
+  }
+
+  /**
+   * Constructs a new queue, cleaning up on a background thread only if
+   * {@code startThread} is true.
+   */
+  @SuppressWarnings("unchecked")
+  FinalizableReferenceQueue(boolean startThread) {
     // We could start the finalizer lazily, but I'd rather it blow up early.
-    ReferenceQueue<Object> queue;
+    ReferenceQueue<Object> queue = null;
     boolean threadStarted = false;
-    try {
-      queue = (ReferenceQueue<Object>) startFinalizer.invoke(null,
-          FinalizableReference.class, this);
-      threadStarted = true;
-    } catch (IllegalAccessException e) {
-      // Finalizer.startFinalizer() is public.
-      throw new AssertionError(e);
-    } catch (Throwable t) {
-      logger.log(Level.INFO, "Failed to start reference finalizer thread."
-          + " Reference cleanup will only occur when new references are"
-          + " created.", t);
+    if (startThread) {
+      try {
+        queue = (ReferenceQueue<Object>) FinalizerHolder.startFinalizer.invoke(
+            null, FinalizableReference.class, this);
+        threadStarted = true;
+      } catch (IllegalAccessException e) {
+        // Finalizer.startFinalizer() is public.
+        throw new AssertionError(e);
+      } catch (Throwable t) {
+        logger.log(Level.INFO, "Failed to start reference finalizer thread."
+            + " Reference cleanup will only occur when references are"
+            + " created or read.", t);
+      }
+    }
+    if (queue == null) {
       queue = new ReferenceQueue<Object>();
     }
 
@@ -139,28 +185,49 @@ public class FinalizableReferenceQueue {
   }
 
   /**
-   * Repeatedly dequeues references from the queue and invokes
-   * {@link FinalizableReference#finalizeReferent()} on them until the queue
-   * is empty. This method is a no-op if the background thread was created
-   * successfully.
+   * Dequeues a small batch of references from the queue and invokes
+   * {@link FinalizableReference#finalizeReferent()} on them, so that no
+   * single caller pays for a large backlog. This method is a no-op if the
+   * background thread was created successfully, or if another thread is
+   * already cleaning up.
    */
   void cleanUp() {
-    if (threadStarted) {
+    if (threadStarted || !cleaning.compareAndSet(false, true)) {
       return;
     }
 
-    Reference<?> reference;
-    while ((reference = queue.poll()) != null) {
-      /*
-       * This is for the benefit of phantom references. Weak and soft
-       * references will have already been cleared by this point.
-       */
-      reference.clear();
-      try {
-        ((FinalizableReference) reference).finalizeReferent();
-      } catch (Throwable t) {
-        logger.log(Level.SEVERE, "Error cleaning up after reference.", t);
+    try {
+      Reference<?> reference;
+      for (int i = 0; i < CLEANUP_BATCH_SIZE
+          && (reference = queue.poll()) != null; i++) {
+        /*
+         * This is for the benefit of phantom references. Weak and soft
+         * references will have already been cleared by this point.
+         */
+        reference.clear();
+        try {
+          ((FinalizableReference) reference).finalizeReferent();
+        } catch (Throwable t) {
+          logger.log(Level.SEVERE, "Error cleaning up after reference.", t);
+        }
       }
+    } finally {
+      cleaning.set(false);
+    }
+  }
+
+  /**
+   * Calls {@link #cleanUp()} on every 64th read, keeping the cost of polling
+   * the queue off most reads. This method is a no-op if the background thread
+   * was created successfully.
+   */
+  void cleanUpOnRead() {
+    if (threadStarted) {
+      return;
+    }
+
+    if ((++reads & READ_MASK) == 0) {
+      cleanUp();
     }
   }
 
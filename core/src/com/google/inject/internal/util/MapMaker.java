@@ -521,6 +521,7 @@ public final class MapMaker {
      */
     public V waitForValue(ReferenceEntry<K, V> entry)
         throws InterruptedException {
+      cleanUpOnRead();
       ValueReference<K, V> valueReference = entry.getValueReference();
       if (valueReference == COMPUTING) {
         synchronized (entry) {
@@ -538,10 +539,22 @@ public final class MapMaker {
      * instead of blocking or throwing an exception.
      */
     public V getValue(ReferenceEntry<K, V> entry) {
+      cleanUpOnRead();
       ValueReference<K, V> valueReference = entry.getValueReference();
       return valueReference.get();
     }
 
+    /**
+     * Lets reads share the cost of finalizing collected entries when the
+     * queue has no background thread. Writes already do so as they create
+     * references. Maps with strong keys and values never touch the queue.
+     */
+    void cleanUpOnRead() {
+      if (keyStrength != Strength.STRONG || valueStrength != Strength.STRONG) {
+        QueueHolder.queue.cleanUpOnRead();
+      }
+    }
+
     public V compute(K key, final ReferenceEntry<K, V> entry,
         Function<? super K, ? extends V> computer) {
       V value;
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject.spi;
+
+import com.google.inject.Binder;
+import com.google.inject.internal.util.ImmutableList;
+import static com.google.inject.internal.util.Preconditions.checkNotNull;
+import java.util.List;
+
+/**
+ * Describes a bean defined outside of Java code, such as in an XML file. The bean's type is bound
+ * to instances created with its public no-arg constructor, and each named property is set by
+ * calling the matching setter with a value from the injector. The setter for property {@code
+ * foo} is {@code setFoo()}, and its parameter type is the key of the value injected.
+ *
+ * <p>Beans are bound in bulk with {@link Binder#bindBeans}.
+ *
+ * @since 3.0
+ */
+public final class BeanDescriptor {
+  private final String typeName;
+  private final Class<?> type;
+  private final ImmutableList<String> properties;
+
+  private BeanDescriptor(String typeName, Class<?> type, String[] properties) {
+    this.typeName = checkNotNull(typeName, "typeName");
+    this.type = type;
+    this.properties = ImmutableList.of(checkNotNull(properties, "properties"));
+  }
+
+  /**
+   * Returns a descriptor for a bean of the given type, with the given properties.
+   */
+  public static BeanDescriptor forType(Class<?> type, String... properties) {
+    return new BeanDescriptor(type.getName(), type, properties);
+  }
+
+  /**
+   * Returns a descriptor for a bean of the named type, with the given properties. The type is
+   * loaded by the binder, which loads each distinct name only once.
+   */
+  public static BeanDescriptor forTypeName(String typeName, String... properties) {
+    return new BeanDescriptor(typeName, null, properties);
+  }
+
+  /**
+   * Returns the fully qualified name of the bean's type.
+   */
+  public String getTypeName() {
+    return typeName;
+  }
+
+  /**
+   * Returns the bean's type, or null if it was described by name only.
+   */
+  public Class<?> getType() {
+    return type;
+  }
+
+  /**
+   * Returns the names of the properties to set on each instance, in order.
+   */
+  public List<String> getProperties() {
+    return properties;
+  }
+
+  @Override public String toString() {
+    return "bean " + typeName + properties;
+  }
+}
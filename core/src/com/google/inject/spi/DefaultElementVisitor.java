@@ -82,4 +82,8 @@ public abstract class DefaultElementVisitor<V> implements ElementVisitor<V> {
   public V visit(TypeListenerBinding binding) {
     return visitOther(binding);
   }
+
+  public V visit(ProvisionListenerBinding binding) {
+    return visitOther(binding);
+  }
 }
@@ -0,0 +1,483 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject.spi;
+
+import com.google.inject.Binding;
+import com.google.inject.ConfigurationException;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.internal.util.ImmutableList;
+import com.google.inject.internal.util.ImmutableMap;
+import com.google.inject.internal.util.ImmutableSet;
+import com.google.inject.internal.util.Lists;
+import com.google.inject.internal.util.Maps;
+import static com.google.inject.internal.util.Preconditions.checkArgument;
+import com.google.inject.internal.util.Sets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable graph of the dependencies between bindings. Each key is a node, with an edge to
+ * each key it depends on. Nodes are numbered and the edges are stored in compact int arrays, so
+ * graphs of very large injectors are cheap to build and query.
+ *
+ * <p>Use {@link #of(Injector)} with an injector created in {@link com.google.inject.Stage#TOOL
+ * Stage.TOOL} to get the complete graph, including just-in-time bindings. A graph of {@link
+ * #of(Iterable) elements} only contains the dependencies that can be discovered from the modules:
+ * constructors of untargetted bindings are scanned, but types that would be bound just-in-time are
+ * leaves. The bindings inside private environments are not included in either graph.
+ *
+ * @since 3.0
+ */
+public final class DependencyGraph {
+  private final Key<?>[] keys;
+  private final Map<Key<?>, Integer> indices;
+
+  /** The dependencies of node {@code i} are {@code dependencies[dependencyOffsets[i]..[i+1])}. */
+  private final int[] dependencyOffsets;
+  private final int[] dependencies;
+  /** The dependents of node {@code i} are {@code dependents[dependentOffsets[i]..[i+1])}. */
+  private final int[] dependentOffsets;
+  private final int[] dependents;
+
+  /** Strongly connected components, numbered so that dependencies come first. */
+  private final int[] componentOf;
+  private final int componentCount;
+  /** All nodes, ordered by component. */
+  private final int[] topologicalOrder;
+  /** The members of component {@code c} are {@code topologicalOrder[componentStarts[c]..[c+1])}. */
+  private final int[] componentStarts;
+  private final boolean acyclic;
+  /** The number of components on the longest dependency chain starting at each component. */
+  private final int[] componentDepth;
+
+  private DependencyGraph(Key<?>[] keys, Map<Key<?>, Integer> indices, int[] edgeSources,
+      int[] edgeTargets, int edgeCount) {
+    this.keys = keys;
+    this.indices = indices;
+    int nodeCount = keys.length;
+
+    this.dependencyOffsets = new int[nodeCount + 1];
+    this.dependencies = new int[edgeCount];
+    fill(dependencyOffsets, dependencies, edgeSources, edgeTargets, edgeCount);
+    this.dependentOffsets = new int[nodeCount + 1];
+    this.dependents = new int[edgeCount];
+    fill(dependentOffsets, dependents, edgeTargets, edgeSources, edgeCount);
+
+    this.componentOf = new int[nodeCount];
+    this.topologicalOrder = new int[nodeCount];
+    this.componentCount = findComponents();
+    this.componentStarts = new int[componentCount + 1];
+    for (int i : topologicalOrder) {
+      componentStarts[componentOf[i] + 1]++;
+    }
+    for (int c = 1; c <= componentCount; c++) {
+      componentStarts[c] += componentStarts[c - 1];
+    }
+
+    boolean acyclic = componentCount == nodeCount;
+    this.componentDepth = new int[componentCount];
+    for (int i : topologicalOrder) {
+      int component = componentOf[i];
+      int depth = Math.max(componentDepth[component], 1);
+      for (int e = dependencyOffsets[i]; e < dependencyOffsets[i + 1]; e++) {
+        int dependencyComponent = componentOf[dependencies[e]];
+        if (dependencyComponent == component) {
+          acyclic = false;
+        } else {
+          depth = Math.max(depth, componentDepth[dependencyComponent] + 1);
+        }
+      }
+      componentDepth[component] = depth;
+    }
+    this.acyclic = acyclic;
+  }
+
+  /** Returns the graph of the bindings in {@code injector}, including just-in-time bindings. */
+  public static DependencyGraph of(Injector injector) {
+    Builder builder = new Builder();
+    for (Binding<?> binding : injector.getAllBindings().values()) {
+      builder.addBinding(binding);
+    }
+    return builder.build();
+  }
+
+  /** Returns the graph of the bindings in {@code elements}. */
+  public static DependencyGraph of(Iterable<? extends Element> elements) {
+    final Builder builder = new Builder();
+    for (Element element : elements) {
+      element.acceptVisitor(new DefaultElementVisitor<Void>() {
+        @Override public <T> Void visit(Binding<T> binding) {
+          builder.addBinding(binding);
+          return null;
+        }
+
+        @Override public Void visit(PrivateElements privateElements) {
+          for (Key<?> key : privateElements.getExposedKeys()) {
+            builder.indexOf(key);
+          }
+          return null;
+        }
+      });
+    }
+    return builder.build();
+  }
+
+  /** Returns the number of keys in this graph. */
+  public int size() {
+    return keys.length;
+  }
+
+  /** Returns all keys in this graph. */
+  public List<Key<?>> getKeys() {
+    return ImmutableList.of(keys);
+  }
+
+  /** Returns the keys that {@code key} depends on directly. */
+  public Set<Key<?>> getDependencies(Key<?> key) {
+    int i = indexOf(key);
+    return toKeys(dependencies, dependencyOffsets[i], dependencyOffsets[i + 1]);
+  }
+
+  /** Returns the keys that depend directly on {@code key}. */
+  public Set<Key<?>> getDependents(Key<?> key) {
+    int i = indexOf(key);
+    return toKeys(dependents, dependentOffsets[i], dependentOffsets[i + 1]);
+  }
+
+  /** Returns the number of keys that {@code key} depends on directly. */
+  public int getFanOut(Key<?> key) {
+    int i = indexOf(key);
+    return dependencyOffsets[i + 1] - dependencyOffsets[i];
+  }
+
+  /** Returns the number of keys that depend directly on {@code key}. */
+  public int getFanIn(Key<?> key) {
+    int i = indexOf(key);
+    return dependentOffsets[i + 1] - dependentOffsets[i];
+  }
+
+  /**
+   * Returns up to {@code limit} keys with the most direct dependents, most depended-on first.
+   * These are the bindings that the most other bindings wait for.
+   */
+  public List<Key<?>> getKeysByFanIn(int limit) {
+    checkArgument(limit >= 0, "limit must not be negative: %s", limit);
+    Integer[] order = new Integer[keys.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+      public int compare(Integer a, Integer b) {
+        int fanInA = dependentOffsets[a + 1] - dependentOffsets[a];
+        int fanInB = dependentOffsets[b + 1] - dependentOffsets[b];
+        return fanInA != fanInB ? fanInB - fanInA : a - b;
+      }
+    });
+    List<Key<?>> result = Lists.newArrayList();
+    for (int i = 0; i < Math.min(limit, order.length); i++) {
+      result.add(keys[order[i]]);
+    }
+    return ImmutableList.copyOf(result);
+  }
+
+  /** Returns true if no key depends on itself, directly or indirectly. */
+  public boolean isAcyclic() {
+    return acyclic;
+  }
+
+  /**
+   * Returns all keys, with each key after the keys it depends on. Keys in a cycle are adjacent,
+   * in no particular order.
+   */
+  public List<Key<?>> getTopologicalOrder() {
+    List<Key<?>> result = Lists.newArrayList();
+    for (int i : topologicalOrder) {
+      result.add(keys[i]);
+    }
+    return ImmutableList.copyOf(result);
+  }
+
+  /**
+   * Returns the strongly connected components of this graph: the sets of keys that depend on
+   * each other. Components are ordered so that each component comes after the components it
+   * depends on. Keys that aren't in a cycle are in a component of their own.
+   */
+  public List<Set<Key<?>>> getStronglyConnectedComponents() {
+    List<Set<Key<?>>> result = Lists.newArrayList();
+    for (int c = 0; c < componentCount; c++) {
+      result.add(toKeys(topologicalOrder, componentStarts[c], componentStarts[c + 1]));
+    }
+    return ImmutableList.copyOf(result);
+  }
+
+  /**
+   * Returns the keys grouped into levels. Keys in each level depend only on keys in earlier
+   * levels, or on keys in the same cycle, so the keys in a level can be initialized
+   * concurrently once the previous levels are done.
+   */
+  public List<Set<Key<?>>> getLevels() {
+    List<List<Key<?>>> levels = Lists.newArrayList();
+    for (int i : topologicalOrder) {
+      int level = componentDepth[componentOf[i]] - 1;
+      while (levels.size() <= level) {
+        levels.add(Lists.<Key<?>>newArrayList());
+      }
+      levels.get(level).add(keys[i]);
+    }
+    List<Set<Key<?>>> result = Lists.newArrayList();
+    for (List<Key<?>> level : levels) {
+      result.add(ImmutableSet.copyOf(level));
+    }
+    return ImmutableList.copyOf(result);
+  }
+
+  /**
+   * Returns the length of the longest chain of dependencies, counting each cycle as a single
+   * step. This is the minimum number of sequential steps needed to initialize every key.
+   */
+  public int getCriticalPathLength() {
+    int result = 0;
+    for (int depth : componentDepth) {
+      result = Math.max(result, depth);
+    }
+    return result;
+  }
+
+  /**
+   * Returns a longest chain of dependencies, starting with the key that has to wait longest and
+   * ending with a key without dependencies. Each cycle on the chain is represented by one key.
+   */
+  public List<Key<?>> getCriticalPath() {
+    List<Key<?>> result = Lists.newArrayList();
+    int current = -1;
+    for (int i : topologicalOrder) {
+      if (current == -1
+          || componentDepth[componentOf[i]] > componentDepth[componentOf[current]]) {
+        current = i;
+      }
+    }
+
+    while (current != -1) {
+      result.add(keys[current]);
+      int component = componentOf[current];
+      int next = -1;
+      // continue with a dependency of any member that's on a longest chain
+      for (int m = componentStarts[component]; m < componentStarts[component + 1]; m++) {
+        int i = topologicalOrder[m];
+        for (int e = dependencyOffsets[i]; e < dependencyOffsets[i + 1]; e++) {
+          int dependency = dependencies[e];
+          if (componentOf[dependency] != component
+              && componentDepth[componentOf[dependency]] == componentDepth[component] - 1) {
+            next = dependency;
+            break;
+          }
+        }
+        if (next != -1) {
+          break;
+        }
+      }
+      current = next;
+    }
+    return ImmutableList.copyOf(result);
+  }
+
+  @Override public String toString() {
+    return "DependencyGraph[keys=" + keys.length + ", edges=" + dependencies.length
+        + ", components=" + componentCount + "]";
+  }
+
+  private int indexOf(Key<?> key) {
+    Integer index = indices.get(key);
+    checkArgument(index != null, "%s is not in this graph", key);
+    return index;
+  }
+
+  private Set<Key<?>> toKeys(int[] nodes, int start, int end) {
+    Key<?>[] result = new Key<?>[end - start];
+    for (int i = start; i < end; i++) {
+      result[i - start] = keys[nodes[i]];
+    }
+    return ImmutableSet.of(result);
+  }
+
+  /** Builds compressed sparse rows of {@code targets}, grouped by {@code sources}. */
+  private static void fill(int[] offsets, int[] values, int[] sources, int[] targets, int count) {
+    for (int e = 0; e < count; e++) {
+      offsets[sources[e] + 1]++;
+    }
+    for (int i = 1; i < offsets.length; i++) {
+      offsets[i] += offsets[i - 1];
+    }
+    int[] next = offsets.clone();
+    for (int e = 0; e < count; e++) {
+      values[next[sources[e]]++] = targets[e];
+    }
+  }
+
+  /**
+   * Finds the strongly connected components with Tarjan's algorithm, using an explicit stack so
+   * deep graphs don't overflow the thread's stack. Components are completed dependencies first.
+   */
+  private int findComponents() {
+    int nodeCount = keys.length;
+    int[] index = new int[nodeCount];
+    int[] lowLink = new int[nodeCount];
+    boolean[] onStack = new boolean[nodeCount];
+    Arrays.fill(index, -1);
+
+    int[] stack = new int[nodeCount];
+    int stackSize = 0;
+    int[] callStack = new int[nodeCount];
+    int[] edgeCursor = new int[nodeCount];
+    int nextIndex = 0;
+    int components = 0;
+    int ordered = 0;
+
+    for (int root = 0; root < nodeCount; root++) {
+      if (index[root] != -1) {
+        continue;
+      }
+
+      int callDepth = 0;
+      callStack[callDepth++] = root;
+      index[root] = lowLink[root] = nextIndex++;
+      edgeCursor[root] = dependencyOffsets[root];
+      stack[stackSize++] = root;
+      onStack[root] = true;
+
+      while (callDepth > 0) {
+        int node = callStack[callDepth - 1];
+        if (edgeCursor[node] < dependencyOffsets[node + 1]) {
+          int dependency = dependencies[edgeCursor[node]++];
+          if (index[dependency] == -1) {
+            index[dependency] = lowLink[dependency] = nextIndex++;
+            edgeCursor[dependency] = dependencyOffsets[dependency];
+            stack[stackSize++] = dependency;
+            onStack[dependency] = true;
+            callStack[callDepth++] = dependency;
+          } else if (onStack[dependency]) {
+            lowLink[node] = Math.min(lowLink[node], index[dependency]);
+          }
+          continue;
+        }
+
+        callDepth--;
+        if (callDepth > 0) {
+          int caller = callStack[callDepth - 1];
+          lowLink[caller] = Math.min(lowLink[caller], lowLink[node]);
+        }
+
+        if (lowLink[node] == index[node]) {
+          int member;
+          do {
+            member = stack[--stackSize];
+            onStack[member] = false;
+            componentOf[member] = components;
+            topologicalOrder[ordered++] = member;
+          } while (member != node);
+          components++;
+        }
+      }
+    }
+    return components;
+  }
+
+  /** Numbers keys and collects the distinct edges between them. */
+  private static class Builder {
+    private final Map<Key<?>, Integer> indices = Maps.newLinkedHashMap();
+    private final Set<Long> edges = Sets.newHashSet();
+    private int[] edgeSources = new int[16];
+    private int[] edgeTargets = new int[16];
+    private int edgeCount;
+
+    int indexOf(Key<?> key) {
+      Integer index = indices.get(key);
+      if (index == null) {
+        index = indices.size();
+        indices.put(key, index);
+      }
+      return index;
+    }
+
+    void addBinding(Binding<?> binding) {
+      int source = indexOf(binding.getKey());
+      for (Key<?> dependency : getDependencies(binding)) {
+        int target = indexOf(dependency);
+        if (!edges.add(((long) source << 32) | target)) {
+          continue;
+        }
+        if (edgeCount == edgeSources.length) {
+          edgeSources = copyOf(edgeSources, edgeCount * 2);
+          edgeTargets = copyOf(edgeTargets, edgeCount * 2);
+        }
+        edgeSources[edgeCount] = source;
+        edgeTargets[edgeCount] = target;
+        edgeCount++;
+      }
+    }
+
+    DependencyGraph build() {
+      Key<?>[] keys = indices.keySet().toArray(new Key<?>[indices.size()]);
+      return new DependencyGraph(keys, ImmutableMap.copyOf(indices),
+          edgeSources, edgeTargets, edgeCount);
+    }
+
+    private static int[] copyOf(int[] array, int length) {
+      int[] result = new int[length];
+      System.arraycopy(array, 0, result, 0, Math.min(array.length, length));
+      return result;
+    }
+
+    /**
+     * Returns the keys {@code binding} depends on. Exposed bindings are skipped: their only
+     * declared dependency is the private injector.
+     */
+    private static Set<Key<?>> getDependencies(Binding<?> binding) {
+      Set<Key<?>> result = Sets.newLinkedHashSet();
+      if (binding instanceof ExposedBinding) {
+        return result;
+      } else if (binding instanceof HasDependencies) {
+        for (Dependency<?> dependency : ((HasDependencies) binding).getDependencies()) {
+          result.add(dependency.getKey());
+        }
+      } else if (binding instanceof UntargettedBinding) {
+        try {
+          addDependencies(InjectionPoint.forConstructorOf(binding.getKey().getTypeLiteral()),
+              result);
+          for (InjectionPoint injectionPoint : InjectionPoint.forInstanceMethodsAndFields(
+              binding.getKey().getTypeLiteral())) {
+            addDependencies(injectionPoint, result);
+          }
+        } catch (ConfigurationException ignored) {
+          // the injector will report this; the dependencies found so far are still useful
+        }
+      }
+      return result;
+    }
+
+    private static void addDependencies(InjectionPoint injectionPoint, Set<Key<?>> keys) {
+      for (Dependency<?> dependency : injectionPoint.getDependencies()) {
+        keys.add(dependency.getKey());
+      }
+    }
+  }
+}
@@ -86,4 +86,11 @@ public interface ElementVisitor<V> {
    * Visit an injectable type listener binding.
    */
   V visit(TypeListenerBinding binding);
+
+  /**
+   * Visit a provision listener binding.
+   *
+   * @since 3.0
+   */
+  V visit(ProvisionListenerBinding binding);
 }
@@ -32,6 +32,7 @@ import com.google.inject.binder.AnnotatedBindingBuilder;
 import com.google.inject.binder.AnnotatedConstantBindingBuilder;
 import com.google.inject.binder.AnnotatedElementBuilder;
 import com.google.inject.internal.AbstractBindingBuilder;
+import com.google.inject.internal.BeanBinder;
 import com.google.inject.internal.BindingBuilder;
 import com.google.inject.internal.ConstantBindingBuilderImpl;
 import com.google.inject.internal.Errors;
@@ -41,9 +42,11 @@ import com.google.inject.internal.ProviderMethodsModule;
 import com.google.inject.internal.util.ImmutableList;
 import com.google.inject.internal.util.Lists;
 import static com.google.inject.internal.util.Preconditions.checkArgument;
+import static com.google.inject.internal.util.Preconditions.checkNotNull;
 import com.google.inject.internal.util.Sets;
 import com.google.inject.internal.util.SourceProvider;
 import com.google.inject.matcher.Matcher;
+import com.google.inject.util.Modules;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -51,6 +54,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Exposes elements of a module so they can be inspected, validated or {@link
@@ -103,6 +112,85 @@ public final class Elements {
     return Collections.unmodifiableList(binder.elements);
   }
 
+  /**
+   * Records the elements executed by {@code modules}, configuring each top-level module on
+   * {@code executor}. The returned elements are in the same order as {@link #getElements(Stage,
+   * Iterable)} would return them, so errors are reported deterministically.
+   *
+   * <p>The modules must be safe to configure concurrently. A module installed by several
+   * top-level modules is only recorded by the first of them, as it is serially. If a later
+   * top-level module happens to install it first, the modules are recorded again on the calling
+   * thread, and so are configured twice.
+   *
+   * @since 3.0
+   */
+  public static List<Element> getElements(Stage stage, Iterable<? extends Module> modules,
+      ExecutorService executor) {
+    final List<Module> moduleList = ImmutableList.copyOf(modules);
+    if (moduleList.size() < 2) {
+      return getElements(stage, moduleList);
+    }
+
+    ConcurrentMap<Module, Integer> owners = new ConcurrentHashMap<Module, Integer>();
+    List<Callable<RecordingBinder>> tasks = Lists.newArrayList();
+    for (int i = 0; i < moduleList.size(); i++) {
+      final Module module = moduleList.get(i);
+      final RecordingBinder binder = new RecordingBinder(stage, owners, i);
+      tasks.add(new Callable<RecordingBinder>() {
+        public RecordingBinder call() {
+          binder.install(module);
+          return binder;
+        }
+      });
+    }
+
+    List<Future<RecordingBinder>> futures;
+    try {
+      futures = executor.invokeAll(tasks);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return getElements(stage, moduleList);
+    }
+
+    List<Element> result = Lists.newArrayList();
+    for (Future<RecordingBinder> future : futures) {
+      RecordingBinder binder = getUninterruptibly(future);
+      for (Module module : binder.modules) {
+        if (!binder.index.equals(owners.get(module))) {
+          // an earlier module took over this one after it was recorded here
+          return getElements(stage, moduleList);
+        }
+      }
+      result.addAll(binder.elements);
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private static <T> T getUninterruptibly(Future<T> future) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return future.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          } else if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          throw new RuntimeException(cause);
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
   /**
    * Returns the module composed of {@code elements}.
    */
@@ -124,6 +212,13 @@ public final class Elements {
   private static class RecordingBinder implements Binder, PrivateBinder {
     private final Stage stage;
     private final Set<Module> modules;
+    /**
+     * Which top-level module's binder records each module, when top-level modules are recorded
+     * concurrently. Null otherwise, and for private binders.
+     */
+    private final ConcurrentMap<Module, Integer> owners;
+    /** The position of this binder's top-level module, if {@code owners} is non-null. */
+    private final Integer index;
     private final List<Element> elements;
     private final Object source;
     private final SourceProvider sourceProvider;
@@ -133,8 +228,14 @@ public final class Elements {
     private final PrivateElementsImpl privateElements;
 
     private RecordingBinder(Stage stage) {
+      this(stage, null, null);
+    }
+
+    private RecordingBinder(Stage stage, ConcurrentMap<Module, Integer> owners, Integer index) {
       this.stage = stage;
       this.modules = Sets.newHashSet();
+      this.owners = owners;
+      this.index = index;
       this.elements = Lists.newArrayList();
       this.source = null;
       this.sourceProvider = SourceProvider.DEFAULT_INSTANCE.plusSkippedClasses(
@@ -151,6 +252,8 @@ public final class Elements {
 
       this.stage = prototype.stage;
       this.modules = prototype.modules;
+      this.owners = prototype.owners;
+      this.index = prototype.index;
       this.elements = prototype.elements;
       this.source = source;
       this.sourceProvider = sourceProvider;
@@ -162,6 +265,8 @@ public final class Elements {
     private RecordingBinder(RecordingBinder parent, PrivateElementsImpl privateElements) {
       this.stage = parent.stage;
       this.modules = Sets.newHashSet();
+      this.owners = null;
+      this.index = null;
       this.elements = privateElements.getElementsMutable();
       this.source = parent.source;
       this.sourceProvider = parent.sourceProvider;
@@ -206,6 +311,15 @@ public final class Elements {
       elements.add(new TypeListenerBinding(getSource(), listener, typeMatcher));
     }
 
+    public void bindListener(Matcher<? super Binding<?>> bindingMatcher,
+        ProvisionListener... listeners) {
+      elements.add(new ProvisionListenerBinding(getSource(), bindingMatcher, listeners));
+    }
+
+    public void bindBeans(Object source, Iterable<BeanDescriptor> beans) {
+      new BeanBinder(withSource(checkNotNull(source, "source"))).bindAll(beans);
+    }
+
     public void requestStaticInjection(Class<?>... types) {
       for (Class<?> type : types) {
         elements.add(new StaticInjectionRequest(getSource(), type));
@@ -213,7 +327,13 @@ public final class Elements {
     }
 
     public void install(Module module) {
-      if (modules.add(module)) {
+      if (module == Modules.EMPTY_MODULE) {
+        // installed by every provider methods module, and records nothing. Tracking it would make
+        // the binders of concurrently recorded modules compete for it
+        return;
+      }
+      if (!modules.contains(module) && claim(module)) {
+        modules.add(module);
         Binder binder = this;
         if (module instanceof PrivateModule) {
           binder = binder.newPrivateBinder();
@@ -233,6 +353,26 @@ public final class Elements {
       }
     }
 
+    /**
+     * Returns true if this binder should record {@code module}: the module isn't already recorded
+     * by the binder of an earlier top-level module.
+     */
+    private boolean claim(Module module) {
+      if (owners == null) {
+        return true;
+      }
+      while (true) {
+        Integer owner = owners.putIfAbsent(module, index);
+        if (owner == null) {
+          return true;
+        } else if (owner < index) {
+          return false;
+        } else if (owners.replace(module, owner, index)) {
+          return true;
+        }
+      }
+    }
+
     public Stage currentStage() {
       return stage;
     }
@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.spi;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import java.util.List;
+
+/**
+ * Listens for provisioning of objects. Useful for gathering timing information about provisioning,
+ * post-provision initialization, and more. Listeners are registered with {@link
+ * com.google.inject.Binder#bindListener(com.google.inject.matcher.Matcher, ProvisionListener[])
+ * bindListener}, and are only notified for constructor, provider instance, provider key and
+ * {@code @ProvidedBy} bindings. Linked bindings notify the listeners of their target binding.
+ *
+ * <p>Scoped bindings are only provisioned when their scope doesn't already hold an instance, so
+ * a listener on a singleton is notified exactly once. Injectors with no provision listeners pay
+ * nothing for this hook.
+ *
+ * @since 3.0
+ */
+public interface ProvisionListener {
+
+  /**
+   * Invoked by Guice when an object requires provisioning. Provisioning occurs when Guice locates
+   * and injects the dependencies for a binding. For constructor bindings, provisioning
+   * encapsulates the construction of the object and the injection of its members. For provider
+   * instance, provider key and {@literal @}{@link com.google.inject.ProvidedBy ProvidedBy}
+   * bindings, provisioning encapsulates the {@link javax.inject.Provider#get} method. Instance
+   * and constant bindings are never provisioned, so listeners aren't notified for them. If a type
+   * is bound within a {@link com.google.inject.Scope}, provisioning depends on the scope. Types
+   * bound in Singleton scope will only be provisioned once. Types bound in no scope will be
+   * provisioned every time they are injected. Other scopes define their own behavior for
+   * provisioning.
+   *
+   * <p>To perform the provision, call {@link ProvisionInvocation#provision()}. If you do not
+   * explicitly call provision, it will be automatically done after this method returns. It is an
+   * error to call provision more than once.
+   */
+  <T> void onProvision(ProvisionInvocation<T> provision);
+
+  /**
+   * Encapsulates a single act of provisioning.
+   *
+   * @since 3.0
+   */
+  public abstract static class ProvisionInvocation<T> {
+
+    /** Returns the Binding this is provisioning. */
+    public abstract Binding<T> getBinding();
+
+    /** Performs the provision, returning the object provisioned. */
+    public abstract T provision();
+
+    /**
+     * Returns the keys of the bindings whose provisioning is in progress on this thread, outermost
+     * first and ending with this binding's key. Only bindings that have provision listeners are
+     * tracked, so a listener bound to all bindings sees the complete chain.
+     */
+    public abstract List<Key<?>> getDependencyChain();
+
+    /**
+     * Returns the length of the {@link #getDependencyChain dependency chain}, without copying it.
+     */
+    public int getDependencyDepth() {
+      return getDependencyChain().size();
+    }
+  }
+}
@@ -33,7 +33,9 @@ import com.google.inject.spi.DefaultBindingScopingVisitor;
 import com.google.inject.spi.DefaultElementVisitor;
 import com.google.inject.spi.Element;
 import com.google.inject.spi.Elements;
+import com.google.inject.spi.MembersInjectorLookup;
 import com.google.inject.spi.PrivateElements;
+import com.google.inject.spi.ProviderLookup;
 import com.google.inject.spi.ScopeBinding;
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
@@ -95,6 +97,40 @@ public final class Modules {
     return new RealOverriddenModuleBuilder(modules);
   }
 
+  /**
+   * Returns a module that configures {@code modules} the first time it is needed, and then
+   * replays the recorded elements each time it is installed. Overriding a recorded module with
+   * {@link #override(Module[]) override()} also reuses the recorded elements, rather than
+   * recording the modules again. This can save a lot of time when a large module is installed
+   * or overridden many times, such as once for each test:
+   * <pre>
+   * static final Module PRODUCTION = Modules.record(new ProductionModule());
+   * ...
+   * Module functionalTestModule = Modules.override(PRODUCTION).with(new TestModule());
+   * </pre>
+   *
+   * <p>Because the modules are only configured once, every injector that installs the recorded
+   * module shares the instances bound with {@code toInstance()} and {@code toProvider()}.
+   * Likewise, providers and members injectors that the modules get from their binder are backed
+   * by the first injector created. {@literal @}{@link com.google.inject.Provides Provides} methods
+   * are not affected, their parameters are always injected by the current injector.
+   *
+   * @since 3.0
+   */
+  public static Module record(Module... modules) {
+    return record(Arrays.asList(modules));
+  }
+
+  /**
+   * Returns a module that configures {@code modules} once, and then replays the recorded
+   * elements each time it is installed. See {@link #record(Module[]) record()}.
+   *
+   * @since 3.0
+   */
+  public static Module record(Iterable<? extends Module> modules) {
+    return new RecordedModule(ImmutableSet.copyOf(modules));
+  }
+
   /**
    * Returns a new module that installs all of {@code modules}.
    */
@@ -149,7 +185,7 @@ public final class Modules {
         @Override
         public void configure() {
           Binder baseBinder = binder();
-          List<Element> baseElements = Elements.getElements(baseModules);
+          List<Element> baseElements = getElements(baseModules);
 
           // If the sole element was a PrivateElements, we want to override
           // the private elements within that -- so refocus our elements
@@ -169,7 +205,7 @@ public final class Modules {
           
           final Binder binder = baseBinder;
           final LinkedHashSet<Element> elements = new LinkedHashSet<Element>(baseElements);
-          final List<Element> overrideElements = Elements.getElements(overrides);
+          final List<Element> overrideElements = getElements(overrides);
 
           final Set<Key<?>> overriddenKeys = Sets.newHashSet();
           final Set<Class<? extends Annotation>> overridesScopeAnnotations = Sets.newHashSet();
@@ -203,7 +239,7 @@ public final class Modules {
                 super.visit(binding);
 
                 // Record when a scope instance is used in a binding
-                Scope scope = getScopeInstanceOrNull(binding);
+                Scope scope = binding.acceptScopingVisitor(SCOPE_INSTANCE_VISITOR);
                 if (scope != null) {
                   scopeInstancesInUse.put(scope, binding.getSource());
                 }
@@ -216,6 +252,7 @@ public final class Modules {
               PrivateBinder privateBinder = binder.withSource(privateElements.getSource())
                   .newPrivateBinder();
 
+              ModuleWriter privateWriter = new ModuleWriter(privateBinder);
               Set<Key<?>> skippedExposes = Sets.newHashSet();
 
               for (Key<?> key : privateElements.getExposedKeys()) {
@@ -235,7 +272,7 @@ public final class Modules {
                   rewrite(privateBinder, (PrivateElements) element, skippedExposes);
                   continue;
                 }
-                element.applyTo(privateBinder);
+                element.acceptVisitor(privateWriter);
               }
             }
 
@@ -270,15 +307,56 @@ public final class Modules {
 
           // TODO: bind the overridden keys using multibinder
         }
+      };
+    }
+  }
 
-        private Scope getScopeInstanceOrNull(Binding<?> binding) {
-          return binding.acceptScopingVisitor(new DefaultBindingScopingVisitor<Scope>() {
-            public Scope visitScope(Scope scope) {
-              return scope;
-            }
-          });
+  /** Returns the scope instance of a binding, or null if it's not scoped by instance. */
+  private static final DefaultBindingScopingVisitor<Scope> SCOPE_INSTANCE_VISITOR
+      = new DefaultBindingScopingVisitor<Scope>() {
+        @Override public Scope visitScope(Scope scope) {
+          return scope;
         }
       };
+
+  /**
+   * Returns the elements of {@code modules}, reusing the recorded elements if the modules are all
+   * {@link #record(Module[]) recorded}.
+   */
+  private static List<Element> getElements(Iterable<? extends Module> modules) {
+    List<Element> result = Lists.newArrayList();
+    for (Module module : ImmutableSet.copyOf(modules)) {
+      if (!(module instanceof RecordedModule)) {
+        return Elements.getElements(modules);
+      }
+      result.addAll(((RecordedModule) module).getElements());
+    }
+    return result;
+  }
+
+  private static final class RecordedModule implements Module {
+    private final ImmutableSet<Module> modules;
+    private volatile List<Element> elements;
+
+    RecordedModule(ImmutableSet<Module> modules) {
+      this.modules = modules;
+    }
+
+    List<Element> getElements() {
+      List<Element> result = elements;
+      if (result == null) {
+        synchronized (this) {
+          result = elements;
+          if (result == null) {
+            result = elements = Elements.getElements(modules);
+          }
+        }
+      }
+      return result;
+    }
+
+    public void configure(Binder binder) {
+      new ModuleWriter(binder).writeAll(getElements());
     }
   }
 
@@ -294,6 +372,44 @@ public final class Modules {
       return null;
     }
 
+    /*
+     * Recorded elements are written once for each injector, but a lookup's delegate can only be
+     * initialized once. The first write initializes it, so that providers the module kept work as
+     * usual; later writes look the key up again for the new injector.
+     */
+
+    @Override public <T> Void visit(ProviderLookup<T> lookup) {
+      synchronized (lookup) {
+        if (lookup.getDelegate() == null) {
+          lookup.applyTo(binder);
+          return null;
+        }
+      }
+      binder.withSource(lookup.getSource()).getProvider(lookup.getKey());
+      return null;
+    }
+
+    @Override public <T> Void visit(MembersInjectorLookup<T> lookup) {
+      synchronized (lookup) {
+        if (lookup.getDelegate() == null) {
+          lookup.applyTo(binder);
+          return null;
+        }
+      }
+      binder.withSource(lookup.getSource()).getMembersInjector(lookup.getType());
+      return null;
+    }
+
+    @Override public Void visit(PrivateElements privateElements) {
+      PrivateBinder privateBinder = binder.withSource(privateElements.getSource())
+          .newPrivateBinder();
+      new ModuleWriter(privateBinder).writeAll(privateElements.getElements());
+      for (Key<?> key : privateElements.getExposedKeys()) {
+        privateBinder.withSource(privateElements.getExposedSource(key)).expose(key);
+      }
+      return null;
+    }
+
     void writeAll(Iterable<? extends Element> elements) {
       for (Element element : elements) {
         element.acceptVisitor(this);
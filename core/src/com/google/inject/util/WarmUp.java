@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject.util;
+
+import com.google.inject.ConfigurationException;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.internal.util.ImmutableList;
+import static com.google.inject.internal.util.Preconditions.checkNotNull;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Static methods that prepare an injector's bindings before they're first used. The first request
+ * for a type creates its just-in-time binding, scans its injection points and generates its
+ * construction and interception classes. Warming up does that work ahead of time, so the first
+ * real request doesn't pay for it. Warming up doesn't create any instances, so {@link
+ * com.google.inject.Scopes#LAZY_SINGLETON lazy singletons} are still created on first use.
+ *
+ * <p>Use a {@link WarmUpProfile} to record the keys that are used in one run, and warm them up in
+ * the next:
+ * <pre>
+ * Injector injector = Guice.createInjector(new ServerModule());
+ * WarmUp.inBackground(injector, WarmUpProfile.read(profileReader, classLoader));</pre>
+ *
+ * @since 3.0
+ */
+public final class WarmUp {
+
+  private static final Logger logger = Logger.getLogger(WarmUp.class.getName());
+
+  private WarmUp() {}
+
+  /**
+   * Prepares the bindings for {@code keys} on the calling thread. Keys that can't be bound are
+   * skipped; the injector will report them again when they're requested.
+   *
+   * @return the number of keys whose bindings were prepared
+   */
+  public static int now(Injector injector, Iterable<? extends Key<?>> keys) {
+    checkNotNull(injector, "injector");
+    int count = 0;
+    for (Key<?> key : keys) {
+      if (Thread.currentThread().isInterrupted()) {
+        break;
+      }
+      try {
+        injector.getBinding(key);
+        count++;
+      } catch (ConfigurationException e) {
+        logger.log(Level.FINE, "Skipped warming up " + key, e);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Prepares the bindings for {@code keys} on a new low priority daemon thread. Cancelling the
+   * returned future interrupts the warm-up between keys.
+   *
+   * @return a future for the number of keys whose bindings were prepared
+   */
+  public static Future<Integer> inBackground(final Injector injector,
+      Iterable<? extends Key<?>> keys) {
+    checkNotNull(injector, "injector");
+    final List<Key<?>> keysCopy = ImmutableList.<Key<?>>copyOf(keys);
+    FutureTask<Integer> task = new FutureTask<Integer>(new Callable<Integer>() {
+      public Integer call() {
+        return now(injector, keysCopy);
+      }
+    });
+
+    Thread thread = new Thread(task, "Guice warm-up");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    thread.start();
+    return task;
+  }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject.util;
+
+import com.google.inject.Binder;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.internal.util.ImmutableList;
+import com.google.inject.internal.util.Lists;
+import com.google.inject.internal.util.Sets;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import com.google.inject.spi.ProvisionListener;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records the keys of the bindings that are provisioned, in the order that they're first
+ * provisioned. Install the profile as a module, then {@link #writeTo write} it out once the
+ * application has warmed up. The next run can {@link WarmUp#inBackground warm up} the keys.
+ *
+ * <p>The profile is a text file with one key per line. Only keys of non-generic types can be
+ * written, and only if they're unannotated, annotated with a marker annotation, or {@link Named
+ * named}. Other keys are skipped.
+ *
+ * @since 3.0
+ */
+public final class WarmUpProfile implements Module {
+
+  private static final String NAMED_PREFIX = "@" + Named.class.getName() + "(";
+
+  private final Set<Key<?>> keys = Sets.newLinkedHashSet();
+
+  public void configure(Binder binder) {
+    binder.bindListener(Matchers.any(), new ProvisionListener() {
+      public <T> void onProvision(ProvisionInvocation<T> provision) {
+        Key<T> key = provision.getBinding().getKey();
+        synchronized (keys) {
+          keys.add(key);
+        }
+      }
+    });
+  }
+
+  /** Returns the keys recorded so far. */
+  public List<Key<?>> getKeys() {
+    synchronized (keys) {
+      return ImmutableList.copyOf(keys);
+    }
+  }
+
+  /** Writes the recorded keys to {@code writer}, skipping keys that can't be written. */
+  public void writeTo(Writer writer) throws IOException {
+    for (Key<?> key : getKeys()) {
+      String line = toLine(key);
+      if (line != null) {
+        writer.write(line);
+        writer.write('\n');
+      }
+    }
+    writer.flush();
+  }
+
+  /**
+   * Reads the keys written by {@link #writeTo}, loading their classes with {@code classLoader}.
+   * Keys whose classes can't be loaded are skipped, since they may have been removed since the
+   * profile was written.
+   */
+  public static List<Key<?>> read(Reader reader, ClassLoader classLoader) throws IOException {
+    List<Key<?>> result = Lists.newArrayList();
+    BufferedReader lines = new BufferedReader(reader);
+    for (String line; (line = lines.readLine()) != null; ) {
+      line = line.trim();
+      if (line.length() == 0) {
+        continue;
+      }
+      try {
+        result.add(fromLine(line, classLoader));
+      } catch (ClassNotFoundException e) {
+        // the class was removed or renamed; there's nothing to warm up
+      } catch (RuntimeException e) {
+        // the annotation changed and isn't a binding annotation anymore
+      }
+    }
+    return result;
+  }
+
+  private static String toLine(Key<?> key) {
+    if (!(key.getTypeLiteral().getType() instanceof Class)) {
+      return null;
+    }
+
+    String typeName = key.getTypeLiteral().getRawType().getName();
+    Annotation annotation = key.getAnnotation();
+    Class<? extends Annotation> annotationType = key.getAnnotationType();
+    if (annotationType == null) {
+      return typeName;
+    } else if (annotation instanceof Named) {
+      String name = ((Named) annotation).value();
+      return name.indexOf('\n') == -1 ? typeName + " " + NAMED_PREFIX + name + ")" : null;
+    } else if (annotation == null || annotationType.getDeclaredMethods().length == 0) {
+      return typeName + " @" + annotationType.getName();
+    } else {
+      return null;
+    }
+  }
+
+  private static Key<?> fromLine(String line, ClassLoader classLoader)
+      throws ClassNotFoundException {
+    int space = line.indexOf(' ');
+    if (space == -1) {
+      return Key.get(Class.forName(line, false, classLoader));
+    }
+
+    Class<?> type = Class.forName(line.substring(0, space), false, classLoader);
+    String annotation = line.substring(space + 1);
+    if (annotation.startsWith(NAMED_PREFIX) && annotation.endsWith(")")) {
+      String name = annotation.substring(NAMED_PREFIX.length(), annotation.length() - 1);
+      return Key.get(type, Names.named(name));
+    }
+    Class<? extends Annotation> annotationType = Class.forName(annotation.substring(1), false,
+        classLoader).asSubclass(Annotation.class);
+    return Key.get(type, annotationType);
+  }
+}
@@ -27,6 +27,7 @@ import com.google.inject.matcher.MatcherTest;
 import com.google.inject.name.NamedEquivalanceTest;
 import com.google.inject.name.NamesTest;
 import com.google.inject.spi.BindingTargetVisitorTest;
+import com.google.inject.spi.DependencyGraphTest;
 import com.google.inject.spi.ElementApplyToTest;
 import com.google.inject.spi.ElementsTest;
 import com.google.inject.spi.HasDependenciesTest;
@@ -39,6 +40,7 @@ import com.google.inject.spi.ToolStageInjectorTest;
 import com.google.inject.util.NoopOverrideTest;
 import com.google.inject.util.ProvidersTest;
 import com.google.inject.util.TypesTest;
+import com.google.inject.util.WarmUpTest;
 import com.googlecode.guice.Jsr330Test;
 import com.googlecode.guice.GuiceTck;
 import java.util.Enumeration;
@@ -52,7 +54,6 @@ import junit.framework.TestSuite;
 public class AllTests {
 
   private static final Set<String> SUPPRESSED_TEST_NAMES = ImmutableSet.of(
-      "testUnscopedProviderWorksOutsideOfRequestedScope(" + ScopesTest.class.getName() + ")",
       "testCannotConvertUnannotatedBindings(" + TypeConversionTest.class.getName() + ")"
   );
 
@@ -60,6 +61,7 @@ public class AllTests {
     TestSuite suite = new TestSuite();
 
     suite.addTest(GuiceTck.suite());
+    suite.addTestSuite(BeanBindingTest.class);
     suite.addTestSuite(BinderTest.class);
     suite.addTest(BinderTestSuite.suite());
     suite.addTestSuite(BindingAnnotationTest.class);
@@ -86,10 +88,12 @@ public class AllTests {
     suite.addTestSuite(NullableInjectionPointTest.class);
     suite.addTestSuite(OptionalBindingTest.class);
     suite.addTestSuite(OverrideModuleTest.class);
+    suite.addTestSuite(ParallelCreationTest.class);
     suite.addTestSuite(ParentInjectorTest.class);
     suite.addTestSuite(PrivateModuleTest.class);
     suite.addTestSuite(ProviderInjectionTest.class);
     suite.addTestSuite(ProvisionExceptionTest.class);
+    suite.addTestSuite(ProvisionListenerTest.class);
     // ProxyFactoryTest is AOP-only
     suite.addTestSuite(ReflectionTest.class);
     suite.addTestSuite(RequestInjectionTest.class);
@@ -118,6 +122,7 @@ public class AllTests {
 
     // spi
     suite.addTestSuite(BindingTargetVisitorTest.class);
+    suite.addTestSuite(DependencyGraphTest.class);
     suite.addTestSuite(ElementsTest.class);
     suite.addTestSuite(ElementApplyToTest.class);
     suite.addTestSuite(HasDependenciesTest.class);
@@ -135,6 +140,7 @@ public class AllTests {
     suite.addTestSuite(NoopOverrideTest.class);
     suite.addTestSuite(ProvidersTest.class);
     suite.addTestSuite(TypesTest.class);
+    suite.addTestSuite(WarmUpTest.class);
 
     /*if[AOP]*/
     suite.addTestSuite(com.google.inject.internal.ProxyFactoryTest.class);
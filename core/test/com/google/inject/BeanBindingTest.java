@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject;
+
+import static com.google.inject.Asserts.assertContains;
+import com.google.inject.internal.util.ImmutableList;
+import com.google.inject.spi.BeanDescriptor;
+import junit.framework.TestCase;
+
+public class BeanBindingTest extends TestCase {
+
+  public void testBindBeans() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        bind(Contacts.class).to(SimCard.class);
+        bindBeans("phone.xml", ImmutableList.of(
+            BeanDescriptor.forTypeName(Phone.class.getName(), "contacts", "model"),
+            BeanDescriptor.forType(Model.class)));
+      }
+    });
+
+    Phone phone = injector.getInstance(Phone.class);
+    assertTrue(phone.contacts instanceof SimCard);
+    assertNotNull(phone.model);
+    assertNotSame(phone, injector.getInstance(Phone.class));
+    assertEquals("phone.xml", injector.getBinding(Phone.class).getSource());
+    assertEquals("phone.xml", injector.getBinding(Model.class).getSource());
+  }
+
+  public void testBadBeans() {
+    try {
+      Guice.createInjector(new AbstractModule() {
+        protected void configure() {
+          bindBeans("phone.xml", ImmutableList.of(
+              BeanDescriptor.forTypeName("com.example.Missing"),
+              BeanDescriptor.forTypeName("com.example.Missing", "contacts"),
+              BeanDescriptor.forType(Phone.class, "number"),
+              BeanDescriptor.forType(Contacts.class)));
+        }
+      });
+      fail();
+    } catch (CreationException expected) {
+      assertEquals(3, expected.getErrorMessages().size());
+      assertContains(expected.getMessage(),
+          "1) Bean type com.example.Missing could not be loaded.",
+          "at phone.xml",
+          "2) " + Phone.class.getName() + ".setNumber() not found, or doesn't take one argument.",
+          "at phone.xml",
+          "3) " + Contacts.class.getName() + " is abstract and cannot be bound as a bean.",
+          "at phone.xml");
+    }
+  }
+
+  public void testExceptionInSetter() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        bindBeans("phone.xml", ImmutableList.of(BeanDescriptor.forType(Phone.class, "contacts")));
+      }
+
+      @Provides Contacts provideContacts() {
+        return null;
+      }
+    });
+
+    try {
+      injector.getInstance(Phone.class);
+      fail();
+    } catch (ProvisionException expected) {
+      assertContains(expected.getMessage(), "null contacts");
+    }
+  }
+
+  public static class Phone {
+    Contacts contacts;
+    Model model;
+
+    public void setContacts(Contacts contacts) {
+      if (contacts == null) {
+        throw new IllegalArgumentException("null contacts");
+      }
+      this.contacts = contacts;
+    }
+
+    public void setModel(Model model) {
+      this.model = model;
+    }
+  }
+
+  public interface Contacts {}
+
+  public static class SimCard implements Contacts {}
+
+  public static class Model {}
+}
@@ -72,6 +72,35 @@ public class CircularDependencyTest extends TestCase {
     }
   }
 
+  public void testCallersShareOneProxy() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        bind(A.class).to(AImpl.class);
+        bind(B.class).to(TwoAs.class);
+      }
+    });
+
+    A a = injector.getInstance(A.class);
+    TwoAs twoAs = (TwoAs) a.getB();
+    assertSame(twoAs.a, twoAs.otherA);
+    assertNotSame(a, twoAs.a);
+    assertSame(twoAs, twoAs.a.getB());
+    assertEquals(a.hashCode(), twoAs.a.hashCode());
+    assertEquals(a.toString(), twoAs.a.toString());
+  }
+
+  static class TwoAs implements B {
+    final A a;
+    final A otherA;
+    @Inject public TwoAs(A a, A otherA) {
+      this.a = a;
+      this.otherA = otherA;
+    }
+    public A getA() {
+      return a;
+    }
+  }
+
   public void testUnresolvableCircularDependency() {
     try {
       Guice.createInjector().getInstance(C.class);
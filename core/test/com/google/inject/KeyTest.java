@@ -58,6 +58,13 @@ public class KeyTest extends TestCase {
     assertEqualsBothWays(a, b);
   }
 
+  public void testClassKeysAreCached() {
+    assertSame(Key.get(String.class), Key.get(String.class));
+    assertEquals(Key.get(Integer.class), Key.get(int.class));
+    assertEquals(Key.get(String.class), Key.get(TypeLiteral.get(String.class)));
+    assertNotSame(Key.get(String.class), Key.get(String.class, Foo.class));
+  }
+
   public void testProviderKey() throws NoSuchMethodException {
     Key<?> actual = Key.get(getClass().getMethod("foo", List.class, List.class)
         .getGenericParameterTypes()[0]).providerKey();
@@ -145,6 +145,32 @@ public class MembersInjectorTest extends TestCase {
     }
   }
 
+  public void testFieldAndParameterFailuresHaveTheirSources() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        bind(C.class).toProvider(new Provider<C>() {
+          public C get() {
+            throw new UnsupportedOperationException("no C");
+          }
+        });
+      }
+    });
+
+    try {
+      injector.injectMembers(new InjectsBrokenC());
+      fail();
+    } catch (ProvisionException expected) {
+      assertEquals(2, expected.getErrorMessages().size());
+      assertContains(expected.getMessage(),
+          "1) Error in custom provider, java.lang.UnsupportedOperationException: no C",
+          "while locating " + C.class.getName(),
+          "for field at " + InjectsBrokenC.class.getName() + ".c(MembersInjectorTest.java:",
+          "2) Error in custom provider, java.lang.UnsupportedOperationException: no C",
+          "while locating " + C.class.getName(),
+          "for parameter 0 at " + InjectsBrokenC.class.getName() + ".setC(MembersInjectorTest.java:");
+    }
+  }
+
   public void testInjectionAppliesToSpecifiedType() {
     Injector injector = Guice.createInjector();
 
@@ -271,6 +297,11 @@ public class MembersInjectorTest extends TestCase {
     }
   }
 
+  static class InjectsBrokenC {
+    @Inject C c;
+    @Inject void setC(C c) {}
+  }
+
   static class InjectsMembersInjector {
     @Inject MembersInjector<A<C>> aMembersInjector;
     @Inject A<B> ab;
@@ -28,6 +28,7 @@ import java.lang.annotation.Retention;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import java.lang.annotation.Target;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import junit.framework.TestCase;
 
@@ -571,6 +572,104 @@ public class OverrideModuleTest extends TestCase {
     }).with());
   }
   
+  public void testRecordedModuleIsConfiguredOnce() {
+    final AtomicInteger configureCount = new AtomicInteger();
+    Module recorded = Modules.record(new AbstractModule() {
+      @Override protected void configure() {
+        configureCount.incrementAndGet();
+        bind(String.class).toInstance("A");
+      }
+    });
+
+    assertEquals("A", createInjector(recorded).getInstance(String.class));
+    assertEquals("B", createInjector(Modules.override(recorded).with(newModule("B")))
+        .getInstance(String.class));
+    assertEquals("C", createInjector(Modules.override(recorded).with(newModule("C")))
+        .getInstance(String.class));
+    assertEquals(1, configureCount.get());
+  }
+
+  public void testOverrideRecordedModules() {
+    Module recorded = Modules.record(newModule("A"), newModule(1));
+    Injector injector = createInjector(
+        Modules.override(recorded, Modules.record(newModule(0.5f))).with(newModule("B")));
+    assertEquals("B", injector.getInstance(String.class));
+    assertEquals(1, injector.getInstance(Integer.class).intValue());
+    assertEquals(0.5f, injector.getInstance(Float.class));
+  }
+
+  public void testOverrideRecordedPrivateModule() {
+    Module recorded = Modules.record(new PrivateModule() {
+      @Override protected void configure() {
+        bind(String.class).toInstance("A");
+        bind(Integer.class).toInstance(1);
+        expose(Integer.class);
+      }
+    });
+    Injector injector = createInjector(Modules.override(recorded).with(newModule("B")));
+    assertEquals(1, injector.getInstance(Integer.class).intValue());
+  }
+
+  public void testInstallRecordedModuleWithLookupsTwice() {
+    Module recorded = Modules.record(newProvidesModule());
+
+    assertEquals("A1", createInjector(recorded).getInstance(String.class));
+    assertEquals("A1", createInjector(recorded).getInstance(String.class));
+  }
+
+  public void testOverrideRecordedModuleWithLookupsTwice() {
+    Module recorded = Modules.record(newProvidesModule());
+
+    assertEquals("A2", createInjector(Modules.override(recorded).with(newModule(2)))
+        .getInstance(String.class));
+    assertEquals("A3", createInjector(Modules.override(recorded).with(newModule(3)))
+        .getInstance(String.class));
+  }
+
+  public void testOverrideRecordedModuleThatGetsProvidersTwice() {
+    Module recorded = Modules.record(new AbstractModule() {
+      @Override protected void configure() {
+        final Provider<Integer> integerProvider = getProvider(Integer.class);
+        bind(Integer.class).toInstance(1);
+        bind(String.class).toProvider(new Provider<String>() {
+          public String get() {
+            return "A" + integerProvider.get();
+          }
+        });
+        getMembersInjector(Date.class);
+      }
+    });
+
+    assertEquals("A1", createInjector(Modules.override(recorded).with(newModule(0.5f)))
+        .getInstance(String.class));
+    assertEquals("A1", createInjector(Modules.override(recorded).with(newModule(1.5f)))
+        .getInstance(String.class));
+  }
+
+  public void testInstallRecordedPrivateModuleWithLookupsTwice() {
+    Module recorded = Modules.record(new PrivateModule() {
+      @Override protected void configure() {
+        install(newProvidesModule());
+        expose(String.class);
+      }
+    });
+
+    assertEquals("A1", createInjector(recorded).getInstance(String.class));
+    assertEquals("A1", createInjector(recorded).getInstance(String.class));
+  }
+
+  private static Module newProvidesModule() {
+    return new AbstractModule() {
+      @Override protected void configure() {
+        bind(Integer.class).toInstance(1);
+      }
+
+      @Provides String provideString(Integer i) {
+        return "A" + i;
+      }
+    };
+  }
+
   private static class HashEqualsTester implements Provider<Object> {
     private String equality;
     private boolean throwOnEquals;
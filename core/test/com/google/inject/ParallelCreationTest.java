@@ -0,0 +1,310 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject;
+
+import static com.google.inject.Asserts.assertContains;
+import com.google.inject.internal.util.ImmutableList;
+import com.google.inject.internal.util.Lists;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import com.google.inject.spi.Element;
+import com.google.inject.spi.Elements;
+import com.google.inject.spi.Message;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link InjectorBuilder#parallelCreation}.
+ */
+public class ParallelCreationTest extends TestCase {
+
+  public void testParallelCreationMatchesSerialCreation() {
+    Injector serial = new InjectorBuilder().addModules(newModules()).build();
+    Injector parallel = new InjectorBuilder().parallelCreation(4).addModules(newModules()).build();
+
+    assertEquals(serial.getBindings().keySet(), parallel.getBindings().keySet());
+    for (int i = 0; i < 8; i++) {
+      Key<Service> key = Key.get(Service.class, Names.named("service" + i));
+      assertEquals("value" + i, parallel.getInstance(key).value);
+    }
+  }
+
+  public void testErrorsAreReportedInModuleOrder() {
+    List<Module> modules = Lists.newArrayList();
+    for (int i = 0; i < 8; i++) {
+      final int index = i;
+      modules.add(new AbstractModule() {
+        protected void configure() {
+          addError("error " + index);
+        }
+      });
+    }
+
+    List<Message> serialMessages = getMessages(new InjectorBuilder().addModules(modules));
+    List<Message> parallelMessages
+        = getMessages(new InjectorBuilder().parallelCreation(4).addModules(modules));
+    assertEquals(8, parallelMessages.size());
+    for (int i = 0; i < 8; i++) {
+      assertEquals("error " + i, parallelMessages.get(i).getMessage());
+      assertEquals(serialMessages.get(i).getMessage(), parallelMessages.get(i).getMessage());
+    }
+  }
+
+  public void testModuleInstalledByTwoModulesIsRecordedOnce() {
+    Module a = new AbstractModule() {
+      protected void configure() {
+        install(new SharedModule());
+        bind(Integer.class).toInstance(1);
+      }
+    };
+    Module b = new AbstractModule() {
+      protected void configure() {
+        install(new SharedModule());
+        bind(Long.class).toInstance(2L);
+      }
+    };
+
+    Injector injector = new InjectorBuilder().parallelCreation(2).addModules(a, b).build();
+    assertEquals("shared", injector.getInstance(String.class));
+    assertEquals(1, injector.getInstance(Integer.class).intValue());
+    assertEquals(2L, injector.getInstance(Long.class).longValue());
+  }
+
+  public void testBindingToNullInstanceIsReported() {
+    Module nullInstance = new AbstractModule() {
+      protected void configure() {
+        bind(String.class).toInstance(null);
+      }
+    };
+    Module other = new AbstractModule() {
+      protected void configure() {
+        bind(Integer.class).toInstance(1);
+      }
+    };
+
+    List<Message> messages
+        = getMessages(new InjectorBuilder().parallelCreation(2).addModules(nullInstance, other));
+    assertEquals(1, messages.size());
+    assertContains(messages.get(0).getMessage(), "Binding to null instances is not allowed.");
+  }
+
+  public void testSharedModuleIsConfiguredOnce() {
+    final AtomicInteger configured = new AtomicInteger();
+    final CountDownLatch sharedInstalled = new CountDownLatch(1);
+    Module a = new AbstractModule() {
+      protected void configure() {
+        install(new CountingModule(configured));
+        sharedInstalled.countDown();
+      }
+    };
+    Module b = new AbstractModule() {
+      protected void configure() {
+        await(sharedInstalled);
+        install(new CountingModule(configured));
+      }
+    };
+
+    Injector injector = new InjectorBuilder().parallelCreation(2).addModules(a, b).build();
+    assertEquals("shared", injector.getInstance(String.class));
+    assertEquals(1, configured.get());
+  }
+
+  public void testIndependentModulesAreConfiguredOnce() {
+    List<Module> modules = Lists.newArrayList();
+    List<AtomicInteger> counts = Lists.newArrayList();
+    for (int i = 0; i < 8; i++) {
+      AtomicInteger configured = new AtomicInteger();
+      counts.add(configured);
+      modules.add(new NamedModule("module" + i, configured));
+    }
+
+    Injector injector = new InjectorBuilder().parallelCreation(4).addModules(modules).build();
+    for (int i = 0; i < 8; i++) {
+      assertEquals("module" + i, injector.getInstance(NamedModule.key("module" + i)));
+      assertEquals(1, counts.get(i).get());
+    }
+  }
+
+  /**
+   * Every module's provider methods module installs the same empty module. Here the second
+   * module installs it before the first does. This records the modules directly, since an
+   * injector also records its own root module first.
+   */
+  public void testModulesInstallingProvidesMethodsOutOfOrderAreConfiguredOnce() {
+    final AtomicInteger firstConfigured = new AtomicInteger();
+    final AtomicInteger secondConfigured = new AtomicInteger();
+    final AtomicInteger nestedConfigured = new AtomicInteger();
+    final CountDownLatch nestedInstalled = new CountDownLatch(1);
+    Module first = new AbstractModule() {
+      protected void configure() {
+        await(nestedInstalled);
+        install(new NamedModule("first", firstConfigured));
+      }
+    };
+    Module second = new AbstractModule() {
+      protected void configure() {
+        secondConfigured.incrementAndGet();
+        install(new NamedModule("nested", nestedConfigured));
+        nestedInstalled.countDown();
+      }
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    List<Element> elements;
+    try {
+      elements = Elements.getElements(Stage.DEVELOPMENT, ImmutableList.of(first, second), executor);
+    } finally {
+      executor.shutdown();
+    }
+
+    Injector injector = Guice.createInjector(Elements.getModule(elements));
+    assertEquals("first", injector.getInstance(NamedModule.key("first")));
+    assertEquals("nested", injector.getInstance(NamedModule.key("nested")));
+    assertEquals(1, firstConfigured.get());
+    assertEquals(1, secondConfigured.get());
+    assertEquals(1, nestedConfigured.get());
+  }
+
+  public void testSharedModuleInstalledByLaterModuleFirst() {
+    final AtomicInteger configured = new AtomicInteger();
+    final CountDownLatch sharedInstalled = new CountDownLatch(1);
+    Module a = new AbstractModule() {
+      protected void configure() {
+        await(sharedInstalled);
+        install(new CountingModule(configured));
+        bind(Integer.class).toInstance(1);
+      }
+    };
+    Module b = new AbstractModule() {
+      protected void configure() {
+        install(new CountingModule(configured));
+        sharedInstalled.countDown();
+        bind(Long.class).toInstance(2L);
+      }
+    };
+
+    Injector injector = new InjectorBuilder().parallelCreation(2).addModules(a, b).build();
+    assertEquals("shared", injector.getInstance(String.class));
+    assertEquals(1, injector.getInstance(Integer.class).intValue());
+    assertEquals(2L, injector.getInstance(Long.class).longValue());
+    assertEquals("recorded concurrently, then again serially", 3, configured.get());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private List<Message> getMessages(InjectorBuilder builder) {
+    try {
+      builder.build();
+      fail();
+      return null;
+    } catch (CreationException expected) {
+      return Lists.newArrayList(expected.getErrorMessages());
+    }
+  }
+
+  private List<Module> newModules() {
+    List<Module> modules = Lists.newArrayList();
+    for (int i = 0; i < 8; i++) {
+      final int index = i;
+      modules.add(new PrivateModule() {
+        protected void configure() {
+          bindConstant().annotatedWith(Names.named("value")).to("value" + index);
+          Key<Service> key = Key.get(Service.class, Names.named("service" + index));
+          bind(key).to(Service.class);
+          expose(key);
+        }
+      });
+    }
+    return modules;
+  }
+
+  static class Service {
+    final String value;
+
+    @Inject Service(@Named("value") String value) {
+      this.value = value;
+    }
+  }
+
+  /** Binds its name with {@literal @}Named(name), using a private {@literal @}Provides method. */
+  static class NamedModule extends AbstractModule {
+    final String name;
+    final AtomicInteger configured;
+
+    NamedModule(String name, AtomicInteger configured) {
+      this.name = name;
+      this.configured = configured;
+    }
+
+    static Key<String> key(String name) {
+      return Key.get(String.class, Names.named(name));
+    }
+
+    @Override protected void configure() {
+      configured.incrementAndGet();
+      install(new PrivateModule() {
+        protected void configure() {
+          bind(key(name)).to(String.class);
+          expose(key(name));
+        }
+
+        @Provides String provideName() {
+          return name;
+        }
+      });
+    }
+  }
+
+  static class CountingModule extends SharedModule {
+    final AtomicInteger configured;
+
+    CountingModule(AtomicInteger configured) {
+      this.configured = configured;
+    }
+
+    @Override protected void configure() {
+      configured.incrementAndGet();
+      super.configure();
+    }
+  }
+
+  static class SharedModule extends AbstractModule {
+    protected void configure() {
+      bind(String.class).toInstance("shared");
+    }
+
+    @Override public boolean equals(Object o) {
+      return o instanceof SharedModule;
+    }
+
+    @Override public int hashCode() {
+      return SharedModule.class.hashCode();
+    }
+  }
+}
@@ -0,0 +1,413 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject;
+
+import static com.google.inject.Asserts.assertContains;
+import com.google.inject.internal.util.ImmutableList;
+import com.google.inject.internal.util.Lists;
+import com.google.inject.matcher.AbstractMatcher;
+import com.google.inject.matcher.Matcher;
+import static com.google.inject.matcher.Matchers.any;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import com.google.inject.spi.ProvisionListener;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+public class ProvisionListenerTest extends TestCase {
+
+  public void testExceptionInListenerBeforeProvisioning() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(any(), new FailBeforeProvision());
+      }
+    });
+    try {
+      injector.getInstance(Foo.class);
+      fail();
+    } catch(ProvisionException pe) {
+      assertEquals(1, pe.getErrorMessages().size());
+      assertContains(pe.getMessage(),
+          "1) Error notifying ProvisionListener failBefore of " + Foo.class.getName(),
+          "Reason: java.lang.RuntimeException: boo",
+          "while locating " + Foo.class.getName());
+      assertEquals("boo", pe.getCause().getMessage());
+    }
+  }
+
+  public void testExceptionInListenerAfterProvisioning() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(any(), new FailAfterProvision());
+      }
+    });
+    try {
+      injector.getInstance(Foo.class);
+      fail();
+    } catch(ProvisionException pe) {
+      assertEquals(1, pe.getErrorMessages().size());
+      assertContains(pe.getMessage(),
+          "1) Error notifying ProvisionListener failAfter of " + Foo.class.getName(),
+          "Reason: java.lang.RuntimeException: boo",
+          "while locating " + Foo.class.getName());
+      assertEquals("boo", pe.getCause().getMessage());
+    }
+  }
+
+  public void testExceptionInProvisionExplicitlyCalled() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(any(), new JustProvision());
+      }
+    });
+    try {
+      injector.getInstance(FooBomb.class);
+      fail();
+    } catch(ProvisionException pe) {
+      assertEquals(1, pe.getErrorMessages().size());
+      assertContains(pe.getMessage(),
+          "1) Error injecting constructor, java.lang.RuntimeException: Retry, Abort, Fail",
+          " at " + FooBomb.class.getName(),
+          " while locating " + FooBomb.class.getName());
+      assertEquals("Retry, Abort, Fail", pe.getCause().getMessage());
+    }
+  }
+
+  public void testExceptionInProvisionAutomaticallyCalled() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(any(), new NoProvision());
+      }
+    });
+    try {
+      injector.getInstance(FooBomb.class);
+      fail();
+    } catch(ProvisionException pe) {
+      assertEquals(1, pe.getErrorMessages().size());
+      assertContains(pe.getMessage(),
+          "1) Error injecting constructor, java.lang.RuntimeException: Retry, Abort, Fail",
+          " at " + FooBomb.class.getName(),
+          " while locating " + FooBomb.class.getName());
+      assertEquals("Retry, Abort, Fail", pe.getCause().getMessage());
+    }
+  }
+
+  public void testProvisionIsNotifiedAfterContextsClear() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(any(), new ProvisionListener() {
+          public <T> void onProvision(ProvisionInvocation<T> provision) {
+            Object provisioned = provision.provision();
+            if (provisioned instanceof X) {
+              ((X)provisioned).init();
+            } else if (provisioned instanceof Y) {
+              X.createY = false;
+              ((Y)provisioned).init();
+            }
+          }
+        });
+      }
+    });
+
+    X.createY = true;
+    X x = injector.getInstance(X.class);
+    assertNotSame(x, x.y.x);
+    assertFalse("x.ID: " + x.ID + ", x.y.x.iD: " + x.y.x.ID, x.ID == x.y.x.ID);
+  }
+
+  public void testListenersAreNotifiedInOrderAroundProvisioning() {
+    final List<String> events = Lists.newArrayList();
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(any(), new RecordingListener("a", events),
+            new RecordingListener("b", events));
+        bindListener(any(), new RecordingListener("c", events));
+      }
+    });
+
+    injector.getInstance(Foo.class);
+    assertEquals(ImmutableList.of("before a", "before b", "before c",
+        "after c", "after b", "after a"), events);
+  }
+
+  public void testOnlyMatchingBindingsAreNotified() {
+    final Counter counter = new Counter();
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(keyMatcher(Foo.class), counter);
+      }
+    });
+
+    injector.getInstance(Foo.class);
+    assertEquals(1, counter.count.get());
+    injector.getInstance(Bar.class); // provisions Foo as Bar's dependency
+    assertEquals(2, counter.count.get());
+    injector.getInstance(String.class);
+    assertEquals(2, counter.count.get());
+  }
+
+  public void testSingletonsAreProvisionedOnce() {
+    final Counter counter = new Counter();
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(any(), counter);
+        bind(Foo.class).in(Scopes.SINGLETON);
+      }
+    });
+
+    assertSame(injector.getInstance(Foo.class), injector.getInstance(Foo.class));
+    assertEquals(1, counter.count.get());
+  }
+
+  public void testProviderBindingsAreNotified() {
+    final List<Key<?>> provisioned = Lists.newArrayList();
+    final ProvisionListener listener = new ProvisionListener() {
+      public <T> void onProvision(ProvisionInvocation<T> provision) {
+        provisioned.add(provision.getBinding().getKey());
+      }
+    };
+    final Key<String> instanceKey = Key.get(String.class, Names.named("instance"));
+    final Key<String> providerKey = Key.get(String.class, Names.named("providerKey"));
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bind(instanceKey).toProvider(new Provider<String>() {
+          public String get() {
+            return "a";
+          }
+        });
+        bind(providerKey).toProvider(StringProvider.class);
+      }
+
+      @Provides @Named("method") String provideString() {
+        return "c";
+      }
+    }, new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(any(), listener);
+      }
+    });
+
+    assertEquals("a", injector.getInstance(instanceKey));
+    assertEquals("b", injector.getInstance(providerKey));
+    assertEquals("c", injector.getInstance(Key.get(String.class, Names.named("method"))));
+    assertEquals("d", injector.getInstance(ProvidedByString.class).value);
+    assertEquals(ImmutableList.of(instanceKey, Key.get(StringProvider.class), providerKey,
+        Key.get(String.class, Names.named("method")), Key.get(ProvidedByStringProvider.class),
+        Key.get(ProvidedByString.class)), provisioned);
+  }
+
+  public void testDependencyChain() {
+    final List<List<Key<?>>> chains = Lists.newArrayList();
+    final List<Integer> depths = Lists.newArrayList();
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(any(), new ProvisionListener() {
+          public <T> void onProvision(ProvisionInvocation<T> provision) {
+            chains.add(provision.getDependencyChain());
+            depths.add(provision.getDependencyDepth());
+          }
+        });
+      }
+    });
+
+    injector.getInstance(Bar.class);
+    assertEquals(ImmutableList.of(
+        ImmutableList.<Key<?>>of(Key.get(Bar.class)),
+        ImmutableList.<Key<?>>of(Key.get(Bar.class), Key.get(Foo.class))), chains);
+    assertEquals(ImmutableList.of(1, 2), depths);
+  }
+
+  public void testProvisionListenerBindingsAreInheritedByChildInjectors() {
+    final Counter counter = new Counter();
+    Injector parent = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(any(), counter);
+      }
+    });
+    Injector child = parent.createChildInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bind(Foo.class);
+      }
+    });
+
+    child.getInstance(Foo.class);
+    assertEquals(1, counter.count.get());
+  }
+
+  public void testCallingProvisionTwiceFails() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(any(), new ProvisionListener() {
+          public <T> void onProvision(ProvisionInvocation<T> provision) {
+            provision.provision();
+            provision.provision();
+          }
+        });
+      }
+    });
+    try {
+      injector.getInstance(Foo.class);
+      fail();
+    } catch (ProvisionException expected) {
+      assertContains(expected.getMessage(), "Already provisioned in this listener.");
+    }
+  }
+
+  private static Matcher<Binding<?>> keyMatcher(final Class<?> type) {
+    return new AbstractMatcher<Binding<?>>() {
+      public boolean matches(Binding<?> binding) {
+        return binding.getKey().equals(Key.get(type));
+      }
+    };
+  }
+
+  private static class Counter implements ProvisionListener {
+    final AtomicInteger count = new AtomicInteger();
+
+    public <T> void onProvision(ProvisionInvocation<T> provision) {
+      count.incrementAndGet();
+    }
+  }
+
+  private static class RecordingListener implements ProvisionListener {
+    private final String name;
+    private final List<String> events;
+
+    RecordingListener(String name, List<String> events) {
+      this.name = name;
+      this.events = events;
+    }
+
+    public <T> void onProvision(ProvisionInvocation<T> provision) {
+      events.add("before " + name);
+      provision.provision();
+      events.add("after " + name);
+    }
+  }
+
+  private static class FailBeforeProvision implements ProvisionListener {
+    public <T> void onProvision(ProvisionInvocation<T> provision) {
+      throw new RuntimeException("boo");
+    }
+
+    @Override public String toString() {
+      return "failBefore";
+    }
+  }
+
+  private static class FailAfterProvision implements ProvisionListener {
+    public <T> void onProvision(ProvisionInvocation<T> provision) {
+      provision.provision();
+      throw new RuntimeException("boo");
+    }
+
+    @Override public String toString() {
+      return "failAfter";
+    }
+  }
+
+  private static class JustProvision implements ProvisionListener {
+    public <T> void onProvision(ProvisionInvocation<T> provision) {
+      provision.provision();
+    }
+  }
+
+  private static class NoProvision implements ProvisionListener {
+    public <T> void onProvision(ProvisionInvocation<T> provision) {
+    }
+  }
+
+  private static class Foo {}
+
+  private static class Bar {
+    @Inject Foo foo;
+  }
+
+  private static class FooBomb {
+    FooBomb() {
+      throw new RuntimeException("Retry, Abort, Fail");
+    }
+  }
+
+  private static class X {
+    final static AtomicInteger COUNTER = new AtomicInteger();
+    static boolean createY;
+
+    final int ID = COUNTER.getAndIncrement();
+    final Provider<Y> yProvider;
+    Y y;
+
+    @Inject X(Provider<Y> yProvider) {
+      this.yProvider = yProvider;
+    }
+
+    void init() {
+      if (createY) {
+        this.y = yProvider.get();
+      }
+    }
+  }
+
+  private static class Y {
+    final Provider<X> xProvider;
+    X x;
+
+    @Inject Y(Provider<X> xProvider) {
+      this.xProvider = xProvider;
+    }
+
+    void init() {
+      this.x = xProvider.get();
+    }
+  }
+
+  private static class StringProvider implements Provider<String> {
+    public String get() {
+      return "b";
+    }
+  }
+
+  @ProvidedBy(ProvidedByStringProvider.class)
+  private static class ProvidedByString {
+    final String value;
+
+    ProvidedByString(String value) {
+      this.value = value;
+    }
+  }
+
+  private static class ProvidedByStringProvider implements Provider<ProvidedByString> {
+    public ProvidedByString get() {
+      return new ProvidedByString("d");
+    }
+  }
+}
@@ -19,6 +19,7 @@ package com.google.inject;
 import static com.google.inject.Asserts.assertContains;
 import com.google.inject.internal.util.ImmutableMap;
 import com.google.inject.internal.util.Maps;
+import com.google.inject.internal.util.Sets;
 import com.google.inject.name.Named;
 import static com.google.inject.name.Names.named;
 import com.google.inject.spi.Element;
@@ -35,6 +36,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import junit.framework.TestCase;
 
 /**
@@ -251,8 +253,6 @@ public class ScopesTest extends TestCase {
     injector.getInstance(List.class);
     Provider<?> listProvider = scope.providers.get(Key.get(List.class));
 
-    // this line fails with a NullPointerException because the Providers
-    // passed to Scope.scope() don't work outside of the scope() method.
     assertTrue(listProvider.get() instanceof ArrayList);
   }
 
@@ -601,4 +601,76 @@ public class ScopesTest extends TestCase {
     injector.getInstance(ThrowingSingleton.class);
     assertEquals(2, ThrowingSingleton.nextInstanceId);
   }
+
+  public void testLazySingletonIsCreatedOnFirstMethodCall() {
+    LazyService.instanceCount = 0;
+    Injector injector = Guice.createInjector(Stage.PRODUCTION, new AbstractModule() {
+      protected void configure() {
+        bind(Service.class).to(LazyService.class).asLazySingleton();
+      }
+    });
+    assertEquals(0, LazyService.instanceCount);
+
+    Service a = injector.getInstance(Service.class);
+    Service b = injector.getInstance(Service.class);
+    assertSame(a, b);
+    assertEquals(a, a);
+    assertEquals(0, LazyService.instanceCount);
+
+    assertEquals("lazy", a.name());
+    assertEquals("lazy", b.name());
+    assertEquals(1, LazyService.instanceCount);
+    assertTrue(Scopes.isSingleton(injector.getBinding(Service.class)));
+  }
+
+  public void testLazySingletonProxyAnswersObjectMethods() {
+    LazyService.instanceCount = 0;
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        bind(Service.class).to(LazyService.class).asLazySingleton();
+      }
+    });
+
+    Service service = injector.getInstance(Service.class);
+    Set<Service> services = Sets.newHashSet();
+    services.add(service);
+    assertTrue(services.contains(service));
+    assertFalse(service.equals(new LazyService()));
+    assertNotNull(service.toString());
+    assertEquals(1, LazyService.instanceCount);
+
+    assertEquals("lazy", service.name());
+    assertEquals(2, LazyService.instanceCount);
+    assertTrue(services.contains(service));
+  }
+
+  public void testLazySingletonRequiresInterface() {
+    try {
+      Guice.createInjector(new AbstractModule() {
+        protected void configure() {
+          bind(LazyService.class).asLazySingleton();
+        }
+      });
+      fail();
+    } catch (CreationException expected) {
+      assertContains(expected.getMessage(),
+          "Only bindings of interface types can be lazy singletons.");
+    }
+  }
+
+  interface Service {
+    String name();
+  }
+
+  static class LazyService implements Service {
+    static int instanceCount;
+
+    LazyService() {
+      instanceCount++;
+    }
+
+    public String name() {
+      return "lazy";
+    }
+  }
 }
@@ -37,6 +37,24 @@ public class FinalizableReferenceQueueTest extends TestCase {
     fail();
   }
 
+  public void testFinalizeReferentCalledWithoutThread() {
+    frq = new FinalizableReferenceQueue(false);
+    assertFalse(frq.threadStarted);
+    MockReference reference = new MockReference(frq);
+    // wait up to 5s
+    for (int i = 0; i < 500; i++) {
+      frq.cleanUp();
+      if (reference.finalizeReferentCalled) {
+        return;
+      }
+      try {
+        System.gc();
+        Thread.sleep(10);
+      } catch (InterruptedException e) { /* ignore */ }
+    }
+    fail();
+  }
+
   static class MockReference extends FinalizableWeakReference<Object> {
 
     volatile boolean finalizeReferentCalled;
@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject.spi;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+import com.google.inject.internal.util.ImmutableList;
+import com.google.inject.internal.util.ImmutableSet;
+import java.util.List;
+import java.util.Set;
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link DependencyGraph}.
+ */
+public class DependencyGraphTest extends TestCase {
+
+  private static final Key<A> A_KEY = Key.get(A.class);
+  private static final Key<B> B_KEY = Key.get(B.class);
+  private static final Key<C> C_KEY = Key.get(C.class);
+  private static final Key<D> D_KEY = Key.get(D.class);
+
+  private final Module module = new AbstractModule() {
+    protected void configure() {
+      bind(A.class);
+      bind(B.class);
+      bind(C.class);
+      bind(D.class);
+    }
+  };
+
+  public void testDependenciesFromElements() {
+    DependencyGraph graph = DependencyGraph.of(Elements.getElements(module));
+    assertEquals(ImmutableSet.of(B_KEY, C_KEY), graph.getDependencies(A_KEY));
+    assertEquals(ImmutableSet.of(D_KEY), graph.getDependencies(B_KEY));
+    assertEquals(ImmutableSet.of(A_KEY), graph.getDependents(B_KEY));
+    assertEquals(2, graph.getFanOut(A_KEY));
+    assertEquals(2, graph.getFanIn(D_KEY));
+    assertEquals(ImmutableList.of(D_KEY), graph.getKeysByFanIn(1));
+    assertTrue(graph.isAcyclic());
+  }
+
+  public void testTopologicalOrder() {
+    DependencyGraph graph = DependencyGraph.of(Elements.getElements(module));
+    List<Key<?>> order = graph.getTopologicalOrder();
+    assertEquals(4, order.size());
+    assertTrue(order.indexOf(D_KEY) < order.indexOf(B_KEY));
+    assertTrue(order.indexOf(D_KEY) < order.indexOf(C_KEY));
+    assertTrue(order.indexOf(B_KEY) < order.indexOf(A_KEY));
+    assertTrue(order.indexOf(C_KEY) < order.indexOf(A_KEY));
+  }
+
+  public void testLevelsAndCriticalPath() {
+    DependencyGraph graph = DependencyGraph.of(Elements.getElements(module));
+    assertEquals(ImmutableList.of(ImmutableSet.of(D_KEY), ImmutableSet.of(B_KEY, C_KEY),
+        ImmutableSet.of(A_KEY)), graph.getLevels());
+    assertEquals(3, graph.getCriticalPathLength());
+    List<Key<?>> path = graph.getCriticalPath();
+    assertEquals(3, path.size());
+    assertEquals(A_KEY, path.get(0));
+    assertEquals(D_KEY, path.get(2));
+  }
+
+  public void testCycles() {
+    DependencyGraph graph = DependencyGraph.of(Elements.getElements(new AbstractModule() {
+      protected void configure() {
+        bind(Chicken.class);
+        bind(Egg.class);
+      }
+    }));
+    assertFalse(graph.isAcyclic());
+
+    Set<Key<?>> cycle = ImmutableSet.<Key<?>>of(Key.get(Chicken.class), Key.get(Egg.class));
+    assertTrue(graph.getStronglyConnectedComponents().contains(cycle));
+    assertEquals(1, graph.getCriticalPathLength());
+  }
+
+  public void testToolStageInjectorIncludesJustInTimeBindings() {
+    Injector injector = Guice.createInjector(Stage.TOOL, new AbstractModule() {
+      protected void configure() {
+        bind(A.class);
+      }
+    });
+    DependencyGraph graph = DependencyGraph.of(injector);
+    assertEquals(ImmutableSet.of(D_KEY), graph.getDependencies(B_KEY));
+    assertEquals(0, graph.getFanOut(D_KEY));
+  }
+
+  public void testUnknownKey() {
+    DependencyGraph graph = DependencyGraph.of(Elements.getElements(module));
+    try {
+      graph.getDependencies(Key.get(String.class));
+      fail();
+    } catch (IllegalArgumentException expected) {
+    }
+  }
+
+  static class A {
+    @Inject A(B b, C c) {}
+  }
+
+  static class B {
+    @Inject B(D d) {}
+  }
+
+  static class C {
+    @Inject D d;
+  }
+
+  static class D {}
+
+  static class Chicken {
+    @Inject Chicken(Egg egg) {}
+  }
+
+  static class Egg {
+    @Inject Chicken chicken;
+  }
+}
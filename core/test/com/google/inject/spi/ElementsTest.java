@@ -35,6 +35,7 @@ import com.google.inject.binder.AnnotatedBindingBuilder;
 import com.google.inject.binder.AnnotatedConstantBindingBuilder;
 import com.google.inject.binder.ConstantBindingBuilder;
 import com.google.inject.binder.ScopedBindingBuilder;
+import com.google.inject.internal.util.ImmutableList;
 import com.google.inject.internal.util.ImmutableMap;
 import com.google.inject.internal.util.ImmutableSet;
 import static com.google.inject.internal.util.Iterables.getOnlyElement;
@@ -696,6 +697,31 @@ public class ElementsTest extends TestCase {
     );
   }
 
+  public void testBindProvisionListener() {
+    final Matcher<Object> bindingMatcher = Matchers.any();
+    final ProvisionListener listener = new ProvisionListener() {
+      public <T> void onProvision(ProvisionInvocation<T> provision) {
+        throw new UnsupportedOperationException();
+      }
+    };
+
+    checkModule(
+        new AbstractModule() {
+          protected void configure() {
+            bindListener(bindingMatcher, listener);
+          }
+        },
+
+        new FailingElementVisitor() {
+          @Override public Void visit(ProvisionListenerBinding binding) {
+            assertSame(bindingMatcher, binding.getBindingMatcher());
+            assertEquals(ImmutableList.of(listener), binding.getListeners());
+            return null;
+          }
+        }
+    );
+  }
+
   public void testConvertToTypes() {
     final TypeConverter typeConverter = new TypeConverter() {
       public Object convert(String value, TypeLiteral<?> toType) {
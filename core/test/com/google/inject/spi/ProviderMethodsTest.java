@@ -27,6 +27,7 @@ import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
 import com.google.inject.Provider;
+import com.google.inject.ProvisionException;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import com.google.inject.internal.util.ImmutableList;
@@ -357,6 +358,60 @@ public class ProviderMethodsTest extends TestCase implements Module {
     assertEquals(methodsObject, ((ProviderMethod) provider).getInstance());
   }
 
+  public void testRepeatedParameterKeys() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        bind(Integer.class).toInstance(21);
+      }
+      @Provides String provideSum(Integer a, Integer b) {
+        return "" + (a + b);
+      }
+    });
+
+    assertEquals("42", injector.getInstance(String.class));
+  }
+
+  public void testProviderMethodVisibilities() {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {}
+      @Provides @Named("public") public String providePublic() {
+        return "public";
+      }
+      @Provides @Named("protected") protected String provideProtected() {
+        return "protected";
+      }
+      @Provides @Named("private") private String providePrivate() {
+        return "private";
+      }
+    });
+
+    for (String name : ImmutableList.of("public", "protected", "private")) {
+      assertEquals(name, injector.getInstance(Key.get(String.class, Names.named(name))));
+    }
+  }
+
+  public void testProviderMethodExceptions() {
+    final IllegalStateException failure = new IllegalStateException("boom");
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {}
+      @Provides String provideString() {
+        throw failure;
+      }
+      @Provides Integer provideLength(String s) {
+        return s.length();
+      }
+    });
+
+    try {
+      injector.getInstance(Integer.class);
+      fail();
+    } catch (ProvisionException expected) {
+      assertSame(failure, expected.getCause());
+      assertContains(expected.getMessage(), "1) Error in custom provider, " + failure,
+          "at " + getClass().getName(), ".provideString(ProviderMethodsTest.java:");
+    }
+  }
+
   public void testVoidProviderMethods() {
     try {
       Guice.createInjector(new AbstractModule() {
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject.util;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Singleton;
+import com.google.inject.internal.util.ImmutableList;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link WarmUp} and {@link WarmUpProfile}.
+ */
+public class WarmUpTest extends TestCase {
+
+  public void testWarmUpCreatesBindingsButNotInstances() throws Exception {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        bindConstant().annotatedWith(Names.named("name")).to("value");
+      }
+    });
+    Expensive.instanceCount = 0;
+
+    int count = WarmUp.inBackground(injector, ImmutableList.<Key<?>>of(
+        Key.get(Expensive.class), Key.get(Runnable.class))).get();
+    assertEquals(1, count);
+    assertNotNull(injector.getExistingBinding(Key.get(Expensive.class)));
+    assertNotNull(injector.getExistingBinding(Key.get(Cheap.class)));
+    assertEquals(0, Expensive.instanceCount);
+  }
+
+  public void testProfileRoundTrip() throws Exception {
+    WarmUpProfile profile = new WarmUpProfile();
+    Injector injector = Guice.createInjector(profile, new AbstractModule() {
+      protected void configure() {
+        bindConstant().annotatedWith(Names.named("name")).to("value");
+        bind(Cheap.class).annotatedWith(Names.named("a")).to(Cheap.class);
+      }
+    });
+    injector.getInstance(Expensive.class);
+    injector.getInstance(Key.get(Cheap.class, Names.named("a")));
+
+    List<Key<?>> keys = profile.getKeys();
+    assertTrue(keys.contains(Key.get(Expensive.class)));
+    assertTrue(keys.contains(Key.get(Cheap.class)));
+
+    StringWriter writer = new StringWriter();
+    profile.writeTo(writer);
+    List<Key<?>> read = WarmUpProfile.read(
+        new StringReader(writer.toString() + "com.example.Removed\n"),
+        getClass().getClassLoader());
+    assertEquals(keys, read);
+  }
+
+  @Singleton
+  static class Expensive {
+    static int instanceCount;
+
+    @Inject Expensive(Cheap cheap, @Named("name") String name) {
+      instanceCount++;
+    }
+  }
+
+  static class Cheap {}
+}
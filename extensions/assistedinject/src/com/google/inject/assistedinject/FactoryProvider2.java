@@ -60,6 +60,7 @@ import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -101,6 +102,17 @@ final class FactoryProvider2 <F> implements InvocationHandler,
     }
   };
 
+  /**
+   * Orders factory methods by signature. {@link Class#getMethods} returns them in no particular
+   * order, and that order can change from one run to the next, so errors would be reported in
+   * varying order.
+   */
+  private static final Comparator<Method> METHOD_ORDER = new Comparator<Method>() {
+    public int compare(Method a, Method b) {
+      return a.toString().compareTo(b.toString());
+    }
+  };
+
   /** All the data necessary to perform an assisted inject. */
   private static class AssistData implements AssistedMethod {
     /** the constructor the implementation is constructed with. */
@@ -203,7 +215,9 @@ final class FactoryProvider2 <F> implements InvocationHandler,
       
       ImmutableMap.Builder<Method, AssistData> assistDataBuilder = ImmutableMap.builder();
       // TODO: also grab methods from superinterfaces
-      for (Method method : factoryRawType.getMethods()) {
+      Method[] methods = factoryRawType.getMethods();
+      Arrays.sort(methods, METHOD_ORDER);
+      for (Method method : methods) {
         TypeLiteral<?> returnTypeLiteral = factoryType.getReturnType(method);
         Key<?> returnType;
         try {
@@ -21,11 +21,19 @@ import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.inject.Key;
+import com.google.inject.internal.util.ImmutableList;
+import com.google.inject.internal.util.Maps;
+import static com.google.inject.internal.util.Preconditions.checkArgument;
 import com.google.inject.internal.util.Sets;
 import com.google.inject.spi.BindingTargetVisitor;
+import com.google.inject.spi.ProviderBinding;
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 
@@ -38,7 +46,13 @@ import java.util.logging.Logger;
  * <p>
  * By default, this will graph the entire {@link Injector}. Use
  * {@link #rootedAt(Class...)} to specify an initial set of {@link Class}es to
- * use, and this will graph their transitive bindings and dependencies.
+ * use, and this will graph their transitive bindings and dependencies. The
+ * graph can be trimmed further with {@link #toDepth(int)},
+ * {@link #excludingPackages(String...)} and {@link #ofBindingTypes(Iterable)}.
+ * <p>
+ * For large injectors, {@link #streamGraph()} writes the graph out as it is
+ * traversed, and {@link #writeAdjacencyList(PrintWriter)} writes a compact
+ * form of the dependency graph for other tools to load.
  *
  * @author phopkins@gmail.com (Pete Hopkins)
  */
@@ -51,6 +65,9 @@ public class InjectorGrapher {
   
   private Injector injector;
   private Set<Key<?>> root;
+  private int maxDepth = Integer.MAX_VALUE;
+  private List<String> excludedPackages = ImmutableList.of();
+  private List<Class<?>> bindingTypes;
   
   @Inject
   public InjectorGrapher(BindingTargetVisitor<Object, Collection<Key<?>>> keyVisitor,
@@ -83,15 +100,145 @@ public class InjectorGrapher {
     return this;
   }
 
+  /**
+   * Limits the graph to bindings at most {@code depth} dependencies away from
+   * the starting set. A depth of 0 graphs only the starting set.
+   *
+   * @since 3.0
+   */
+  public InjectorGrapher toDepth(int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("depth must not be negative: " + depth);
+    }
+    this.maxDepth = depth;
+    return this;
+  }
+
+  /**
+   * Leaves out bindings for types in the given packages or their
+   * subpackages. Edges to the excluded bindings are still drawn.
+   *
+   * @since 3.0
+   */
+  public InjectorGrapher excludingPackages(String... packageNames) {
+    this.excludedPackages = ImmutableList.of(packageNames);
+    return this;
+  }
+
+  /**
+   * Limits the graph to bindings that are instances of one of the given
+   * types, such as {@link com.google.inject.spi.LinkedKeyBinding}. Other
+   * bindings are neither graphed nor followed.
+   *
+   * @throws IllegalArgumentException if a type doesn't implement {@link Binding}
+   * @since 3.0
+   */
+  public InjectorGrapher ofBindingTypes(Iterable<? extends Class<?>> types) {
+    List<Class<?>> typesCopy = ImmutableList.<Class<?>>copyOf(types);
+    for (Class<?> type : typesCopy) {
+      checkArgument(Binding.class.isAssignableFrom(type), "%s isn't a binding type", type);
+    }
+    this.bindingTypes = typesCopy;
+    return this;
+  }
+
   /**
    * Renders a graph with the bound {@link Renderer}. The {@link Injector}
    * must have already been specified with {@link #of(Injector)}.
    */
   public void graph() throws IOException {
-    processBindings();
+    processBindings(new BindingHandler() {
+      public void handle(Binding<?> binding, Collection<Key<?>> dependencies) {
+        binding.acceptTargetVisitor(graphingVisitor);
+      }
+    });
     renderer.render();
   }
 
+  /**
+   * Renders a graph with the bound {@link Renderer}, which must be a
+   * {@link StreamingRenderer}. Nodes and edges are written as each binding is
+   * visited, so memory use doesn't grow with the size of the graph.
+   *
+   * @since 3.0
+   */
+  public void streamGraph() throws IOException {
+    if (!(renderer instanceof StreamingRenderer)) {
+      throw new IllegalStateException("Renderer does not support streaming: " + renderer);
+    }
+    final StreamingRenderer streamingRenderer = (StreamingRenderer) renderer;
+
+    streamingRenderer.beginGraph();
+    processBindings(new BindingHandler() {
+      public void handle(Binding<?> binding, Collection<Key<?>> dependencies)
+          throws IOException {
+        // Provider bindings only alias their node to the provided key's node,
+        // so visit them first for the edges written below to be resolved.
+        for (Key<?> dependency : dependencies) {
+          Binding<?> dependencyBinding = injector.getBinding(dependency);
+          if (dependencyBinding instanceof ProviderBinding) {
+            dependencyBinding.acceptTargetVisitor(graphingVisitor);
+          }
+        }
+
+        binding.acceptTargetVisitor(graphingVisitor);
+        streamingRenderer.renderPending();
+      }
+    });
+    streamingRenderer.endGraph();
+  }
+
+  /**
+   * Writes the dependency graph as an adjacency list, one line per graphed
+   * binding. Each line holds the binding's numeric ID, its {@link Key}, and
+   * the space-separated IDs of the keys it depends on, with a tab between
+   * the three fields. Keys that were depended upon but not graphed are written at the end, with
+   * no dependencies.
+   *
+   * @since 3.0
+   */
+  public void writeAdjacencyList(final PrintWriter out) throws IOException {
+    final Map<Key<?>, Integer> ids = Maps.newHashMap();
+    final BitSet graphed = new BitSet();
+
+    processBindings(new BindingHandler() {
+      public void handle(Binding<?> binding, Collection<Key<?>> dependencies) {
+        int id = id(ids, binding.getKey());
+        graphed.set(id);
+
+        out.print(id);
+        out.print('\t');
+        out.print(binding.getKey());
+        out.print('\t');
+        boolean first = true;
+        for (Key<?> dependency : dependencies) {
+          if (!first) {
+            out.print(' ');
+          }
+          out.print(id(ids, dependency));
+          first = false;
+        }
+        out.println();
+      }
+    });
+
+    for (Map.Entry<Key<?>, Integer> entry : ids.entrySet()) {
+      if (!graphed.get(entry.getValue())) {
+        out.println(entry.getValue() + "\t" + entry.getKey() + "\t");
+      }
+    }
+    out.flush();
+  }
+
+  private static int id(Map<Key<?>, Integer> ids, Key<?> key) {
+    Integer id = ids.get(key);
+    if (id == null) {
+      id = ids.size();
+      ids.put(key, id);
+    }
+    return id;
+  }
+
   /**
    * Tests for {@link Key}s that we don't want to include by default in the
    * graph. They're left out of the initial set, but will appear if depended
@@ -103,47 +250,93 @@ public class InjectorGrapher {
         || loggerKey.equals(key);
   }
 
+  /**
+   * Tests whether a {@link Binding} passes the filters set with
+   * {@link #excludingPackages(String...)} and {@link #ofBindingTypes(Iterable)}.
+   */
+  private boolean include(Binding<?> binding) {
+    if (!excludedPackages.isEmpty()) {
+      String className = binding.getKey().getTypeLiteral().getRawType().getName();
+      for (String packageName : excludedPackages) {
+        if (className.startsWith(packageName + ".")) {
+          return false;
+        }
+      }
+    }
+
+    if (bindingTypes != null) {
+      for (Class<?> type : bindingTypes) {
+        if (type.isInstance(binding)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    return true;
+  }
+
   /**
    * Takes the set of starting {@link Binding}s, which comes either from the
-   * {@link Injector} or from {@link #rootedAt(Class...)}, and applies the
-   * {@link #graphingVisitor} to them. Uses the {@link #keyVisitor} to build
-   * out the set of {@link Key}s so that the graph covers the transitive
-   * dependencies and bindings.
+   * {@link Injector} or from {@link #rootedAt(Class...)}, and passes them to
+   * the {@link BindingHandler}. Uses the {@link #keyVisitor} to build out the
+   * set of {@link Key}s so that the graph covers the transitive dependencies
+   * and bindings, breadth first so that each {@link Key} is reached at its
+   * smallest depth.
    */
-  private void processBindings() {
-    Set<Key<?>> keys = Sets.newLinkedHashSet();
+  private void processBindings(BindingHandler handler) throws IOException {
+    Map<Key<?>, Integer> keys = Maps.newLinkedHashMap();
     Set<Key<?>> visitedKeys = Sets.newHashSet();
 
     // build up the root set from the Injector if it wasn't specified
     if (root == null) {
       for (Key<?> key : injector.getBindings().keySet()) {
         if (!skipKey(key)) {
-          keys.add(key);
+          keys.put(key, 0);
         }
       }
     } else {
-      keys.addAll(root);
+      for (Key<?> key : root) {
+        keys.put(key, 0);
+      }
     }
     
     while (!keys.isEmpty()) {
-      Iterator<Key<?>> iterator = keys.iterator();
-      Key<?> key = iterator.next();
+      Iterator<Map.Entry<Key<?>, Integer>> iterator = keys.entrySet().iterator();
+      Map.Entry<Key<?>, Integer> entry = iterator.next();
+      Key<?> key = entry.getKey();
+      int depth = entry.getValue();
       iterator.remove();
       
-      if (visitedKeys.contains(key)) {
+      if (!visitedKeys.add(key)) {
         continue;
       }
       
       Binding<?> binding = injector.getBinding(key);
-      visitedKeys.add(key);
-
-      binding.acceptTargetVisitor(graphingVisitor);
+      if (!include(binding)) {
+        continue;
+      }
 
       // find the dependencies and make sure that they get visited
       Collection<Key<?>> newKeys = binding.acceptTargetVisitor(keyVisitor);
-      if (newKeys != null) {
-        keys.addAll(newKeys);
+      if (newKeys == null) {
+        newKeys = ImmutableList.of();
+      }
+
+      handler.handle(binding, newKeys);
+
+      if (depth < maxDepth) {
+        for (Key<?> newKey : newKeys) {
+          if (!visitedKeys.contains(newKey) && !keys.containsKey(newKey)) {
+            keys.put(newKey, depth + 1);
+          }
+        }
       }
     }
   }
+
+  /** Receives each {@link Binding} that is graphed, with its dependencies. */
+  private interface BindingHandler {
+    void handle(Binding<?> binding, Collection<Key<?>> dependencies) throws IOException;
+  }
 }
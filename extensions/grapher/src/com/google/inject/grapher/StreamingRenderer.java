@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.grapher;
+
+import java.io.IOException;
+
+/**
+ * A {@link Renderer} that can write the graph out as it is built, rather than
+ * holding every node and edge until {@link #render()}. Used by
+ * {@link InjectorGrapher#streamGraph()}.
+ * <p>
+ * {@link InjectorGrapher} calls {@link #renderPending()} after visiting each
+ * binding. All of the nodes and edges for a binding are complete by then, so
+ * they can be written and discarded.
+ *
+ * @since 3.0
+ */
+public interface StreamingRenderer extends Renderer {
+
+  /** Writes the start of the graph. */
+  void beginGraph() throws IOException;
+
+  /** Writes and discards the nodes and edges added since the last call. */
+  void renderPending() throws IOException;
+
+  /** Writes the end of the graph. */
+  void endGraph() throws IOException;
+}
@@ -19,6 +19,7 @@ package com.google.inject.grapher.graphviz;
 import com.google.inject.grapher.ImplementationNode;
 import com.google.inject.grapher.NodeAliasFactory;
 import com.google.inject.grapher.Renderer;
+import com.google.inject.grapher.StreamingRenderer;
 import com.google.inject.internal.util.Join;
 import com.google.inject.internal.util.Lists;
 import com.google.inject.internal.util.Maps;
@@ -33,10 +34,14 @@ import java.util.Map.Entry;
  * <p>
  * Specify the {@link PrintWriter} to output to with
  * {@link #setOut(PrintWriter)}.
+ * <p>
+ * When used as a {@link StreamingRenderer}, nodes and edges are written as
+ * soon as each binding has been visited. Only the node aliases are kept until
+ * the end.
  *
  * @author phopkins@gmail.com (Pete Hopkins)
  */
-public class GraphvizRenderer implements Renderer, NodeAliasFactory<String> {
+public class GraphvizRenderer implements StreamingRenderer, NodeAliasFactory<String> {
   private final List<GraphvizNode> nodes = Lists.newArrayList();
   private final List<GraphvizEdge> edges = Lists.newArrayList();
   private final Map<String, String> aliases = Maps.newHashMap();
@@ -90,6 +95,28 @@ public class GraphvizRenderer implements Renderer, NodeAliasFactory<String> {
     out.flush();
   }
 
+  public void beginGraph() {
+    start();
+  }
+
+  public void renderPending() {
+    for (GraphvizNode node : nodes) {
+      renderNode(node);
+    }
+    nodes.clear();
+
+    for (GraphvizEdge edge : edges) {
+      renderEdge(edge);
+    }
+    edges.clear();
+  }
+
+  public void endGraph() {
+    finish();
+
+    out.flush();
+  }
+
   protected Map<String, String> getGraphAttributes() {
     Map<String, String> attrs = Maps.newHashMap();
     attrs.put("rankdir", rankdir);
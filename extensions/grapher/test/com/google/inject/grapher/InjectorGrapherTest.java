@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.grapher;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.grapher.graphviz.GraphvizModule;
+import com.google.inject.grapher.graphviz.GraphvizRenderer;
+import com.google.inject.internal.util.ImmutableList;
+import com.google.inject.spi.LinkedKeyBinding;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link InjectorGrapher}.
+ */
+public class InjectorGrapherTest extends TestCase {
+  private final Injector grapherInjector
+      = Guice.createInjector(new GrapherModule(), new GraphvizModule());
+  private final Injector injector = Guice.createInjector(new AbstractModule() {
+    protected void configure() {
+      bind(Engine.class).to(FluxEngine.class);
+    }
+  });
+
+  private final StringWriter output = new StringWriter();
+
+  @Override protected void setUp() throws Exception {
+    super.setUp();
+    grapherInjector.getInstance(GraphvizRenderer.class).setOut(new PrintWriter(output));
+  }
+
+  public void testStreamGraphMatchesGraph() throws Exception {
+    newGrapher().graph();
+    String graphed = output.toString();
+
+    output.getBuffer().setLength(0);
+    Injector streamingInjector = Guice.createInjector(new GrapherModule(), new GraphvizModule());
+    streamingInjector.getInstance(GraphvizRenderer.class).setOut(new PrintWriter(output));
+    streamingInjector.getInstance(InjectorGrapher.class)
+        .of(injector)
+        .rootedAt(Car.class)
+        .streamGraph();
+    String streamed = output.toString();
+
+    assertTrue(streamed.startsWith("digraph injector {"));
+    assertTrue(streamed.trim().endsWith("}"));
+    assertEquals(graphed.split("\n").length, streamed.split("\n").length);
+    assertFalse(streamed, streamed.contains("Provider"));
+  }
+
+  public void testToDepth() throws Exception {
+    newGrapher().toDepth(1).graph();
+    String graph = output.toString();
+
+    assertTrue(graph, graph.contains("Car"));
+    assertTrue(graph, graph.contains("Engine"));
+    assertFalse(graph, graph.contains("FluxEngine ["));
+  }
+
+  public void testOfBindingTypes() throws Exception {
+    StringWriter adjacency = new StringWriter();
+    grapherInjector.getInstance(InjectorGrapher.class)
+        .of(injector)
+        .rootedAt(Engine.class)
+        .ofBindingTypes(ImmutableList.of(LinkedKeyBinding.class))
+        .writeAdjacencyList(new PrintWriter(adjacency));
+
+    assertEquals("0\t" + Key.get(Engine.class) + "\t1\n"
+        + "1\t" + Key.get(FluxEngine.class) + "\t\n", adjacency.toString());
+  }
+
+  public void testExcludingPackages() throws Exception {
+    StringWriter adjacency = new StringWriter();
+    newGrapher().excludingPackages("com.google.inject.grapher")
+        .writeAdjacencyList(new PrintWriter(adjacency));
+
+    assertEquals("", adjacency.toString());
+  }
+
+  public void testWriteAdjacencyList() throws Exception {
+    StringWriter adjacency = new StringWriter();
+    newGrapher().writeAdjacencyList(new PrintWriter(adjacency));
+
+    String[] lines = adjacency.toString().split("\n");
+    assertEquals(4, lines.length);
+    assertEquals("0\t" + Key.get(Car.class) + "\t1 2", lines[0]);
+  }
+
+  private InjectorGrapher newGrapher() {
+    return grapherInjector.getInstance(InjectorGrapher.class)
+        .of(injector)
+        .rootedAt(Car.class);
+  }
+
+  static class Car {
+    @Inject Car(Engine engine, Provider<Engine> spareEngine) {}
+  }
+
+  interface Engine {}
+
+  static class FluxEngine implements Engine {}
+}
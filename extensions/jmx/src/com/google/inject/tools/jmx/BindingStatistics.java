@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.tools.jmx;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live provisioning counters for a single key. Updates are lock-free so that recording a
+ * provision costs a few atomic operations.
+ *
+ * @since 3.0
+ */
+final class BindingStatistics {
+
+  private final String key;
+  private final AtomicLong provisionCount = new AtomicLong();
+  private final AtomicLong totalProvisionNanos = new AtomicLong();
+  private final AtomicLong maxProvisionNanos = new AtomicLong();
+  private final AtomicLong maxDependencyDepth = new AtomicLong();
+  private final AtomicLong scopeLookups = new AtomicLong();
+  private final AtomicLong scopeMisses = new AtomicLong();
+  private volatile long singletonCreationNanos = -1;
+
+  BindingStatistics(String key) {
+    this.key = key;
+  }
+
+  String getKey() {
+    return key;
+  }
+
+  void recordProvision(long nanos, int dependencyDepth, boolean singleton) {
+    provisionCount.incrementAndGet();
+    totalProvisionNanos.addAndGet(nanos);
+    raise(maxProvisionNanos, nanos);
+    raise(maxDependencyDepth, dependencyDepth);
+    if (singleton) {
+      singletonCreationNanos = nanos;
+    }
+  }
+
+  void recordScopeLookup() {
+    scopeLookups.incrementAndGet();
+  }
+
+  void recordScopeMiss() {
+    scopeMisses.incrementAndGet();
+  }
+
+  long getProvisionCount() {
+    return provisionCount.get();
+  }
+
+  long getTotalProvisionNanos() {
+    return totalProvisionNanos.get();
+  }
+
+  long getMaxProvisionNanos() {
+    return maxProvisionNanos.get();
+  }
+
+  long getAverageProvisionNanos() {
+    long count = provisionCount.get();
+    return count == 0 ? 0 : totalProvisionNanos.get() / count;
+  }
+
+  /** Returns the time taken to create the singleton instance, or -1 if it hasn't been created. */
+  long getSingletonCreationNanos() {
+    return singletonCreationNanos;
+  }
+
+  long getMaxDependencyDepth() {
+    return maxDependencyDepth.get();
+  }
+
+  /**
+   * Returns the fraction of lookups through a monitored scope that were served from the scope's
+   * cache, or -1 if the key hasn't been looked up through a monitored scope.
+   */
+  double getScopeHitRate() {
+    long lookups = scopeLookups.get();
+    if (lookups == 0) {
+      return -1;
+    }
+    long hits = lookups - scopeMisses.get();
+    return Math.max(0, hits) / (double) lookups;
+  }
+
+  private static void raise(AtomicLong max, long value) {
+    long current;
+    while (value > (current = max.get())) {
+      if (max.compareAndSet(current, value)) {
+        return;
+      }
+    }
+  }
+
+  @Override public String toString() {
+    return String.format("%s: count=%d avg=%.3fms max=%.3fms total=%.3fms",
+        key, getProvisionCount(), toMillis(getAverageProvisionNanos()),
+        toMillis(getMaxProvisionNanos()), toMillis(getTotalProvisionNanos()));
+  }
+
+  static double toMillis(long nanos) {
+    return nanos / 1000000.0;
+  }
+}
@@ -21,9 +21,15 @@ import com.google.inject.Binding;
 class ManagedBinding implements ManagedBindingMBean {
 
   final Binding binding;
+  final ProvisionStatistics statistics;
 
   ManagedBinding(Binding binding) {
+    this(binding, null);
+  }
+
+  ManagedBinding(Binding binding, ProvisionStatistics statistics) {
     this.binding = binding;
+    this.statistics = statistics;
   }
 
   public String getSource() {
@@ -37,4 +43,44 @@ class ManagedBinding implements ManagedBindingMBean {
   public String getProvider() {
     return binding.getProvider().toString();
   }
+
+  public long getProvisionCount() {
+    BindingStatistics s = bindingStatistics();
+    return s == null ? 0 : s.getProvisionCount();
+  }
+
+  public double getTotalProvisionMillis() {
+    BindingStatistics s = bindingStatistics();
+    return s == null ? 0 : BindingStatistics.toMillis(s.getTotalProvisionNanos());
+  }
+
+  public double getAverageProvisionMillis() {
+    BindingStatistics s = bindingStatistics();
+    return s == null ? 0 : BindingStatistics.toMillis(s.getAverageProvisionNanos());
+  }
+
+  public double getMaxProvisionMillis() {
+    BindingStatistics s = bindingStatistics();
+    return s == null ? 0 : BindingStatistics.toMillis(s.getMaxProvisionNanos());
+  }
+
+  public double getSingletonCreationMillis() {
+    BindingStatistics s = bindingStatistics();
+    return s == null || s.getSingletonCreationNanos() < 0
+        ? -1 : BindingStatistics.toMillis(s.getSingletonCreationNanos());
+  }
+
+  public double getScopeHitRate() {
+    BindingStatistics s = bindingStatistics();
+    return s == null ? -1 : s.getScopeHitRate();
+  }
+
+  public long getMaxDependencyDepth() {
+    BindingStatistics s = bindingStatistics();
+    return s == null ? 0 : s.getMaxDependencyDepth();
+  }
+
+  private BindingStatistics bindingStatistics() {
+    return statistics == null ? null : statistics.get(binding.getKey());
+  }
 }
@@ -37,4 +37,42 @@ public interface ManagedBindingMBean {
    * Gets the binding key.
    */
   String getKey();
+
+  /**
+   * Gets the number of times this binding has provisioned an instance. Statistics are only
+   * gathered if a {@link ProvisionStatistics} module was installed in the injector.
+   */
+  long getProvisionCount();
+
+  /**
+   * Gets the total time spent provisioning instances, including their dependencies.
+   */
+  double getTotalProvisionMillis();
+
+  /**
+   * Gets the average time spent provisioning an instance.
+   */
+  double getAverageProvisionMillis();
+
+  /**
+   * Gets the longest time spent provisioning an instance.
+   */
+  double getMaxProvisionMillis();
+
+  /**
+   * Gets the time spent creating the singleton instance, or -1 if the binding isn't a singleton
+   * or hasn't been created yet.
+   */
+  double getSingletonCreationMillis();
+
+  /**
+   * Gets the fraction of lookups served from the scope's cache, or -1 if the binding's scope
+   * isn't {@linkplain ProvisionStatistics#monitor monitored}.
+   */
+  double getScopeHitRate();
+
+  /**
+   * Gets the deepest dependency chain this binding has been provisioned in.
+   */
+  long getMaxDependencyDepth();
 }
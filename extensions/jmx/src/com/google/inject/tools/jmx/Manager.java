@@ -47,9 +47,19 @@ public class Manager {
   /**
    * Registers all the bindings of an Injector with the given MBean server.
    * Consider using the name of your root {@link Module} class as the domain.
+   * If the injector was created with a {@link ProvisionStatistics} module,
+   * the statistics are registered too, as {@code domain:name=ProvisionStatistics}.
    */
   public static void manage(MBeanServer server, String domain,
       Injector injector) {
+    ProvisionStatistics statistics = null;
+    Binding<ProvisionStatistics> statisticsBinding
+        = injector.getExistingBinding(Key.get(ProvisionStatistics.class));
+    if (statisticsBinding != null) {
+      statistics = statisticsBinding.getProvider().get();
+      register(server, statistics, domain + ":name=ProvisionStatistics");
+    }
+
     // Register each binding independently.
     for (Binding<?> binding : injector.getBindings().values()) {
       // Construct the name manually so we can ensure proper ordering of the
@@ -70,17 +80,19 @@ public class Manager {
         }
       }
 
-      try {
-        server.registerMBean(new ManagedBinding(binding),
-            new ObjectName(name.toString()));
-      }
-      catch (MalformedObjectNameException e) {
-        throw new RuntimeException("Bad object name: "
-            + name.toString(), e);
-      }
-      catch (Exception e) {
-        throw new RuntimeException(e);
-      }
+      register(server, new ManagedBinding(binding, statistics), name.toString());
+    }
+  }
+
+  private static void register(MBeanServer server, Object mbean, String name) {
+    try {
+      server.registerMBean(mbean, new ObjectName(name));
+    }
+    catch (MalformedObjectNameException e) {
+      throw new RuntimeException("Bad object name: " + name, e);
+    }
+    catch (Exception e) {
+      throw new RuntimeException(e);
     }
   }
 
@@ -0,0 +1,192 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.tools.jmx;
+
+import com.google.inject.Binder;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Provider;
+import com.google.inject.Scope;
+import com.google.inject.Scopes;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ProvisionListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Gathers live provisioning statistics for an injector. Install an instance as a module when
+ * creating the injector, and {@link Manager#manage(String, com.google.inject.Injector)} will
+ * publish the statistics of each binding on its MBean, along with an aggregate view:
+ *
+ * <pre>
+ *   ProvisionStatistics statistics = new ProvisionStatistics();
+ *   Injector injector = Guice.createInjector(statistics, new MyModule());
+ *   Manager.manage("MyApp", injector);</pre>
+ *
+ * <p>Provisioning times include the time taken to provision the binding's dependencies. Scoped
+ * bindings are only provisioned when their scope misses, so the provisioning time of a singleton
+ * is its creation time. To measure how often a scope's cache is hit, bind the scope through
+ * {@link #monitor(Scope)}.
+ *
+ * @since 3.0
+ */
+public final class ProvisionStatistics implements Module, ProvisionStatisticsMBean {
+
+  private final ConcurrentMap<Key<?>, BindingStatistics> statistics
+      = new ConcurrentHashMap<Key<?>, BindingStatistics>();
+  private volatile int topCount = 10;
+
+  public void configure(Binder binder) {
+    binder.bind(ProvisionStatistics.class).toInstance(this);
+    binder.bindListener(Matchers.any(), new ProvisionListener() {
+      public <T> void onProvision(ProvisionInvocation<T> provision) {
+        long start = System.nanoTime();
+        provision.provision();
+        long elapsed = System.nanoTime() - start;
+        forKey(provision.getBinding().getKey()).recordProvision(elapsed,
+            provision.getDependencyDepth(), Scopes.isSingleton(provision.getBinding()));
+      }
+    });
+  }
+
+  /**
+   * Returns a scope that delegates to {@code scope}, counting how many lookups through it are
+   * served without provisioning a new instance. For example:
+   *
+   * <pre>
+   *   bindScope(BatchScoped.class, statistics.monitor(batchScope));</pre>
+   *
+   * <p>A scope annotation can only be bound once, so to monitor a scope that another module
+   * already binds, override that module's binding. For example, to monitor the request scope of
+   * {@code ServletModule}:
+   *
+   * <pre>
+   *   Injector injector = Guice.createInjector(statistics,
+   *       Modules.override(new MyServletModule()).with(new AbstractModule() {
+   *         protected void configure() {
+   *           bindScope(RequestScoped.class, statistics.monitor(ServletScopes.REQUEST));
+   *         }
+   *       }));</pre>
+   */
+  public Scope monitor(final Scope scope) {
+    return new Scope() {
+      public <T> Provider<T> scope(final Key<T> key, final Provider<T> unscoped) {
+        final Provider<T> scoped = scope.scope(key, new Provider<T>() {
+          public T get() {
+            forKey(key).recordScopeMiss();
+            return unscoped.get();
+          }
+        });
+        return new Provider<T>() {
+          public T get() {
+            forKey(key).recordScopeLookup();
+            return scoped.get();
+          }
+
+          @Override public String toString() {
+            return scoped.toString();
+          }
+        };
+      }
+
+      @Override public String toString() {
+        return scope.toString();
+      }
+    };
+  }
+
+  /** Returns the statistics recorded for {@code key}, or null if none have been recorded. */
+  BindingStatistics get(Key<?> key) {
+    return statistics.get(key);
+  }
+
+  BindingStatistics forKey(Key<?> key) {
+    BindingStatistics result = statistics.get(key);
+    if (result == null) {
+      BindingStatistics created = new BindingStatistics(key.toString());
+      result = statistics.putIfAbsent(key, created);
+      if (result == null) {
+        result = created;
+      }
+    }
+    return result;
+  }
+
+  public long getProvisionCount() {
+    long count = 0;
+    for (BindingStatistics bindingStatistics : statistics.values()) {
+      count += bindingStatistics.getProvisionCount();
+    }
+    return count;
+  }
+
+  public int getTopCount() {
+    return topCount;
+  }
+
+  public void setTopCount(int topCount) {
+    if (topCount < 0) {
+      throw new IllegalArgumentException("topCount must not be negative: " + topCount);
+    }
+    this.topCount = topCount;
+  }
+
+  public String[] getSlowestBindings() {
+    return top(new Comparator<BindingStatistics>() {
+      public int compare(BindingStatistics a, BindingStatistics b) {
+        return compareDescending(a.getAverageProvisionNanos(), b.getAverageProvisionNanos());
+      }
+    });
+  }
+
+  public String[] getCostliestBindings() {
+    return top(new Comparator<BindingStatistics>() {
+      public int compare(BindingStatistics a, BindingStatistics b) {
+        return compareDescending(a.getTotalProvisionNanos(), b.getTotalProvisionNanos());
+      }
+    });
+  }
+
+  public void reset() {
+    statistics.clear();
+  }
+
+  private String[] top(Comparator<BindingStatistics> order) {
+    List<BindingStatistics> all = new ArrayList<BindingStatistics>();
+    for (BindingStatistics bindingStatistics : statistics.values()) {
+      if (bindingStatistics.getProvisionCount() > 0) {
+        all.add(bindingStatistics);
+      }
+    }
+    Collections.sort(all, order);
+
+    int size = Math.min(topCount, all.size());
+    String[] result = new String[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = all.get(i).toString();
+    }
+    return result;
+  }
+
+  private static int compareDescending(long a, long b) {
+    return a > b ? -1 : (a == b ? 0 : 1);
+  }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.tools.jmx;
+
+/**
+ * JMX interface to the aggregate provisioning statistics of an injector.
+ *
+ * @since 3.0
+ */
+public interface ProvisionStatisticsMBean {
+
+  /**
+   * Gets the total number of provisions observed across all bindings.
+   */
+  long getProvisionCount();
+
+  /**
+   * Gets the number of bindings listed by {@link #getSlowestBindings()}.
+   */
+  int getTopCount();
+
+  /**
+   * Sets the number of bindings listed by {@link #getSlowestBindings()}.
+   */
+  void setTopCount(int topCount);
+
+  /**
+   * Gets a summary of the bindings with the highest average provisioning time, slowest first.
+   */
+  String[] getSlowestBindings();
+
+  /**
+   * Gets a summary of the bindings with the highest total provisioning time, highest first.
+   */
+  String[] getCostliestBindings();
+
+  /**
+   * Discards all statistics gathered so far.
+   */
+  void reset();
+}
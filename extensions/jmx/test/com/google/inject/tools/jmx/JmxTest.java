@@ -55,6 +55,7 @@ public class JmxTest {
           .to(FooImpl.class);
       bindConstant().annotatedWith(Names.named("port")).to(8080);
       bind(Key.get(Object.class)).to(Key.get(Bar.class));
+      install(new ProvisionStatistics());
 //      install(new ServletModule());
     }
   }
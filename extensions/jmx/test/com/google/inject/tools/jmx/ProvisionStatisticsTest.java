@@ -0,0 +1,228 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject.tools.jmx;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.ImplementedBy;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
+import com.google.inject.Singleton;
+import com.google.inject.name.Names;
+import com.google.inject.servlet.RequestScoped;
+import com.google.inject.servlet.ServletModule;
+import com.google.inject.servlet.ServletScopes;
+import com.google.inject.util.Modules;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import junit.framework.TestCase;
+
+public class ProvisionStatisticsTest extends TestCase {
+
+  private final ProvisionStatistics statistics = new ProvisionStatistics();
+
+  public void testProvisionsAreCountedPerBinding() {
+    Injector injector = Guice.createInjector(statistics, new AbstractModule() {
+      protected void configure() {
+        bind(Bar.class);
+      }
+    });
+
+    injector.getInstance(Foo.class);
+    injector.getInstance(Foo.class);
+    injector.getInstance(Bar.class);
+
+    assertEquals(3, statistics.get(Key.get(FooImpl.class)).getProvisionCount());
+    assertEquals(1, statistics.get(Key.get(Bar.class)).getProvisionCount());
+    assertNull(statistics.get(Key.get(Foo.class)));
+    assertEquals(4, statistics.getProvisionCount());
+  }
+
+  public void testDependencyDepth() {
+    Injector injector = Guice.createInjector(statistics);
+
+    injector.getInstance(Bar.class);
+    assertEquals(1, statistics.get(Key.get(Bar.class)).getMaxDependencyDepth());
+    assertEquals(2, statistics.get(Key.get(FooImpl.class)).getMaxDependencyDepth());
+  }
+
+  public void testMaxAndAverageTimes() {
+    Injector injector = Guice.createInjector(statistics, new AbstractModule() {
+      protected void configure() {
+        bind(String.class).toProvider(new SleepingProvider(10, 0, 0));
+      }
+    });
+
+    injector.getInstance(String.class);
+    injector.getInstance(String.class);
+    injector.getInstance(String.class);
+
+    BindingStatistics string = statistics.get(Key.get(String.class));
+    assertEquals(3, string.getProvisionCount());
+    assertTrue(string.getMaxProvisionNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+    assertTrue(string.getTotalProvisionNanos() >= string.getMaxProvisionNanos());
+    assertEquals(string.getTotalProvisionNanos() / 3, string.getAverageProvisionNanos());
+    assertTrue(string.getAverageProvisionNanos() < string.getMaxProvisionNanos());
+  }
+
+  public void testSingletonCreationTime() {
+    Injector injector = Guice.createInjector(statistics, new AbstractModule() {
+      protected void configure() {
+        bind(String.class).toProvider(new SleepingProvider(5)).in(Scopes.SINGLETON);
+        bind(Bar.class);
+      }
+    });
+
+    injector.getInstance(String.class);
+    injector.getInstance(String.class);
+    injector.getInstance(Bar.class);
+
+    BindingStatistics string = statistics.get(Key.get(String.class));
+    assertEquals(1, string.getProvisionCount());
+    assertTrue(string.getSingletonCreationNanos() >= TimeUnit.MILLISECONDS.toNanos(5));
+    assertEquals(string.getMaxProvisionNanos(), string.getSingletonCreationNanos());
+    assertEquals(-1, statistics.get(Key.get(Bar.class)).getSingletonCreationNanos());
+  }
+
+  public void testTopBindings() {
+    final Key<String> slow = Key.get(String.class, Names.named("slow"));
+    final Key<String> frequent = Key.get(String.class, Names.named("frequent"));
+    final Key<String> fast = Key.get(String.class, Names.named("fast"));
+    Injector injector = Guice.createInjector(statistics, new AbstractModule() {
+      protected void configure() {
+        bind(slow).toProvider(new SleepingProvider(20));
+        bind(frequent).toProvider(new SleepingProvider(5, 5, 5, 5, 5, 5, 5, 5));
+        bind(fast).toProvider(new SleepingProvider(0));
+      }
+    });
+
+    injector.getInstance(slow);
+    for (int i = 0; i < 8; i++) {
+      injector.getInstance(frequent);
+    }
+    injector.getInstance(fast);
+
+    assertOrder(statistics.getSlowestBindings(), slow, frequent, fast);
+    assertOrder(statistics.getCostliestBindings(), frequent, slow, fast);
+
+    statistics.setTopCount(2);
+    assertOrder(statistics.getSlowestBindings(), slow, frequent);
+    statistics.setTopCount(0);
+    assertEquals(0, statistics.getCostliestBindings().length);
+  }
+
+  public void testMonitoredScopeHitRate() {
+    Injector injector = Guice.createInjector(statistics, new AbstractModule() {
+      protected void configure() {
+        bind(Bar.class).in(statistics.monitor(Scopes.SINGLETON));
+      }
+    });
+
+    Bar bar = injector.getInstance(Bar.class);
+    assertSame(bar, injector.getInstance(Bar.class));
+    assertSame(bar, injector.getInstance(Bar.class));
+    assertSame(bar, injector.getInstance(Bar.class));
+
+    assertEquals(0.75, statistics.get(Key.get(Bar.class)).getScopeHitRate(), 0.0);
+    assertEquals(1, statistics.get(Key.get(Bar.class)).getProvisionCount());
+    assertEquals(-1.0, statistics.get(Key.get(FooImpl.class)).getScopeHitRate(), 0.0);
+  }
+
+  public void testMonitoredServletScopeHitRate() throws Exception {
+    final Injector injector = Guice.createInjector(statistics,
+        Modules.override(new ServletModule()).with(new AbstractModule() {
+          protected void configure() {
+            bindScope(RequestScoped.class, statistics.monitor(ServletScopes.REQUEST));
+          }
+        }));
+
+    Callable<Baz> request = new Callable<Baz>() {
+      public Baz call() {
+        Baz baz = injector.getInstance(Baz.class);
+        assertSame(baz, injector.getInstance(Baz.class));
+        return baz;
+      }
+    };
+    Map<Key<?>, Object> seedMap = Collections.emptyMap();
+    Baz first = ServletScopes.scopeRequest(request, seedMap).call();
+    Baz second = ServletScopes.scopeRequest(request, seedMap).call();
+    assertNotSame(first, second);
+
+    assertEquals(0.5, statistics.get(Key.get(Baz.class)).getScopeHitRate(), 0.0);
+    assertEquals(2, statistics.get(Key.get(Baz.class)).getProvisionCount());
+  }
+
+  public void testReset() {
+    Injector injector = Guice.createInjector(statistics, new AbstractModule() {
+      protected void configure() {
+        bind(Bar.class);
+      }
+    });
+
+    injector.getInstance(Bar.class);
+    statistics.reset();
+    assertNull(statistics.get(Key.get(Bar.class)));
+    assertEquals(0, statistics.getProvisionCount());
+    assertEquals(0, statistics.getSlowestBindings().length);
+  }
+
+  private void assertOrder(String[] bindings, Key<?>... expected) {
+    assertEquals(expected.length, bindings.length);
+    for (int i = 0; i < expected.length; i++) {
+      assertTrue(bindings[i], bindings[i].startsWith(expected[i].toString() + ":"));
+    }
+  }
+
+  @ImplementedBy(FooImpl.class)
+  interface Foo {}
+
+  static class FooImpl implements Foo {}
+
+  static class Bar {
+    @Inject Foo foo;
+  }
+
+  @RequestScoped
+  static class Baz {}
+
+  /** Sleeps for the given number of milliseconds on each provision, then for none. */
+  static class SleepingProvider implements Provider<String> {
+    private final long[] sleeps;
+    private int provisions;
+
+    SleepingProvider(long... sleeps) {
+      this.sleeps = sleeps;
+    }
+
+    public synchronized String get() {
+      long sleep = provisions < sleeps.length ? sleeps[provisions] : 0;
+      provisions++;
+      try {
+        Thread.sleep(sleep);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      return "provision " + provisions;
+    }
+  }
+}
@@ -0,0 +1,298 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.jndi;
+
+import static com.google.inject.internal.util.Preconditions.checkArgument;
+import static com.google.inject.internal.util.Preconditions.checkNotNull;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.naming.Context;
+import javax.naming.NamingException;
+
+/**
+ * Caches the objects looked up by {@link JndiIntegration#fromJndi(Class,
+ * String, JndiCache) JNDI providers}, so that objects like data sources don't
+ * require a naming lookup each time they're provisioned. Example usage:
+ *
+ * <pre>
+ * JndiCache cache = JndiCache.refreshAfter(5, TimeUnit.MINUTES)
+ *     .cacheFailuresFor(30, TimeUnit.SECONDS);
+ * bind(DataSource.class).toProvider(fromJndi(DataSource.class, "java:...", cache));
+ * </pre>
+ *
+ * <p>Entries are keyed by JNDI name, so a cache should only be shared by
+ * providers that look up names in the same naming context.
+ *
+ * @since 3.0
+ */
+public final class JndiCache {
+
+  private enum Mode { FOREVER, EXPIRE, REFRESH }
+
+  private final Mode mode;
+  private final long ttlNanos;
+  private final long failureTtlNanos;
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+  private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<String, Stats>();
+  private Executor refresher; // guarded by this
+  private boolean closed; // guarded by this
+
+  private JndiCache(Mode mode, long ttlNanos, long failureTtlNanos) {
+    this.mode = mode;
+    this.ttlNanos = ttlNanos;
+    this.failureTtlNanos = failureTtlNanos;
+  }
+
+  /** Returns a cache that looks up each name once and keeps the object forever. */
+  public static JndiCache forever() {
+    return new JndiCache(Mode.FOREVER, 0, 0);
+  }
+
+  /**
+   * Returns a cache that keeps each object for {@code duration}. The first
+   * provision after an object expires looks it up again.
+   */
+  public static JndiCache expireAfter(long duration, TimeUnit unit) {
+    checkArgument(duration > 0, "duration must be positive");
+    return new JndiCache(Mode.EXPIRE, unit.toNanos(duration), 0);
+  }
+
+  /**
+   * Returns a cache that keeps each object until it has been replaced by a
+   * newer one. The first provision after {@code duration} has elapsed returns
+   * the cached object and looks up its replacement on a background thread.
+   * If that lookup fails, the cached object is kept. Call {@link #close} to
+   * stop the background thread when the cache is no longer used.
+   */
+  public static JndiCache refreshAfter(long duration, TimeUnit unit) {
+    checkArgument(duration > 0, "duration must be positive");
+    return new JndiCache(Mode.REFRESH, unit.toNanos(duration), 0);
+  }
+
+  /**
+   * Returns a cache like this one that also remembers failed lookups for
+   * {@code duration}. Provisions during that time fail without consulting
+   * JNDI, with a new exception caused by the original one. By default, failed
+   * lookups aren't cached.
+   */
+  public JndiCache cacheFailuresFor(long duration, TimeUnit unit) {
+    checkArgument(duration > 0, "duration must be positive");
+    return new JndiCache(mode, ttlNanos, unit.toNanos(duration));
+  }
+
+  /** Returns the statistics for each name looked up through this cache. */
+  public Map<String, Stats> getStats() {
+    return Collections.unmodifiableMap(stats);
+  }
+
+  /** Discards all cached objects and failures. Statistics are retained. */
+  public void invalidateAll() {
+    entries.clear();
+  }
+
+  /**
+   * Stops the background thread that refreshes objects. Afterwards, the
+   * first provision after an object's refresh time looks it up again, like
+   * an {@link #expireAfter expiring} cache.
+   */
+  public synchronized void close() {
+    closed = true;
+    if (refresher instanceof ExecutorService) {
+      ((ExecutorService) refresher).shutdown();
+    }
+    refresher = null;
+  }
+
+  Object lookup(Context context, String name) throws NamingException {
+    Stats nameStats = stats(name);
+    long now = System.nanoTime();
+    Entry entry = entries.get(name);
+
+    if (entry != null) {
+      if (entry.failure != null) {
+        if (now - entry.loadedAt < failureTtlNanos) {
+          nameStats.hits.incrementAndGet();
+          throw cachedFailure(name, entry.failure);
+        }
+      } else if (mode == Mode.FOREVER || now - entry.loadedAt < ttlNanos) {
+        nameStats.hits.incrementAndGet();
+        return entry.value;
+      } else if (mode == Mode.REFRESH && refreshInBackground(context, name, entry)) {
+        nameStats.hits.incrementAndGet();
+        return entry.value;
+      }
+    }
+
+    nameStats.misses.incrementAndGet();
+    try {
+      Object value = context.lookup(name);
+      entries.put(name, new Entry(value, null, System.nanoTime()));
+      return value;
+    } catch (NamingException e) {
+      if (failureTtlNanos > 0) {
+        entries.put(name, new Entry(null, e, System.nanoTime()));
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Returns a new exception for a cached failure. Each caller gets its own, since callers may
+   * modify or chain the exceptions they catch.
+   */
+  private static NamingException cachedFailure(String name, NamingException failure) {
+    NamingException result = new NamingException(
+        "Lookup of '" + name + "' failed recently: " + failure.getExplanation());
+    result.setRootCause(failure);
+    return result;
+  }
+
+  /**
+   * Looks up a replacement for {@code stale} on the refresher thread, unless one is already being
+   * looked up. Returns false if the cache has been closed, so the stale object can't be served.
+   */
+  private boolean refreshInBackground(final Context context, final String name, final Entry stale) {
+    Executor refresher = refresher();
+    if (refresher == null) {
+      return false;
+    }
+    if (!stale.refreshing.compareAndSet(false, true)) {
+      return true;
+    }
+
+    try {
+      refresher.execute(new Runnable() {
+        public void run() {
+          stats(name).refreshes.incrementAndGet();
+          boolean replaced = false;
+          try {
+            Object value = context.lookup(name);
+            replaced = entries.replace(name, stale, new Entry(value, null, System.nanoTime()));
+          } catch (NamingException e) {
+            // keep serving the stale object, and try again on the next provision
+          } finally {
+            if (!replaced) {
+              stale.refreshing.set(false);
+            }
+          }
+        }
+      });
+      return true;
+    } catch (RejectedExecutionException e) {
+      // closed concurrently
+      stale.refreshing.set(false);
+      return false;
+    }
+  }
+
+  //VisibleForTesting
+  synchronized void setRefresher(Executor refresher) {
+    this.refresher = refresher;
+  }
+
+  /** Returns the refresher, or null if the cache has been closed. */
+  private synchronized Executor refresher() {
+    if (closed) {
+      return null;
+    }
+    if (refresher == null) {
+      refresher = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "JndiCache refresher");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return refresher;
+  }
+
+  private Stats stats(String name) {
+    Stats result = stats.get(name);
+    if (result == null) {
+      Stats created = new Stats();
+      result = stats.putIfAbsent(name, created);
+      if (result == null) {
+        result = created;
+      }
+    }
+    return result;
+  }
+
+  @Override public String toString() {
+    return "JndiCache[" + mode.name().toLowerCase()
+        + (mode != Mode.FOREVER ? " " + ttlNanos + "ns" : "")
+        + (failureTtlNanos > 0 ? ", failures " + failureTtlNanos + "ns" : "") + "]";
+  }
+
+  /** A cached object or failure. */
+  private static class Entry {
+    final Object value;
+    final NamingException failure;
+    final long loadedAt;
+    final AtomicBoolean refreshing = new AtomicBoolean();
+
+    Entry(Object value, NamingException failure, long loadedAt) {
+      this.value = value;
+      this.failure = failure;
+      this.loadedAt = loadedAt;
+    }
+  }
+
+  /**
+   * Lookup statistics for a single JNDI name.
+   *
+   * @since 3.0
+   */
+  public static final class Stats {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    private Stats() {}
+
+    /** Returns the number of provisions served from the cache. */
+    public long getHitCount() {
+      return hits.get();
+    }
+
+    /** Returns the number of provisions that required a JNDI lookup. */
+    public long getMissCount() {
+      return misses.get();
+    }
+
+    /** Returns the number of lookups made by the background refresher. */
+    public long getRefreshCount() {
+      return refreshes.get();
+    }
+
+    @Override public String toString() {
+      return "hits=" + getHitCount() + ", misses=" + getMissCount()
+          + ", refreshes=" + getRefreshCount();
+    }
+  }
+}
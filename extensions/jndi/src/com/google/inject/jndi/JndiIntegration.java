@@ -18,6 +18,7 @@ package com.google.inject.jndi;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import static com.google.inject.internal.util.Preconditions.checkNotNull;
 import javax.naming.Context;
 import javax.naming.NamingException;
 
@@ -40,7 +41,22 @@ public class JndiIntegration {
    * </pre>
    */
   public static <T> Provider<T> fromJndi(Class<T> type, String name) {
-    return new JndiProvider<T>(type, name);
+    return new JndiProvider<T>(type, name, null);
+  }
+
+  /**
+   * Creates a provider which looks up objects in JNDI using the given name,
+   * caching them in {@code cache}. Example usage:
+   *
+   * <pre>
+   * bind(DataSource.class).toProvider(
+   *     fromJndi(DataSource.class, "java:...", JndiCache.forever()));
+   * </pre>
+   *
+   * @since 3.0
+   */
+  public static <T> Provider<T> fromJndi(Class<T> type, String name, JndiCache cache) {
+    return new JndiProvider<T>(type, name, checkNotNull(cache, "cache"));
   }
 
   static class JndiProvider<T> implements Provider<T> {
@@ -48,15 +64,17 @@ public class JndiIntegration {
     @Inject Context context;
     final Class<T> type;
     final String name;
+    final JndiCache cache;
 
-    public JndiProvider(Class<T> type, String name) {
+    public JndiProvider(Class<T> type, String name, JndiCache cache) {
       this.type = type;
       this.name = name;
+      this.cache = cache;
     }
 
     public T get() {
       try {
-        return type.cast(context.lookup(name));
+        return type.cast(cache != null ? cache.lookup(context, name) : context.lookup(name));
       }
       catch (NamingException e) {
         throw new RuntimeException(e);
@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.google.inject.jndi;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import javax.naming.Context;
+import javax.naming.NamingException;
+import junit.framework.TestCase;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+public class JndiCacheTest extends TestCase {
+
+  private static final String NAME = "java:comp/env/jdbc/db";
+
+  private final Context context = createMock(Context.class);
+
+  public void testForeverLooksUpOnce() throws NamingException {
+    expect(context.lookup(NAME)).andReturn("a");
+    replay(context);
+
+    JndiCache cache = JndiCache.forever();
+    assertEquals("a", cache.lookup(context, NAME));
+    assertEquals("a", cache.lookup(context, NAME));
+    assertEquals("a", cache.lookup(context, NAME));
+    verify(context);
+    assertStats(cache, 2, 1, 0);
+  }
+
+  public void testExpireAfterHitsUntilExpiry() throws NamingException {
+    expect(context.lookup(NAME)).andReturn("a");
+    replay(context);
+
+    JndiCache cache = JndiCache.expireAfter(1, TimeUnit.HOURS);
+    assertEquals("a", cache.lookup(context, NAME));
+    assertEquals("a", cache.lookup(context, NAME));
+    verify(context);
+    assertStats(cache, 1, 1, 0);
+  }
+
+  public void testExpireAfterLooksUpAgain() throws Exception {
+    expect(context.lookup(NAME)).andReturn("a");
+    expect(context.lookup(NAME)).andReturn("b");
+    replay(context);
+
+    JndiCache cache = JndiCache.expireAfter(1, TimeUnit.MILLISECONDS);
+    assertEquals("a", cache.lookup(context, NAME));
+    Thread.sleep(10);
+    assertEquals("b", cache.lookup(context, NAME));
+    verify(context);
+    assertStats(cache, 0, 2, 0);
+  }
+
+  public void testRefreshAfterServesStaleValueThenReplacesIt() throws Exception {
+    expect(context.lookup(NAME)).andReturn("a");
+    expect(context.lookup(NAME)).andReturn("b").anyTimes();
+    replay(context);
+
+    JndiCache cache = JndiCache.refreshAfter(1, TimeUnit.MILLISECONDS);
+    cache.setRefresher(new DirectExecutor());
+    assertEquals("a", cache.lookup(context, NAME));
+    Thread.sleep(10);
+    assertEquals("a", cache.lookup(context, NAME));
+    assertStats(cache, 1, 1, 1);
+    assertEquals("b", cache.lookup(context, NAME));
+    verify(context);
+  }
+
+  public void testFailedRefreshKeepsStaleValue() throws Exception {
+    expect(context.lookup(NAME)).andReturn("a");
+    expect(context.lookup(NAME)).andThrow(new NamingException("unavailable"));
+    expect(context.lookup(NAME)).andReturn("b").anyTimes();
+    replay(context);
+
+    JndiCache cache = JndiCache.refreshAfter(1, TimeUnit.MILLISECONDS);
+    cache.setRefresher(new DirectExecutor());
+    assertEquals("a", cache.lookup(context, NAME));
+    Thread.sleep(10);
+    assertEquals("a", cache.lookup(context, NAME));
+    assertEquals("a", cache.lookup(context, NAME));
+    assertStats(cache, 2, 1, 2);
+    assertEquals("b", cache.lookup(context, NAME));
+    verify(context);
+  }
+
+  public void testRefreshIsRetriedAfterUnexpectedFailure() throws Exception {
+    expect(context.lookup(NAME)).andReturn("a");
+    expect(context.lookup(NAME)).andThrow(new IllegalStateException("broken"));
+    expect(context.lookup(NAME)).andReturn("b").anyTimes();
+    replay(context);
+
+    JndiCache cache = JndiCache.refreshAfter(1, TimeUnit.MILLISECONDS);
+    cache.setRefresher(new Executor() {
+      public void execute(Runnable command) {
+        try {
+          command.run();
+        } catch (IllegalStateException expected) {
+          // an executor's thread survives failed tasks
+        }
+      }
+    });
+    assertEquals("a", cache.lookup(context, NAME));
+    Thread.sleep(10);
+    assertEquals("a", cache.lookup(context, NAME));
+    assertEquals("a", cache.lookup(context, NAME));
+    assertStats(cache, 2, 1, 2);
+    assertEquals("b", cache.lookup(context, NAME));
+    verify(context);
+  }
+
+  public void testClosedCacheLooksUpOnProvisioningThread() throws Exception {
+    expect(context.lookup(NAME)).andReturn("a");
+    expect(context.lookup(NAME)).andReturn("b");
+    replay(context);
+
+    JndiCache cache = JndiCache.refreshAfter(1, TimeUnit.MILLISECONDS);
+    assertEquals("a", cache.lookup(context, NAME));
+    cache.close();
+    Thread.sleep(10);
+    assertEquals("b", cache.lookup(context, NAME));
+    verify(context);
+    assertStats(cache, 0, 2, 0);
+  }
+
+  public void testFailuresAreNotCachedByDefault() throws NamingException {
+    NamingException failure = new NamingException("unavailable");
+    expect(context.lookup(NAME)).andThrow(failure);
+    expect(context.lookup(NAME)).andReturn("a");
+    replay(context);
+
+    JndiCache cache = JndiCache.forever();
+    assertSame(failure, lookupFailure(cache));
+    assertEquals("a", cache.lookup(context, NAME));
+    verify(context);
+    assertStats(cache, 0, 2, 0);
+  }
+
+  public void testCachedFailureIsWrappedForEachCaller() throws NamingException {
+    NamingException failure = new NamingException("unavailable");
+    expect(context.lookup(NAME)).andThrow(failure);
+    replay(context);
+
+    JndiCache cache = JndiCache.forever().cacheFailuresFor(1, TimeUnit.HOURS);
+    assertSame(failure, lookupFailure(cache));
+    NamingException first = lookupFailure(cache);
+    NamingException second = lookupFailure(cache);
+    assertNotSame(first, second);
+    assertSame(failure, first.getRootCause());
+    assertSame(failure, second.getRootCause());
+    assertTrue(first.getMessage(), first.getMessage().contains("unavailable"));
+    verify(context);
+    assertStats(cache, 2, 1, 0);
+  }
+
+  public void testCachedFailureExpires() throws Exception {
+    expect(context.lookup(NAME)).andThrow(new NamingException("unavailable"));
+    expect(context.lookup(NAME)).andReturn("a");
+    replay(context);
+
+    JndiCache cache = JndiCache.forever().cacheFailuresFor(1, TimeUnit.MILLISECONDS);
+    lookupFailure(cache);
+    Thread.sleep(10);
+    assertEquals("a", cache.lookup(context, NAME));
+    assertEquals("a", cache.lookup(context, NAME));
+    verify(context);
+    assertStats(cache, 1, 2, 0);
+  }
+
+  public void testInvalidateAllKeepsStats() throws NamingException {
+    expect(context.lookup(NAME)).andReturn("a");
+    expect(context.lookup(NAME)).andReturn("b");
+    replay(context);
+
+    JndiCache cache = JndiCache.forever();
+    assertEquals("a", cache.lookup(context, NAME));
+    cache.invalidateAll();
+    assertEquals("b", cache.lookup(context, NAME));
+    verify(context);
+    assertStats(cache, 0, 2, 0);
+  }
+
+  private NamingException lookupFailure(JndiCache cache) {
+    try {
+      cache.lookup(context, NAME);
+      fail();
+      return null;
+    } catch (NamingException expected) {
+      return expected;
+    }
+  }
+
+  private void assertStats(JndiCache cache, long hits, long misses, long refreshes) {
+    JndiCache.Stats stats = cache.getStats().get(NAME);
+    assertEquals("hits", hits, stats.getHitCount());
+    assertEquals("misses", misses, stats.getMissCount());
+    assertEquals("refreshes", refreshes, stats.getRefreshCount());
+  }
+
+  /** Runs refreshes on the provisioning thread, so tests can observe them. */
+  private static class DirectExecutor implements Executor {
+    public void execute(Runnable command) {
+      command.run();
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.inject.mini;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Generates an injector for the annotated type at compile time. The
+ * generated class is equivalent to calling {@link MiniGuice#inject} with the
+ * annotated type and instances of {@link #modules}, but it calls constructors,
+ * fields and {@code @Provides} methods directly, without any reflection.
+ *
+ * <p>For a root type {@code com.example.App}, {@link MiniGuiceProcessor}
+ * generates {@code com.example.App_MiniGuice} with a single method that takes
+ * the module instances in the order they're listed:
+ * <pre>
+ * {@literal @}GenerateMiniGuice(modules = AppModule.class)
+ * public class App {
+ *   {@literal @}Inject App(Server server) { ... }
+ * }
+ *
+ * App app = App_MiniGuice.inject(new AppModule());
+ * </pre>
+ *
+ * <p>Because the generated code lives in the root type's package, injected
+ * constructors, fields and {@code @Provides} methods may not be private.
+ * Bindings that MiniGuice would reject at runtime are reported as compile
+ * errors.
+ *
+ * @since 3.0
+ */
+@Documented @Target(TYPE) @Retention(SOURCE)
+public @interface GenerateMiniGuice {
+
+  /**
+   * The modules that contain the {@code @Provides} methods for the generated
+   * injector.
+   */
+  Class<?>[] modules() default {};
+}
@@ -0,0 +1,653 @@
+/*
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.inject.mini;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates injectors for types annotated {@literal @}{@link
+ * GenerateMiniGuice}. The generated injector resolves the same bindings as
+ * {@link MiniGuice#inject}, but it does so at compile time: singletons are
+ * held in fields, and constructors, fields and {@code @Provides} methods are
+ * invoked directly. This makes it suitable for environments where startup
+ * time matters and reflection is slow.
+ *
+ * <p>Annotation processors need Java 6, so guice-mini requires Java 6 where
+ * the rest of Guice requires Java 5.
+ *
+ * @since 3.0
+ */
+@SupportedAnnotationTypes("com.google.inject.mini.GenerateMiniGuice")
+public final class MiniGuiceProcessor extends AbstractProcessor {
+  private static final String INJECT = "javax.inject.Inject";
+  private static final String SINGLETON = "javax.inject.Singleton";
+  private static final String QUALIFIER = "javax.inject.Qualifier";
+  private static final String PROVIDES = "com.google.inject.Provides";
+  private static final Set<String> PROVIDER_TYPES = new HashSet<String>(Arrays.asList(
+      "javax.inject.Provider", "com.google.inject.Provider"));
+
+  @Override public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment env) {
+    for (Element element : env.getElementsAnnotatedWith(GenerateMiniGuice.class)) {
+      TypeElement root = (TypeElement) element;
+      try {
+        new Generator(root).generate();
+      } catch (IllegalArgumentException e) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), root);
+      } catch (IOException e) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+            "Failed to write the injector for " + root + ": " + e, root);
+      }
+    }
+    return true;
+  }
+
+  /** Resolves the bindings for one root type and writes its injector. */
+  private final class Generator {
+    private final TypeElement root;
+    private final Map<Key, Binding> bindings = new LinkedHashMap<Key, Binding>();
+    private final Queue<RequiredKey> requiredKeys = new LinkedList<RequiredKey>();
+    private final List<TypeMirror> modules = new ArrayList<TypeMirror>();
+
+    private Generator(TypeElement root) {
+      this.root = root;
+    }
+
+    void generate() throws IOException {
+      for (TypeMirror module : modules()) {
+        install(module);
+      }
+      Key rootKey = new Key(root.asType(), null);
+      requireKey(rootKey, "root injection");
+      addJitBindings();
+      checkForCycles();
+      write(bindings.get(rootKey));
+    }
+
+    private List<TypeMirror> modules() {
+      for (AnnotationMirror annotation : root.getAnnotationMirrors()) {
+        if (!name(annotation.getAnnotationType()).equals(GenerateMiniGuice.class.getName())) {
+          continue;
+        }
+        List<TypeMirror> result = new ArrayList<TypeMirror>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+            : annotation.getElementValues().entrySet()) {
+          if (entry.getKey().getSimpleName().contentEquals("modules")) {
+            for (Object value : (List<?>) entry.getValue().getValue()) {
+              result.add((TypeMirror) ((AnnotationValue) value).getValue());
+            }
+          }
+        }
+        return result;
+      }
+      throw new AssertionError();
+    }
+
+    private void install(TypeMirror moduleType) {
+      int moduleIndex = modules.size();
+      modules.add(moduleType);
+      boolean hasProvidesMethods = false;
+      for (TypeElement c = (TypeElement) processingEnv.getTypeUtils().asElement(moduleType);
+          c != null; c = superclass(c)) {
+        for (ExecutableElement method : ElementFilter.methodsIn(c.getEnclosedElements())) {
+          if (hasAnnotation(method, PROVIDES)) {
+            checkAccessible(method);
+            Key key = key(method, method.getReturnType(), method);
+            Dependency[] parameters = parametersToDependencies(method);
+            putBinding(new Binding(key, bindings.size(), hasAnnotation(method, SINGLETON),
+                method, moduleIndex, parameters, new ArrayList<VariableElement>(),
+                new Dependency[0]));
+            hasProvidesMethods = true;
+          }
+        }
+      }
+      if (!hasProvidesMethods) {
+        throw new IllegalArgumentException("No @Provides methods on " + moduleType);
+      }
+    }
+
+    private void addJitBindings() {
+      RequiredKey requiredKey;
+      while ((requiredKey = requiredKeys.poll()) != null) {
+        Key key = requiredKey.key;
+        if (bindings.containsKey(key)) {
+          continue;
+        }
+        if (key.mirror.getKind() != TypeKind.DECLARED
+            || !((DeclaredType) key.mirror).getTypeArguments().isEmpty()
+            || key.annotation != null) {
+          throw new IllegalArgumentException(
+              "No binding for " + key + " required by " + requiredKey.requiredBy);
+        }
+        addJitBinding(key, requiredKey.requiredBy);
+      }
+    }
+
+    private void addJitBinding(Key key, Object requiredBy) {
+      TypeElement type = (TypeElement) ((DeclaredType) key.mirror).asElement();
+
+      /*
+       * Lookup the injectable fields and their corresponding keys.
+       */
+      List<VariableElement> injectedFields = new ArrayList<VariableElement>();
+      List<Dependency> fieldDependencies = new ArrayList<Dependency>();
+      for (TypeElement c = type; c != null; c = superclass(c)) {
+        for (VariableElement field : ElementFilter.fieldsIn(c.getEnclosedElements())) {
+          if (!hasAnnotation(field, INJECT)) {
+            continue;
+          }
+          checkAccessible(field);
+          injectedFields.add(field);
+          Dependency dependency = dependency(field, field.asType(), field);
+          fieldDependencies.add(dependency);
+          requireKey(dependency.key, field);
+        }
+      }
+
+      /*
+       * Lookup @Inject-annotated constructors. If there's no @Inject-annotated
+       * constructor, use a default constructor if the class has other injections.
+       */
+      ExecutableElement injectedConstructor = null;
+      for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+        if (!hasAnnotation(constructor, INJECT)) {
+          continue;
+        }
+        if (injectedConstructor != null) {
+          throw new IllegalArgumentException("Too many injectable constructors on " + type);
+        }
+        injectedConstructor = constructor;
+      }
+      if (injectedConstructor == null) {
+        if (!injectedFields.isEmpty()) {
+          for (ExecutableElement constructor
+              : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()
+                && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+              injectedConstructor = constructor;
+            }
+          }
+        }
+        if (injectedConstructor == null) {
+          throw new IllegalArgumentException("No injectable constructor on "
+              + type + " required by " + requiredBy);
+        }
+      }
+      if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+        throw new IllegalArgumentException("Cannot construct abstract " + type
+            + " required by " + requiredBy);
+      }
+      if (type.getNestingKind() != NestingKind.TOP_LEVEL
+          && !type.getModifiers().contains(Modifier.STATIC)) {
+        throw new IllegalArgumentException("Cannot construct inner class " + type
+            + " required by " + requiredBy);
+      }
+      checkAccessible(injectedConstructor);
+
+      Dependency[] parameters = parametersToDependencies(injectedConstructor);
+      putBinding(new Binding(key, bindings.size(), hasAnnotation(type, SINGLETON),
+          injectedConstructor, -1, parameters, injectedFields,
+          fieldDependencies.toArray(new Dependency[fieldDependencies.size()])));
+    }
+
+    private void putBinding(Binding binding) {
+      if (bindings.put(binding.key, binding) != null) {
+        throw new IllegalArgumentException("Duplicate binding " + binding.key);
+      }
+    }
+
+    private void requireKey(Key key, Object requiredBy) {
+      requiredKeys.add(new RequiredKey(key, requiredBy));
+    }
+
+    private Dependency[] parametersToDependencies(ExecutableElement member) {
+      List<? extends VariableElement> parameters = member.getParameters();
+      Dependency[] result = new Dependency[parameters.size()];
+      for (int i = 0; i < result.length; i++) {
+        String name = member.getEnclosingElement() + "." + member + " parameter " + i;
+        result[i] = dependency(name, parameters.get(i).asType(), parameters.get(i));
+        requireKey(result[i].key, name);
+      }
+      return result;
+    }
+
+    /**
+     * Returns the dependency on {@code type}. Dependencies on providers are
+     * dependencies on the provided key.
+     */
+    private Dependency dependency(Object subject, TypeMirror type, Element annotated) {
+      if (type.getKind() == TypeKind.DECLARED) {
+        DeclaredType declaredType = (DeclaredType) type;
+        String rawType = name(declaredType);
+        if (PROVIDER_TYPES.contains(rawType)) {
+          if (declaredType.getTypeArguments().size() != 1) {
+            throw new IllegalArgumentException("Cannot inject a raw provider at " + subject);
+          }
+          return new Dependency(key(subject, declaredType.getTypeArguments().get(0), annotated),
+              rawType);
+        }
+      }
+      return new Dependency(key(subject, type, annotated), null);
+    }
+
+    private Key key(Object subject, TypeMirror type, Element annotated) {
+      AnnotationMirror bindingAnnotation = null;
+      for (AnnotationMirror a : annotated.getAnnotationMirrors()) {
+        if (!hasAnnotation(a.getAnnotationType().asElement(), QUALIFIER)) {
+          continue;
+        }
+        if (bindingAnnotation != null) {
+          throw new IllegalArgumentException("Too many binding annotations on " + subject);
+        }
+        bindingAnnotation = a;
+      }
+      if (type.getKind().isPrimitive()) {
+        type = processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).asType();
+      }
+      return new Key(type, bindingAnnotation != null ? bindingAnnotation.toString() : null);
+    }
+
+    /**
+     * Fails if a binding depends on itself other than through a provider. The
+     * generated code would recurse until the stack overflows.
+     */
+    private void checkForCycles() {
+      Map<Binding, Boolean> visited = new HashMap<Binding, Boolean>();
+      List<Binding> path = new ArrayList<Binding>();
+      for (Binding binding : bindings.values()) {
+        checkForCycles(binding, visited, path);
+      }
+    }
+
+    private void checkForCycles(Binding binding, Map<Binding, Boolean> visited,
+        List<Binding> path) {
+      Boolean done = visited.get(binding);
+      if (done == Boolean.TRUE) {
+        return;
+      }
+      if (done == Boolean.FALSE) {
+        StringBuilder message = new StringBuilder("Dependency cycle: ");
+        for (Binding b : path.subList(path.indexOf(binding), path.size())) {
+          message.append(b.key).append(" -> ");
+        }
+        throw new IllegalArgumentException(message.append(binding.key).toString());
+      }
+
+      visited.put(binding, Boolean.FALSE);
+      path.add(binding);
+      for (Dependency dependency : binding.dependencies()) {
+        if (dependency.providerType == null) {
+          checkForCycles(bindings.get(dependency.key), visited, path);
+        }
+      }
+      path.remove(path.size() - 1);
+      visited.put(binding, Boolean.TRUE);
+    }
+
+    private void write(Binding rootBinding) throws IOException {
+      String packageName = processingEnv.getElementUtils().getPackageOf(root)
+          .getQualifiedName().toString();
+      String simpleName = root.getSimpleName().toString();
+      for (Element e = root.getEnclosingElement(); e instanceof TypeElement;
+          e = e.getEnclosingElement()) {
+        simpleName = e.getSimpleName() + "_" + simpleName;
+      }
+      simpleName += "_MiniGuice";
+
+      StringBuilder out = new StringBuilder();
+      out.append("// Generated by ").append(MiniGuiceProcessor.class.getName())
+          .append(". Do not edit.\n");
+      if (packageName.length() > 0) {
+        out.append("package ").append(packageName).append(";\n");
+      }
+      out.append("\n");
+      out.append("public final class ").append(simpleName).append(" {\n");
+      out.append("  private static final Object UNINITIALIZED = new Object();\n\n");
+
+      StringBuilder moduleParameters = new StringBuilder();
+      StringBuilder moduleArguments = new StringBuilder();
+      for (int i = 0; i < modules.size(); i++) {
+        out.append("  private final ").append(modules.get(i)).append(" module").append(i)
+            .append(";\n");
+        if (i > 0) {
+          moduleParameters.append(", ");
+          moduleArguments.append(", ");
+        }
+        moduleParameters.append(modules.get(i)).append(" module").append(i);
+        moduleArguments.append("module").append(i);
+      }
+
+      // singleton fields, and providers for bindings that are injected as providers
+      Set<String> providerFields = new HashSet<String>();
+      for (Binding binding : bindings.values()) {
+        if (binding.singleton) {
+          out.append("  private Object singleton").append(binding.index)
+              .append(" = UNINITIALIZED;\n");
+        }
+        for (Dependency dependency : binding.dependencies()) {
+          if (dependency.providerType == null) {
+            continue;
+          }
+          Binding target = bindings.get(dependency.key);
+          String field = providerField(dependency, target);
+          if (providerFields.add(field)) {
+            out.append("  private final ").append(dependency.providerType).append("<")
+                .append(target.key.type).append("> ").append(field).append(" =\n")
+                .append("      new ").append(dependency.providerType).append("<")
+                .append(target.key.type).append(">() {\n")
+                .append("        public ").append(target.key.type).append(" get() {\n")
+                .append("          return get").append(target.index).append("();\n")
+                .append("        }\n")
+                .append("      };\n");
+          }
+        }
+      }
+      out.append("\n");
+
+      out.append("  private ").append(simpleName).append("(").append(moduleParameters)
+          .append(") {\n");
+      for (int i = 0; i < modules.size(); i++) {
+        out.append("    this.module").append(i).append(" = module").append(i).append(";\n");
+      }
+      out.append("  }\n\n");
+
+      out.append("  public static ").append(rootBinding.key.type).append(" inject(")
+          .append(moduleParameters).append(") {\n");
+      out.append("    ").append(simpleName).append(" injector = new ").append(simpleName)
+          .append("(").append(moduleArguments).append(");\n");
+      for (Binding binding : bindings.values()) {
+        if (binding.singleton) {
+          out.append("    injector.get").append(binding.index).append("();\n");
+        }
+      }
+      out.append("    return injector.get").append(rootBinding.index).append("();\n");
+      out.append("  }\n");
+
+      for (Binding binding : bindings.values()) {
+        out.append("\n");
+        out.append("  // ").append(binding.key).append("\n");
+        String method = (binding.singleton ? "create" : "get") + binding.index;
+        if (binding.singleton) {
+          out.append("  @SuppressWarnings(\"unchecked\")\n");
+          out.append("  private ").append(binding.key.type).append(" get").append(binding.index)
+              .append("() {\n");
+          out.append("    if (singleton").append(binding.index).append(" == UNINITIALIZED) {\n");
+          out.append("      singleton").append(binding.index).append(" = ").append(method)
+              .append("();\n");
+          out.append("    }\n");
+          out.append("    return (").append(binding.key.type).append(") singleton")
+              .append(binding.index).append(";\n");
+          out.append("  }\n\n");
+        }
+        out.append("  private ").append(binding.key.type).append(" ").append(method)
+            .append("() {\n");
+        writeCreation(out, binding);
+        out.append("  }\n");
+      }
+      out.append("}\n");
+
+      String name = packageName.length() > 0 ? packageName + "." + simpleName : simpleName;
+      Writer writer = processingEnv.getFiler().createSourceFile(name, root).openWriter();
+      try {
+        writer.write(out.toString());
+      } finally {
+        writer.close();
+      }
+    }
+
+    private void writeCreation(StringBuilder out, Binding binding) {
+      String arguments = arguments(binding.parameters);
+      if (binding.module != -1) {
+        out.append("    return module").append(binding.module).append(".")
+            .append(binding.member.getSimpleName()).append("(").append(arguments).append(");\n");
+        return;
+      }
+
+      if (binding.fields.isEmpty()) {
+        out.append("    return new ").append(binding.key.type).append("(").append(arguments)
+            .append(");\n");
+        return;
+      }
+
+      out.append("    ").append(binding.key.type).append(" result = new ")
+          .append(binding.key.type).append("(").append(arguments).append(");\n");
+      for (int i = 0; i < binding.fields.size(); i++) {
+        VariableElement field = binding.fields.get(i);
+        TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+        out.append("    ");
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+          out.append(declaringType.getQualifiedName());
+        } else if (declaringType.equals(((DeclaredType) binding.key.mirror).asElement())) {
+          out.append("result");
+        } else {
+          out.append("((").append(declaringType.getQualifiedName()).append(") result)");
+        }
+        out.append(".").append(field.getSimpleName()).append(" = ")
+            .append(argument(binding.fieldDependencies[i])).append(";\n");
+      }
+      out.append("    return result;\n");
+    }
+
+    private String arguments(Dependency[] dependencies) {
+      StringBuilder result = new StringBuilder();
+      for (int i = 0; i < dependencies.length; i++) {
+        if (i > 0) {
+          result.append(", ");
+        }
+        result.append(argument(dependencies[i]));
+      }
+      return result.toString();
+    }
+
+    private String argument(Dependency dependency) {
+      Binding target = bindings.get(dependency.key);
+      return dependency.providerType == null
+          ? "get" + target.index + "()"
+          : providerField(dependency, target);
+    }
+
+    private String providerField(Dependency dependency, Binding target) {
+      return (dependency.providerType.startsWith("javax.") ? "provider" : "guiceProvider")
+          + target.index;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+      TypeMirror superclass = type.getSuperclass();
+      if (superclass.getKind() != TypeKind.DECLARED) {
+        return null;
+      }
+      TypeElement result = (TypeElement) ((DeclaredType) superclass).asElement();
+      return result.getQualifiedName().contentEquals("java.lang.Object") ? null : result;
+    }
+
+    /**
+     * Returns true if {@code element} is public, or is package-private or protected in {@code
+     * packageName}. The injector isn't a subclass, so protected elements of other packages are
+     * inaccessible to it.
+     */
+    private boolean isAccessible(Element element, String packageName) {
+      Set<Modifier> modifiers = element.getModifiers();
+      return modifiers.contains(Modifier.PUBLIC)
+          || (!modifiers.contains(Modifier.PRIVATE) && packageName(element).equals(packageName));
+    }
+
+    private String packageName(Element element) {
+      return processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+    }
+
+    /**
+     * Checks that the generated injector, which is in the root's package, can use {@code element}
+     * directly: the member and every type enclosing it must be accessible from that package.
+     */
+    private void checkAccessible(Element element) {
+      if (element.getModifiers().contains(Modifier.PRIVATE)) {
+        throw new IllegalArgumentException("Cannot inject private " + element + " on "
+            + element.getEnclosingElement() + " without reflection");
+      }
+      String rootPackage = packageName(root);
+      if (!isAccessible(element, rootPackage)) {
+        throw new IllegalArgumentException("Cannot inject " + element + " on "
+            + element.getEnclosingElement() + " from package " + rootPackage
+            + " without reflection: it must be public");
+      }
+      for (Element type = element.getEnclosingElement(); type instanceof TypeElement;
+          type = type.getEnclosingElement()) {
+        if (!isAccessible(type, rootPackage)) {
+          throw new IllegalArgumentException("Cannot inject " + element + " on "
+              + element.getEnclosingElement() + " without reflection: " + type
+              + " isn't accessible from package " + rootPackage);
+        }
+      }
+      if (element.getKind().isField() && element.getModifiers().contains(Modifier.FINAL)) {
+        throw new IllegalArgumentException("Cannot inject final field " + element + " on "
+            + element.getEnclosingElement());
+      }
+    }
+  }
+
+  private static boolean hasAnnotation(Element element, String annotationType) {
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      if (name(annotation.getAnnotationType()).equals(annotationType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String name(DeclaredType type) {
+    return ((TypeElement) type.asElement()).getQualifiedName().toString();
+  }
+
+  private static boolean equal(Object a, Object b) {
+    return a == null ? b == null : a.equals(b);
+  }
+
+  private static final class Key {
+    final TypeMirror mirror;
+    final String type;
+    final String annotation;
+
+    Key(TypeMirror mirror, String annotation) {
+      this.mirror = mirror;
+      this.type = mirror.toString();
+      this.annotation = annotation;
+    }
+
+    @Override public boolean equals(Object o) {
+      return o instanceof Key
+          && ((Key) o).type.equals(type)
+          && equal(annotation, ((Key) o).annotation);
+    }
+
+    @Override public int hashCode() {
+      int result = type.hashCode();
+      if (annotation != null) {
+        result += (37 * annotation.hashCode());
+      }
+      return result;
+    }
+
+    @Override public String toString() {
+      return "key[type=" + type + ",annotation=" + annotation + "]";
+    }
+  }
+
+  private static final class RequiredKey {
+    private final Key key;
+    private final Object requiredBy;
+
+    private RequiredKey(Key key, Object requiredBy) {
+      this.key = key;
+      this.requiredBy = requiredBy;
+    }
+  }
+
+  /** A key, and the provider type it's injected through, if any. */
+  private static final class Dependency {
+    final Key key;
+    final String providerType;
+
+    Dependency(Key key, String providerType) {
+      this.key = key;
+      this.providerType = providerType;
+    }
+  }
+
+  /**
+   * A binding to either a {@code @Provides} method of a module or to an
+   * injectable constructor and fields.
+   */
+  private static final class Binding {
+    final Key key;
+    final int index;
+    final boolean singleton;
+    final ExecutableElement member;
+    final int module;
+    final Dependency[] parameters;
+    final List<VariableElement> fields;
+    final Dependency[] fieldDependencies;
+
+    Binding(Key key, int index, boolean singleton, ExecutableElement member, int module,
+        Dependency[] parameters, List<VariableElement> fields, Dependency[] fieldDependencies) {
+      this.key = key;
+      this.index = index;
+      this.singleton = singleton;
+      this.member = member;
+      this.module = module;
+      this.parameters = parameters;
+      this.fields = fields;
+      this.fieldDependencies = fieldDependencies;
+    }
+
+    List<Dependency> dependencies() {
+      List<Dependency> result = new ArrayList<Dependency>(Arrays.asList(parameters));
+      result.addAll(Arrays.asList(fieldDependencies));
+      return result;
+    }
+  }
+}
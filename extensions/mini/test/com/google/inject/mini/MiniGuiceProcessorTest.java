@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.inject.mini;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import junit.framework.TestCase;
+
+public final class MiniGuiceProcessorTest extends TestCase {
+  private File directory;
+  private DiagnosticCollector<JavaFileObject> diagnostics;
+
+  @Override protected void setUp() throws Exception {
+    super.setUp();
+    directory = File.createTempFile("MiniGuiceProcessorTest", "");
+    directory.delete();
+    directory.mkdir();
+    diagnostics = new DiagnosticCollector<JavaFileObject>();
+  }
+
+  @Override protected void tearDown() throws Exception {
+    delete(directory);
+    super.tearDown();
+  }
+
+  public void testGeneratedInjector() throws Exception {
+    assertTrue(diagnostics.getDiagnostics().toString(), compile(
+        "package p;",
+        "import com.google.inject.Provides;",
+        "import javax.inject.*;",
+        "@com.google.inject.mini.GenerateMiniGuice(modules = AppModule.class)",
+        "public class App {",
+        "  @Inject public Engine engine;",
+        "  @Inject public Provider<Engine> engineProvider;",
+        "  public final Config config;",
+        "  public final String name;",
+        "  @Inject App(Config config, @Named(\"name\") String name) {",
+        "    this.config = config;",
+        "    this.name = name;",
+        "  }",
+        "}",
+        "@Singleton class Config {",
+        "  @Inject Config() {}",
+        "}",
+        "class Engine {",
+        "  public Engine() {}",
+        "  @Inject Config config;",
+        "  @Inject int cylinders;",
+        "  public Config config() { return config; }",
+        "  public int cylinders() { return cylinders; }",
+        "}",
+        "class AppModule {",
+        "  int provideCalls;",
+        "  @Provides @Named(\"name\") String provideName() {",
+        "    return \"app\";",
+        "  }",
+        "  @Provides int provideCylinders() {",
+        "    return ++provideCalls;",
+        "  }",
+        "}"));
+
+    ClassLoader classLoader = new URLClassLoader(new URL[] { directory.toURI().toURL() },
+        getClass().getClassLoader());
+    Class<?> injectorClass = classLoader.loadClass("p.App_MiniGuice");
+    Class<?> moduleClass = classLoader.loadClass("p.AppModule");
+    java.lang.reflect.Constructor<?> moduleConstructor = moduleClass.getDeclaredConstructor();
+    moduleConstructor.setAccessible(true);
+    Object app = injectorClass.getMethod("inject", moduleClass)
+        .invoke(null, moduleConstructor.newInstance());
+
+    Class<?> appClass = app.getClass();
+    Object config = appClass.getField("config").get(app);
+    Object engine = appClass.getField("engine").get(app);
+    assertEquals("app", appClass.getField("name").get(app));
+    assertNotNull(config);
+    assertSame(config, invoke(engine, "config"));
+    assertEquals(1, invoke(engine, "cylinders"));
+
+    javax.inject.Provider<?> engineProvider
+        = (javax.inject.Provider<?>) appClass.getField("engineProvider").get(app);
+    Object secondEngine = engineProvider.get();
+    assertNotSame(engine, secondEngine);
+    assertSame(config, invoke(secondEngine, "config"));
+    assertEquals(2, invoke(secondEngine, "cylinders"));
+  }
+
+  public void testMissingBindingFailsCompilation() throws Exception {
+    assertFalse(compile(
+        "package p;",
+        "import javax.inject.*;",
+        "@com.google.inject.mini.GenerateMiniGuice",
+        "public class App {",
+        "  @Inject App(@Named(\"missing\") String missing) {}",
+        "}"));
+    assertError("No binding for key[type=java.lang.String,"
+        + "annotation=@javax.inject.Named(\"missing\")]");
+  }
+
+  public void testDependencyCycleFailsCompilation() throws Exception {
+    assertFalse(compile(
+        "package p;",
+        "import javax.inject.*;",
+        "@com.google.inject.mini.GenerateMiniGuice",
+        "public class App {",
+        "  @Inject App(Cycle cycle) {}",
+        "}",
+        "class Cycle {",
+        "  @Inject Cycle(App app) {}",
+        "}"));
+    assertError("Dependency cycle: key[type=p.App,annotation=null] -> "
+        + "key[type=p.Cycle,annotation=null] -> key[type=p.App,annotation=null]");
+  }
+
+  public void testPrivateMembersFailCompilation() throws Exception {
+    assertFalse(compile(
+        "package p;",
+        "import javax.inject.*;",
+        "@com.google.inject.mini.GenerateMiniGuice",
+        "public class App {",
+        "  @Inject private App() {}",
+        "}"));
+    assertError("Cannot inject private App() on p.App without reflection");
+  }
+
+  public void testMembersInaccessibleFromRootPackageFailCompilation() throws Exception {
+    File engine = source("q/Engine.java",
+        "package q;",
+        "import javax.inject.*;",
+        "public class Engine {",
+        "  @Inject Engine() {}",
+        "}");
+    assertFalse(compile(engine,
+        "package p;",
+        "import javax.inject.*;",
+        "@com.google.inject.mini.GenerateMiniGuice",
+        "public class App {",
+        "  @Inject App(q.Engine engine) {}",
+        "}"));
+    assertError("Cannot inject Engine() on q.Engine from package p without reflection");
+  }
+
+  public void testProtectedProvidesMethodInOtherPackageFailsCompilation() throws Exception {
+    File module = source("q/EngineModule.java",
+        "package q;",
+        "public class EngineModule {",
+        "  @com.google.inject.Provides protected String provideName() {",
+        "    return \"engine\";",
+        "  }",
+        "}");
+    assertFalse(compile(module,
+        "package p;",
+        "import javax.inject.*;",
+        "@com.google.inject.mini.GenerateMiniGuice(modules = q.EngineModule.class)",
+        "public class App {",
+        "  @Inject App(String name) {}",
+        "}"));
+    assertError("Cannot inject provideName() on q.EngineModule from package p");
+  }
+
+  public void testMemberOfInaccessibleTypeFailsCompilation() throws Exception {
+    File engine = source("q/Engine.java",
+        "package q;",
+        "import javax.inject.*;",
+        "public class Engine {",
+        "  @Inject public Engine() {}",
+        "  @Inject public Part part;",
+        "}",
+        "class Part {",
+        "  @Inject public Part() {}",
+        "}");
+    assertFalse(compile(engine,
+        "package p;",
+        "import javax.inject.*;",
+        "@com.google.inject.mini.GenerateMiniGuice",
+        "public class App {",
+        "  @Inject App(q.Engine engine) {}",
+        "}"));
+    assertError("Cannot inject Part() on q.Part without reflection: "
+        + "q.Part isn't accessible from package p");
+  }
+
+  private boolean compile(String... lines) throws IOException {
+    return compile(null, lines);
+  }
+
+  /** Compiles the root type's source in {@code lines}, along with {@code other} if non-null. */
+  private boolean compile(File other, String... lines) throws IOException {
+    File source = source("App.java", lines);
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+    List<String> options = Arrays.asList(
+        "-d", directory.getPath(),
+        "-s", directory.getPath(),
+        "-classpath", System.getProperty("java.class.path"),
+        "-processor", MiniGuiceProcessor.class.getName());
+    File[] sources = other != null ? new File[] { source, other } : new File[] { source };
+    try {
+      return compiler.getTask(null, fileManager, diagnostics, options, null,
+          fileManager.getJavaFileObjects(sources)).call();
+    } finally {
+      fileManager.close();
+    }
+  }
+
+  private File source(String path, String... lines) throws IOException {
+    File source = new File(directory, path);
+    source.getParentFile().mkdirs();
+    FileWriter writer = new FileWriter(source);
+    for (String line : lines) {
+      writer.write(line);
+      writer.write("\n");
+    }
+    writer.close();
+    return source;
+  }
+
+  private void assertError(String message) {
+    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+      if (diagnostic.getKind() == Diagnostic.Kind.ERROR
+          && diagnostic.getMessage(null).contains(message)) {
+        return;
+      }
+    }
+    fail("No error containing " + message + " in " + diagnostics.getDiagnostics());
+  }
+
+  private static Object invoke(Object instance, String methodName) throws Exception {
+    Method method = instance.getClass().getMethod(methodName);
+    method.setAccessible(true);
+    return method.invoke(instance);
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+}
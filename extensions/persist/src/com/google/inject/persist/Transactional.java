@@ -34,6 +34,11 @@ import java.lang.annotation.Target;
  * Similarly, the set of exceptions that will trigger a rollback can be defined in
  * the {@link #rollbackOn()} clause. By default, only unchecked exceptions trigger a
  * rollback.
+ * <p>
+ * A method marked {@code @Transactional(readOnly = true)} runs in a transaction that is never
+ * flushed or committed; it is simply rolled back when the method returns. Marking a method
+ * {@code @Transactional(batched = true)} allows its transaction to be shared with subsequent
+ * batched calls in the same unit of work, if the persistence module was configured for batching.
  *
  * @author Dhanji R. Prasanna (dhanji@gmail.com)
  */
@@ -58,4 +63,20 @@ public @interface Transactional {
    * granularity.
    */
   Class<? extends Exception>[] ignore() default { };
+
+  /**
+   * If true, the transaction is rolled back rather than committed when the method returns, so
+   * the persistence provider skips its flush and dirty-checking work. Any changes made to
+   * managed entities are discarded. This has no effect when joining an enclosing transaction.
+   */
+  boolean readOnly() default false;
+
+  /**
+   * If true, the transaction begun for this method may be left open and reused by later batched
+   * calls in the same unit of work, and is committed once the batch limits configured on the
+   * persistence module are reached, when a non-batched transaction begins, or when the unit of
+   * work ends. A rollback discards every call in the batch. Batching only applies inside an
+   * explicit unit of work and is ignored for {@link #readOnly()} methods.
+   */
+  boolean batched() default false;
 }
@@ -17,11 +17,14 @@
 package com.google.inject.persist.jpa;
 
 import com.google.inject.Inject;
+import com.google.inject.internal.util.MapMaker;
 import com.google.inject.persist.Transactional;
 import com.google.inject.persist.UnitOfWork;
 import java.lang.reflect.Method;
+import java.util.Map;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
+import javax.persistence.FlushModeType;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
@@ -39,27 +42,77 @@ class JpaLocalTxnInterceptor implements MethodInterceptor {
   @Transactional
   private static class Internal {}
 
-  // Tracks if the unit of work was begun implicitly by this transaction.
-  private final ThreadLocal<Boolean> didWeStartWork = new ThreadLocal<Boolean>();
+  @Transactional
+  private static class NotAnnotated {}
+
+  private static final Transactional DEFAULT_TRANSACTIONAL
+      = Internal.class.getAnnotation(Transactional.class);
+
+  // Marks methods known to carry no annotation of their own, compared by identity.
+  private static final Transactional NOT_ANNOTATED
+      = NotAnnotated.class.getAnnotation(Transactional.class);
+
+  // Transaction metadata, resolved once per method and once per class.
+  private final Map<Method, Transactional> methodMetadata = new MapMaker().weakKeys().makeMap();
+  private final Map<Class<?>, Transactional> classMetadata = new MapMaker().weakKeys().makeMap();
+
+  private final int maxBatchSize;
+  private final long maxBatchDelayNanos;
+
+  JpaLocalTxnInterceptor() {
+    this(1, 0);
+  }
+
+  /**
+   * @param maxBatchSize the number of batched calls after which their shared transaction is
+   *     committed. Batching is disabled if this is 1 or less.
+   * @param maxBatchDelayNanos the age after which a batch is committed, or 0 for no limit
+   */
+  JpaLocalTxnInterceptor(int maxBatchSize, long maxBatchDelayNanos) {
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchDelayNanos = maxBatchDelayNanos;
+  }
 
   public Object invoke(MethodInvocation methodInvocation) throws Throwable {
 
     // Should we start a unit of work?
+    boolean didWeStartWork = false;
     if (!emProvider.isWorking()) {
       emProvider.begin();
-      didWeStartWork.set(true);
+      didWeStartWork = true;
     }
 
     Transactional transactional = readTransactionMetadata(methodInvocation);
     EntityManager em = this.emProvider.get();
+    JpaPersistService.TransactionBatch batch = emProvider.getBatch();
+    boolean batching = transactional.batched() && !transactional.readOnly()
+        && !didWeStartWork && maxBatchSize > 1;
 
     // Allow 'joining' of transactions if there is an enclosing @Transactional method.
     if (em.getTransaction().isActive()) {
-      return methodInvocation.proceed();
+      if (null == batch || batch.isProceeding()) {
+        return methodInvocation.proceed();
+      }
+
+      // An idle batch is open; join it or commit it before starting a new transaction.
+      if (batching) {
+        return invokeInBatch(methodInvocation, transactional, em.getTransaction(), batch);
+      }
+      emProvider.commitBatch();
+    } else if (null != batch) {
+      // The batch's transaction was completed outside of this interceptor.
+      emProvider.endBatch();
     }
 
     final EntityTransaction txn = em.getTransaction();
+    if (transactional.readOnly()) {
+      return invokeReadOnly(methodInvocation, em, txn, didWeStartWork);
+    }
+
     txn.begin();
+    if (batching) {
+      return invokeInBatch(methodInvocation, transactional, txn, emProvider.beginBatch());
+    }
 
     Object result;
     try {
@@ -75,8 +128,8 @@ class JpaLocalTxnInterceptor implements MethodInterceptor {
       throw e;
     } finally {
       // Close the em if necessary (guarded so this code doesn't run unless catch fired).
-      if (null != didWeStartWork.get() && !txn.isActive()) {
-        didWeStartWork.remove();
+      if (didWeStartWork && !txn.isActive()) {
+        didWeStartWork = false;
         unitOfWork.end();
       }
     }
@@ -87,8 +140,7 @@ class JpaLocalTxnInterceptor implements MethodInterceptor {
       txn.commit();
     } finally {
       //close the em if necessary
-      if (null != didWeStartWork.get() ) {
-        didWeStartWork.remove();
+      if (didWeStartWork) {
         unitOfWork.end();
       }
     }
@@ -97,20 +149,79 @@ class JpaLocalTxnInterceptor implements MethodInterceptor {
     return result;
   }
 
-  // TODO(dhanji): Cache this method's results.
+  /**
+   * Runs the method in a transaction that is always rolled back, with flushing deferred to
+   * commit so that queries made by the method never trigger one.
+   */
+  private Object invokeReadOnly(MethodInvocation methodInvocation, EntityManager em,
+      EntityTransaction txn, boolean didWeStartWork) throws Throwable {
+    FlushModeType flushMode = em.getFlushMode();
+    em.setFlushMode(FlushModeType.COMMIT);
+    txn.begin();
+    try {
+      return methodInvocation.proceed();
+    } finally {
+      try {
+        if (txn.isActive()) {
+          txn.rollback();
+        }
+        em.setFlushMode(flushMode);
+      } finally {
+        if (didWeStartWork) {
+          unitOfWork.end();
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs the method in the batch's transaction, committing it once the batch is full. Unit of
+   * work is never started implicitly for batched calls, so there is none to end here.
+   */
+  private Object invokeInBatch(MethodInvocation methodInvocation, Transactional transactional,
+      EntityTransaction txn, JpaPersistService.TransactionBatch batch) throws Throwable {
+    Object result;
+    batch.setProceeding(true);
+    try {
+      result = methodInvocation.proceed();
+    } catch (Exception e) {
+      // The batch ends here, whether it is rolled back or committed.
+      emProvider.endBatch();
+      if (rollbackIfNecessary(transactional, e, txn)) {
+        txn.commit();
+      }
+      throw e;
+    } finally {
+      batch.setProceeding(false);
+    }
+
+    if (batch.add(maxBatchSize, maxBatchDelayNanos)) {
+      emProvider.commitBatch();
+    }
+    return result;
+  }
+
   private Transactional readTransactionMetadata(MethodInvocation methodInvocation) {
-    Transactional transactional;
     Method method = methodInvocation.getMethod();
-    Class<?> targetClass = methodInvocation.getThis().getClass();
-
-    transactional = method.getAnnotation(Transactional.class);
+    Transactional transactional = methodMetadata.get(method);
     if (null == transactional) {
-      // If none on method, try the class.
-      transactional = targetClass.getAnnotation(Transactional.class);
+      transactional = method.getAnnotation(Transactional.class);
+      methodMetadata.put(method, null == transactional ? NOT_ANNOTATED : transactional);
     }
+    if (NOT_ANNOTATED != transactional && null != transactional) {
+      return transactional;
+    }
+
+    // If none on method, try the class.
+    Class<?> targetClass = methodInvocation.getThis().getClass();
+    transactional = classMetadata.get(targetClass);
     if (null == transactional) {
-      // If there is no transactional annotation present, use the default
-      transactional = Internal.class.getAnnotation(Transactional.class);
+      transactional = targetClass.getAnnotation(Transactional.class);
+      if (null == transactional) {
+        // If there is no transactional annotation present, use the default
+        transactional = DEFAULT_TRANSACTIONAL;
+      }
+      classMetadata.put(targetClass, transactional);
     }
 
     return transactional;
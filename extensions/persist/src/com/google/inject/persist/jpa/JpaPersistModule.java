@@ -32,6 +32,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import org.aopalliance.intercept.MethodInterceptor;
@@ -53,6 +54,8 @@ public final class JpaPersistModule extends PersistModule {
 
   private Properties properties;
   private MethodInterceptor transactionInterceptor;
+  private int maxBatchSize = 1;
+  private long maxBatchDelayNanos;
 
   @Override protected void configurePersistence() {
     bindConstant().annotatedWith(Jpa.class).to(jpaUnit);
@@ -72,7 +75,7 @@ public final class JpaPersistModule extends PersistModule {
     bind(EntityManagerFactory.class)
         .toProvider(JpaPersistService.EntityManagerFactoryProvider.class);
 
-    transactionInterceptor = new JpaLocalTxnInterceptor();
+    transactionInterceptor = new JpaLocalTxnInterceptor(maxBatchSize, maxBatchDelayNanos);
     requestInjection(transactionInterceptor);
 
     // Bind dynamic finders.
@@ -96,6 +99,24 @@ public final class JpaPersistModule extends PersistModule {
     return this;
   }
 
+  /**
+   * Enables batching of methods marked {@code @Transactional(batched = true)}. Consecutive
+   * batched calls in a unit of work share one transaction, which is committed after {@code
+   * maxSize} calls, or by the first call to complete once the batch is older than {@code
+   * maxDelay}. A pending batch is also committed when a non-batched transaction begins or when
+   * the unit of work ends.
+   *
+   * @param maxSize the maximum number of calls to group into one transaction
+   * @param maxDelay the maximum age of a batch, or 0 for no time limit
+   */
+  public JpaPersistModule batchTransactions(int maxSize, long maxDelay, TimeUnit unit) {
+    Preconditions.checkArgument(maxSize > 0, "Batch size must be positive.");
+    Preconditions.checkArgument(maxDelay >= 0, "Batch delay must not be negative.");
+    this.maxBatchSize = maxSize;
+    this.maxBatchDelayNanos = unit.toNanos(maxDelay);
+    return this;
+  }
+
   private final List<Class<?>> dynamicFinders = Lists.newArrayList();
 
   /**
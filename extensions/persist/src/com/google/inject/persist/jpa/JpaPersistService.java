@@ -26,6 +26,7 @@ import com.google.inject.persist.UnitOfWork;
 import java.util.Properties;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
 import javax.persistence.Persistence;
 
 /**
@@ -34,6 +35,8 @@ import javax.persistence.Persistence;
 @Singleton
 class JpaPersistService implements Provider<EntityManager>, UnitOfWork, PersistService {
   private final ThreadLocal<EntityManager> entityManager = new ThreadLocal<EntityManager>();
+  private final ThreadLocal<TransactionBatch> transactionBatch
+      = new ThreadLocal<TransactionBatch>();
 
   private final String persistenceUnitName;
   private final Properties persistenceProperties;
@@ -78,8 +81,45 @@ class JpaPersistService implements Provider<EntityManager>, UnitOfWork, PersistS
       return;
     }
 
-    em.close();
-    entityManager.remove();
+    try {
+      // Batched work is committed when the unit of work ends.
+      commitBatch();
+    } finally {
+      em.close();
+      entityManager.remove();
+    }
+  }
+
+  /**
+   * Returns the batch of transactional calls pending on this thread, or null if there is none.
+   */
+  TransactionBatch getBatch() {
+    return transactionBatch.get();
+  }
+
+  /** Starts a new batch sharing the currently active transaction. */
+  TransactionBatch beginBatch() {
+    TransactionBatch batch = new TransactionBatch();
+    transactionBatch.set(batch);
+    return batch;
+  }
+
+  /** Forgets the pending batch without touching its transaction. */
+  void endBatch() {
+    transactionBatch.remove();
+  }
+
+  /** Commits the pending batch's transaction, if there is one. */
+  void commitBatch() {
+    if (null == transactionBatch.get()) {
+      return;
+    }
+
+    transactionBatch.remove();
+    EntityTransaction txn = entityManager.get().getTransaction();
+    if (txn.isActive()) {
+      txn.commit();
+    }
   }
 
   private volatile EntityManagerFactory emFactory;
@@ -100,6 +140,33 @@ class JpaPersistService implements Provider<EntityManager>, UnitOfWork, PersistS
     emFactory.close();
   }
 
+  /**
+   * A run of batched transactional calls sharing one transaction on the current thread.
+   */
+  static class TransactionBatch {
+    private final long startNanos = System.nanoTime();
+    private int size;
+    private boolean proceeding;
+
+    boolean isProceeding() {
+      return proceeding;
+    }
+
+    void setProceeding(boolean proceeding) {
+      this.proceeding = proceeding;
+    }
+
+    /**
+     * Records a completed call, returning true if the batch has now reached either limit and
+     * should be committed.
+     */
+    boolean add(int maxSize, long maxDelayNanos) {
+      size++;
+      return size >= maxSize
+          || (maxDelayNanos > 0 && System.nanoTime() - startNanos >= maxDelayNanos);
+    }
+  }
+
   @Singleton
   public static class EntityManagerFactoryProvider implements Provider<EntityManagerFactory> {
     private final JpaPersistService emProvider;
@@ -16,6 +16,7 @@
 
 package com.google.inject.persist;
 
+import com.google.inject.persist.jpa.BatchedLocalTransactionsTest;
 import com.google.inject.persist.jpa.ClassLevelManagedLocalTransactionsTest;
 import com.google.inject.persist.jpa.CustomPropsEntityManagerFactoryProvisionTest;
 import com.google.inject.persist.jpa.EntityManagerFactoryProvisionTest;
@@ -27,6 +28,7 @@ import com.google.inject.persist.jpa.ManagedLocalTransactionsAcrossRequestTest;
 import com.google.inject.persist.jpa.ManagedLocalTransactionsTest;
 import com.google.inject.persist.jpa.ManualLocalTransactionsTest;
 import com.google.inject.persist.jpa.ManualLocalTransactionsWithCustomMatcherTest;
+import com.google.inject.persist.jpa.ReadOnlyLocalTransactionsTest;
 import junit.framework.Test;
 import junit.framework.TestSuite;
 
@@ -39,6 +41,7 @@ public class AllTests {
     TestSuite suite = new TestSuite();
 
     suite.addTestSuite(EdslTest.class);
+    suite.addTestSuite(BatchedLocalTransactionsTest.class);
     suite.addTestSuite(ClassLevelManagedLocalTransactionsTest.class);
     suite.addTestSuite(CustomPropsEntityManagerFactoryProvisionTest.class);
     suite.addTestSuite(EntityManagerFactoryProvisionTest.class);
@@ -50,6 +53,7 @@ public class AllTests {
     suite.addTestSuite(ManagedLocalTransactionsTest.class);
     suite.addTestSuite(ManualLocalTransactionsTest.class);
     suite.addTestSuite(ManualLocalTransactionsWithCustomMatcherTest.class);
+    suite.addTestSuite(ReadOnlyLocalTransactionsTest.class);
 
     return suite;
   }
@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2010 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.persist.jpa;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.google.inject.persist.Transactional;
+import com.google.inject.persist.UnitOfWork;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.NoResultException;
+import junit.framework.TestCase;
+
+public class BatchedLocalTransactionsTest extends TestCase {
+  private Injector injector;
+  private static final String UNIQUE_TEXT = BatchedLocalTransactionsTest.class
+      + "some unique text" + new Date();
+
+  @Override
+  public void setUp() {
+    injector = Guice.createInjector(new JpaPersistModule("testUnit")
+        .batchTransactions(3, 0, TimeUnit.SECONDS));
+
+    //startup persistence
+    injector.getInstance(PersistService.class).start();
+  }
+
+  @Override
+  public final void tearDown() {
+    injector.getInstance(UnitOfWork.class).end();
+    injector.getInstance(EntityManagerFactory.class).close();
+  }
+
+  public void testBatchIsCommittedWhenFull() {
+    injector.getInstance(UnitOfWork.class).begin();
+    EntityManager em = injector.getInstance(EntityManager.class);
+    TransactionalObject transactionalObject = injector.getInstance(TransactionalObject.class);
+
+    transactionalObject.runBatchedPersist("1");
+    assertTrue("batched txn was closed early", em.getTransaction().isActive());
+    transactionalObject.runBatchedPersist("2");
+    assertTrue("batched txn was closed early", em.getTransaction().isActive());
+    transactionalObject.runBatchedPersist("3");
+    assertFalse("full batch was not committed", em.getTransaction().isActive());
+
+    assertStored("1");
+    assertStored("3");
+  }
+
+  public void testBatchIsCommittedWhenWorkEnds() {
+    injector.getInstance(UnitOfWork.class).begin();
+    injector.getInstance(TransactionalObject.class).runBatchedPersist("ends");
+    injector.getInstance(UnitOfWork.class).end();
+
+    assertStored("ends");
+  }
+
+  public void testBatchIsCommittedBeforeUnbatchedTransaction() {
+    injector.getInstance(UnitOfWork.class).begin();
+    EntityManager em = injector.getInstance(EntityManager.class);
+    TransactionalObject transactionalObject = injector.getInstance(TransactionalObject.class);
+
+    transactionalObject.runBatchedPersist("before");
+    transactionalObject.runPersist("unbatched");
+    assertFalse(em.getTransaction().isActive());
+
+    assertStored("before");
+    assertStored("unbatched");
+  }
+
+  public void testRollbackDiscardsWholeBatch() {
+    injector.getInstance(UnitOfWork.class).begin();
+    TransactionalObject transactionalObject = injector.getInstance(TransactionalObject.class);
+
+    transactionalObject.runBatchedPersist("discarded");
+    try {
+      transactionalObject.runBatchedPersistThrowing("thrown");
+      fail();
+    } catch (IllegalStateException expected) {}
+    assertFalse(injector.getInstance(EntityManager.class).getTransaction().isActive());
+    injector.getInstance(UnitOfWork.class).end();
+
+    assertNotStored("discarded");
+    assertNotStored("thrown");
+  }
+
+  public void testBatchedCallOutsideUnitOfWorkIsCommitted() {
+    injector.getInstance(TransactionalObject.class).runBatchedPersist("implicit");
+
+    assertStored("implicit");
+  }
+
+  private void assertStored(String suffix) {
+    Object result = injector.getInstance(EntityManager.class)
+        .createQuery("from JpaTestEntity where text = :text")
+        .setParameter("text", UNIQUE_TEXT + suffix).getSingleResult();
+    assertEquals(UNIQUE_TEXT + suffix, ((JpaTestEntity) result).getText());
+  }
+
+  private void assertNotStored(String suffix) {
+    try {
+      injector.getInstance(EntityManager.class)
+          .createQuery("from JpaTestEntity where text = :text")
+          .setParameter("text", UNIQUE_TEXT + suffix).getSingleResult();
+      fail("a result was returned! rollback sure didnt happen!!!");
+    } catch (NoResultException e) {}
+  }
+
+  public static class TransactionalObject {
+    @Inject EntityManager em;
+
+    @Transactional(batched = true)
+    public void runBatchedPersist(String suffix) {
+      runPersist(suffix);
+    }
+
+    @Transactional(batched = true)
+    public void runBatchedPersistThrowing(String suffix) {
+      runPersist(suffix);
+      throw new IllegalStateException();
+    }
+
+    @Transactional
+    public void runPersist(String suffix) {
+      JpaTestEntity entity = new JpaTestEntity();
+      entity.setText(UNIQUE_TEXT + suffix);
+      em.persist(entity);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2010 Google, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.persist.jpa;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.persist.PersistService;
+import com.google.inject.persist.Transactional;
+import com.google.inject.persist.UnitOfWork;
+import java.util.Date;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.FlushModeType;
+import javax.persistence.NoResultException;
+import junit.framework.TestCase;
+
+public class ReadOnlyLocalTransactionsTest extends TestCase {
+  private Injector injector;
+  private static final String UNIQUE_TEXT = ReadOnlyLocalTransactionsTest.class
+      + "some unique text" + new Date();
+
+  @Override
+  public void setUp() {
+    injector = Guice.createInjector(new JpaPersistModule("testUnit"));
+
+    //startup persistence
+    injector.getInstance(PersistService.class).start();
+  }
+
+  @Override
+  public final void tearDown() {
+    injector.getInstance(UnitOfWork.class).end();
+    injector.getInstance(EntityManagerFactory.class).close();
+  }
+
+  public void testReadOnlyTransactionIsNotCommitted() {
+    injector.getInstance(TransactionalObject.class).runPersistInReadOnlyTxn();
+
+    EntityManager em = injector.getInstance(EntityManager.class);
+    assertFalse("txn was not closed by transactional service", em.getTransaction().isActive());
+    assertEquals(FlushModeType.AUTO, em.getFlushMode());
+
+    try {
+      em.createQuery("from JpaTestEntity where text = :text")
+          .setParameter("text", UNIQUE_TEXT).getSingleResult();
+      fail("a read-only transaction was committed");
+    } catch (NoResultException e) {}
+  }
+
+  public void testReadOnlyTransactionDefersFlush() {
+    assertEquals(FlushModeType.COMMIT,
+        injector.getInstance(TransactionalObject.class).getFlushModeInReadOnlyTxn());
+  }
+
+  public void testReadOnlyTransactionCanQuery() {
+    injector.getInstance(UnitOfWork.class).begin();
+    TransactionalObject transactionalObject = injector.getInstance(TransactionalObject.class);
+    transactionalObject.runPersistInTxn();
+
+    assertEquals(UNIQUE_TEXT, transactionalObject.runQueryInReadOnlyTxn().getText());
+    assertFalse(injector.getInstance(EntityManager.class).getTransaction().isActive());
+  }
+
+  public void testReadOnlyJoinsEnclosingTransaction() {
+    injector.getInstance(TransactionalObject.class).runReadOnlyInsideTxn();
+
+    EntityManager em = injector.getInstance(EntityManager.class);
+    Object result = em.createQuery("from JpaTestEntity where text = :text")
+        .setParameter("text", UNIQUE_TEXT).getSingleResult();
+    assertEquals(UNIQUE_TEXT, ((JpaTestEntity) result).getText());
+  }
+
+  public static class TransactionalObject {
+    @Inject EntityManager em;
+    @Inject TransactionalObject self;
+
+    @Transactional
+    public void runPersistInTxn() {
+      JpaTestEntity entity = new JpaTestEntity();
+      entity.setText(UNIQUE_TEXT);
+      em.persist(entity);
+    }
+
+    @Transactional(readOnly = true)
+    public void runPersistInReadOnlyTxn() {
+      runPersistInTxn();
+    }
+
+    @Transactional(readOnly = true)
+    public FlushModeType getFlushModeInReadOnlyTxn() {
+      return em.getFlushMode();
+    }
+
+    @Transactional(readOnly = true)
+    public JpaTestEntity runQueryInReadOnlyTxn() {
+      return (JpaTestEntity) em.createQuery("from JpaTestEntity where text = :text")
+          .setParameter("text", UNIQUE_TEXT).getSingleResult();
+    }
+
+    @Transactional
+    public void runReadOnlyInsideTxn() {
+      self.runPersistInReadOnlyTxn();
+    }
+  }
+}
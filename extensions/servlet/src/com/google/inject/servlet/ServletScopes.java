@@ -24,6 +24,8 @@ import com.google.inject.internal.util.Maps;
 import com.google.inject.internal.util.Preconditions;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
@@ -51,26 +53,28 @@ public class ServletScopes {
           // request is in progress.
           if (null == GuiceFilter.localContext.get()) {
 
-            // NOTE(dhanji): We don't need to synchronize on the scope map
-            // unlike the HTTP request because we're the only ones who have
-            // a reference to it, and it is only available via a threadlocal.
+            // NOTE: Like the HTTP request, the scope map is shared with
+            // other threads when the request is transferred with
+            // transferRequest(), so we synchronize on it.
             Map<String, Object> scopeMap = requestScopeContext.get();
             if (null != scopeMap) {
-              @SuppressWarnings("unchecked")
-              T t = (T) scopeMap.get(name);
+              synchronized (scopeMap) {
+                @SuppressWarnings("unchecked")
+                T t = (T) scopeMap.get(name);
 
-              // Accounts for @Nullable providers.
-              if (NullObject.INSTANCE == t) {
-                return null;
-              }
+                // Accounts for @Nullable providers.
+                if (NullObject.INSTANCE == t) {
+                  return null;
+                }
 
-              if (t == null) {
-                t = creator.get();
-                // Store a sentinel for provider-given null values.
-                scopeMap.put(name, t != null ? t : NullObject.INSTANCE);
-              }
+                if (t == null) {
+                  t = creator.get();
+                  // Store a sentinel for provider-given null values.
+                  scopeMap.put(name, t != null ? t : NullObject.INSTANCE);
+                }
 
-              return t;
+                return t;
+              }
             } // else: fall into normal HTTP request scope and out of scope
               // exception is thrown.
           }
@@ -137,6 +141,40 @@ public class ServletScopes {
     }
   };
 
+  /**
+   * HTTP session scope that keeps all of its instances in one {@link SessionScopeBundle}
+   * session attribute, rather than one attribute per key. Existing instances are looked up
+   * without locking the session, and the attribute is only set again when an instance is created,
+   * so clustered containers have less to replicate. To use it for {@literal @}{@link
+   * SessionScoped}, override the scope binding:
+   * <pre>
+   *   Modules.override(new MyServletModule()).with(new AbstractModule() {
+   *     protected void configure() {
+   *       bindScope(SessionScoped.class, ServletScopes.BUNDLED_SESSION);
+   *     }
+   *   });</pre>
+   *
+   * @since 3.0
+   */
+  public static final Scope BUNDLED_SESSION = new Scope() {
+    public <T> Provider<T> scope(Key<T> key, final Provider<T> creator) {
+      final String name = key.toString();
+      return new Provider<T>() {
+        public T get() {
+          HttpSession session = GuiceFilter.getRequest().getSession();
+          return SessionScopeBundle.getOrCreate(session).get(session, name, creator);
+        }
+        public String toString() {
+          return String.format("%s[%s]", creator, BUNDLED_SESSION);
+        }
+      };
+    }
+
+    public String toString() {
+      return "ServletScopes.BUNDLED_SESSION";
+    }
+  };
+
   /**
    * Wraps the given callable in a contextual callable that "continues" the
    * HTTP request in another thread. This acts as a way of transporting
@@ -202,6 +240,123 @@ public class ServletScopes {
     };
   }
 
+  /**
+   * Wraps the given callable so that it runs in the current request scope,
+   * whichever thread calls it. This is intended for handing work and
+   * completion callbacks to other threads, for example to move slow I/O off
+   * the container's threads.
+   * <p>
+   * Unlike {@link #continueRequest}, nothing is copied: the callable sees the
+   * live request, including {@literal @}{@link RequestScoped} objects created
+   * by any thread the request is transferred to. The scope is only entered
+   * while the callable runs, and is released from the calling thread when it
+   * completes. The callable must finish before the request does; use an
+   * asynchronous request if the response is completed by the callable.
+   * <p>
+   * This works for both HTTP requests and requests scoped with
+   * {@link #scopeRequest}.
+   *
+   * @param callable code to be executed in another thread, which depends on
+   *     the request scope.
+   * @return a callable that will invoke the given callable in the request
+   *     scope of the thread that called this method.
+   * @throws OutOfScopeException if this method is called from a non-request
+   *     thread.
+   *
+   * @since 3.0
+   */
+  public static <T> Callable<T> transferRequest(final Callable<T> callable) {
+    final TransferredRequest request = TransferredRequest.current();
+    return new Callable<T>() {
+      public T call() throws Exception {
+        return request.call(callable);
+      }
+    };
+  }
+
+  /**
+   * Wraps the given runnable so that it runs in the current request scope,
+   * whichever thread runs it. See {@link #transferRequest(Callable)}.
+   *
+   * @since 3.0
+   */
+  public static Runnable transferRequest(final Runnable runnable) {
+    final TransferredRequest request = TransferredRequest.current();
+    return new Runnable() {
+      public void run() {
+        try {
+          request.call(Executors.callable(runnable));
+        } catch (RuntimeException e) {
+          throw e;
+        } catch (Exception e) {
+          throw new AssertionError(e); // runnables don't throw checked exceptions
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns an executor that runs each task in the request scope of the
+   * thread that submitted it. See {@link #transferRequest(Callable)}.
+   *
+   * @since 3.0
+   */
+  public static Executor transferRequests(final Executor executor) {
+    Preconditions.checkNotNull(executor, "executor");
+    return new Executor() {
+      public void execute(Runnable command) {
+        executor.execute(transferRequest(command));
+      }
+    };
+  }
+
+  /** The live request scope of a thread, for use by other threads. */
+  private static final class TransferredRequest {
+    private final GuiceFilter.Context context;
+    private final Map<String, Object> scopeMap;
+
+    private TransferredRequest(GuiceFilter.Context context, Map<String, Object> scopeMap) {
+      this.context = context;
+      this.scopeMap = scopeMap;
+    }
+
+    static TransferredRequest current() {
+      GuiceFilter.Context context = GuiceFilter.localContext.get();
+      Map<String, Object> scopeMap = requestScopeContext.get();
+      if (null == context && null == scopeMap) {
+        throw new OutOfScopeException("Cannot transfer the request scope: no request is in"
+            + " progress in this thread.");
+      }
+      return new TransferredRequest(context, scopeMap);
+    }
+
+    <T> T call(Callable<T> callable) throws Exception {
+      GuiceFilter.Context previousContext = GuiceFilter.localContext.get();
+      Map<String, Object> previousScopeMap = requestScopeContext.get();
+      Preconditions.checkState(
+          (null == previousContext || context == previousContext)
+              && (null == previousScopeMap || scopeMap == previousScopeMap),
+          "Cannot transfer a request scope into a thread with another request in progress.");
+
+      set(GuiceFilter.localContext, context);
+      set(requestScopeContext, scopeMap);
+      try {
+        return callable.call();
+      } finally {
+        set(GuiceFilter.localContext, previousContext);
+        set(requestScopeContext, previousScopeMap);
+      }
+    }
+
+    private static <V> void set(ThreadLocal<V> threadLocal, V value) {
+      if (null == value) {
+        threadLocal.remove();
+      } else {
+        threadLocal.set(value);
+      }
+    }
+  }
+
   /**
    * A threadlocal scope map for non-http request scopes. The {@link #REQUEST}
    * scope falls back to this scope map if no http request is available, and
@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.servlet;
+
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.internal.util.ImmutableSet;
+import com.google.inject.servlet.ServletScopes.NullObject;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.servlet.http.HttpSession;
+
+/**
+ * The instances of every key in {@link ServletScopes#BUNDLED_SESSION} for one HTTP session, stored
+ * together as a single session attribute. Each key has its own slot: existing instances are read
+ * without locking, and only the creation of a key's instance is synchronized, on that key's slot.
+ * <p>
+ * Keys are marked dirty when their instance is created, or explicitly with {@link
+ * #markDirty(Key)} after a session-scoped object is changed. Containers that replicate sessions
+ * incrementally can use {@link #clearDirtyKeys()} to find what needs to be sent.
+ *
+ * @since 3.0
+ */
+public final class SessionScopeBundle implements Serializable {
+
+  /** The name of the session attribute that holds the bundle. */
+  public static final String ATTRIBUTE_NAME = SessionScopeBundle.class.getName();
+
+  private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<String, Slot>();
+  private transient ConcurrentMap<String, Boolean> dirtyKeys
+      = new ConcurrentHashMap<String, Boolean>();
+
+  SessionScopeBundle() {}
+
+  /**
+   * Returns the bundle stored in {@code session}, or null if nothing in the session has been
+   * scoped with {@link ServletScopes#BUNDLED_SESSION}.
+   */
+  public static SessionScopeBundle get(HttpSession session) {
+    return (SessionScopeBundle) session.getAttribute(ATTRIBUTE_NAME);
+  }
+
+  /** Returns the session's bundle, adding one to the session if it doesn't have one yet. */
+  static SessionScopeBundle getOrCreate(HttpSession session) {
+    SessionScopeBundle bundle = get(session);
+    if (bundle == null) {
+      // only new sessions lock, and only once
+      synchronized (session) {
+        bundle = get(session);
+        if (bundle == null) {
+          bundle = new SessionScopeBundle();
+          session.setAttribute(ATTRIBUTE_NAME, bundle);
+        }
+      }
+    }
+    return bundle;
+  }
+
+  /**
+   * Returns the instance for {@code name}, creating it with {@code creator} if necessary. When an
+   * instance is created, the bundle is set on the session again so that the container sees the
+   * change.
+   */
+  <T> T get(HttpSession session, String name, Provider<T> creator) {
+    Slot slot = slots.get(name);
+    if (slot == null) {
+      Slot newSlot = new Slot();
+      slot = slots.putIfAbsent(name, newSlot);
+      if (slot == null) {
+        slot = newSlot;
+      }
+    }
+
+    Object value = slot.value;
+    if (value == null) {
+      synchronized (slot) {
+        value = slot.value;
+        if (value == null) {
+          T t = creator.get();
+          // Store a sentinel for provider-given null values.
+          value = t != null ? t : NullObject.INSTANCE;
+          slot.value = value;
+          dirtyKeys.put(name, Boolean.TRUE);
+          session.setAttribute(ATTRIBUTE_NAME, this);
+        }
+      }
+    }
+
+    if (NullObject.INSTANCE == value) {
+      return null;
+    }
+
+    @SuppressWarnings("unchecked") // the slot for a key only holds instances of its type
+    T t = (T) value;
+    return t;
+  }
+
+  /**
+   * Marks the instance of {@code key} as changed, so that it is included in the next
+   * incremental replication. Callers should also set the bundle's attribute on the session again
+   * if their container only replicates attributes that are set.
+   */
+  public void markDirty(Key<?> key) {
+    String name = key.toString();
+    if (slots.containsKey(name)) {
+      dirtyKeys.put(name, Boolean.TRUE);
+    }
+  }
+
+  /** Returns the names of the keys that changed since the dirty keys were last cleared. */
+  public Set<String> getDirtyKeys() {
+    return ImmutableSet.copyOf(dirtyKeys.keySet());
+  }
+
+  /** Clears and returns the names of the keys that changed since the last call. */
+  public Set<String> clearDirtyKeys() {
+    Set<String> result = getDirtyKeys();
+    dirtyKeys.keySet().removeAll(result);
+    return result;
+  }
+
+  /** Returns the number of keys in the bundle. */
+  public int size() {
+    return slots.size();
+  }
+
+  /** Returns the number of keys that changed since the dirty keys were last cleared. */
+  public int getDirtyKeyCount() {
+    return dirtyKeys.size();
+  }
+
+  /**
+   * Returns the size of the bundle in bytes when serialized. This serializes the whole bundle, so
+   * it's intended for occasional monitoring rather than for every request.
+   */
+  public long getSerializedSize() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(this);
+    out.close();
+    return bytes.size();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    dirtyKeys = new ConcurrentHashMap<String, Boolean>();
+  }
+
+  @Override public String toString() {
+    return "SessionScopeBundle[size=" + size() + ", dirty=" + getDirtyKeyCount() + "]";
+  }
+
+  /** Holds the instance of one key, or null if it hasn't been created yet. */
+  private static final class Slot implements Serializable {
+    volatile Object value;
+
+    private static final long serialVersionUID = 0;
+  }
+
+  private static final long serialVersionUID = 0;
+}
@@ -33,6 +33,7 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -127,6 +128,72 @@ public class ScopeRequestIntegrationTest extends TestCase {
     assertNull(callable.call());
   }
 
+  public final void testTransferRequest() throws Exception {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final Injector injector = Guice.createInjector(new ServletModule() {
+      @Override protected void configureServlets() {
+        bindConstant().annotatedWith(Names.named(SomeObject.INVALID)).to(A_VALUE);
+        bind(SomeObject.class).in(RequestScoped.class);
+      }
+    });
+
+    Callable<SomeObject[]> request = new Callable<SomeObject[]>() {
+      public SomeObject[] call() throws Exception {
+        // created in the worker thread, then seen by the request thread
+        SomeObject fromWorker = executor.submit(
+            ServletScopes.transferRequest(injector.getInstance(Caller.class))).get();
+        SomeObject fromRequest = injector.getInstance(SomeObject.class);
+
+        final SomeObject[] fromExecutor = new SomeObject[1];
+        Executor transferring = ServletScopes.transferRequests(executor);
+        transferring.execute(new Runnable() {
+          public void run() {
+            fromExecutor[0] = injector.getInstance(SomeObject.class);
+          }
+        });
+        executor.submit(new Runnable() {
+          public void run() {}
+        }).get();
+
+        return new SomeObject[] { fromWorker, fromRequest, fromExecutor[0] };
+      }
+    };
+
+    SomeObject[] first = ServletScopes.scopeRequest(request,
+        ImmutableMap.<Key<?>, Object>of()).call();
+    assertEquals(A_VALUE, first[0].value);
+    assertSame(first[0], first[1]);
+    assertSame(first[0], first[2]);
+
+    // the scope was released from the worker thread, so the next request gets its own instance
+    SomeObject[] second = ServletScopes.scopeRequest(request,
+        ImmutableMap.<Key<?>, Object>of()).call();
+    assertNotSame(first[0], second[0]);
+    assertSame(second[0], second[2]);
+
+    try {
+      executor.submit(injector.getInstance(Caller.class)).get();
+      fail();
+    } catch (ExecutionException expected) {
+      assertTrue(expected.getCause().getCause() instanceof OutOfScopeException);
+    }
+
+    executor.shutdown();
+    executor.awaitTermination(2, TimeUnit.SECONDS);
+  }
+
+  public final void testTransferRequestOutsideOfRequest() {
+    try {
+      ServletScopes.transferRequest(new Callable<Object>() {
+        public Object call() {
+          return null;
+        }
+      });
+      fail();
+    } catch (OutOfScopeException expected) {
+    }
+  }
+
   @RequestScoped
   public static class SomeObject {
     private static final String INVALID = "invalid";
@@ -23,8 +23,11 @@ import com.google.inject.CreationException;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.internal.util.ImmutableSet;
 import com.google.inject.internal.util.Maps;
 import static com.google.inject.servlet.ServletScopes.NullObject;
+import com.google.inject.util.Modules;
 import com.google.inject.util.Providers;
 import java.io.IOException;
 import java.io.Serializable;
@@ -255,6 +258,56 @@ public class ServletTest extends TestCase {
     assertEquals(NullObject.INSTANCE, deserializedSession.getAttribute(inSessionNullKey));
   }
 
+  public void testBundledSessionObjects()
+      throws IOException, ClassNotFoundException, ServletException {
+    final Injector injector = Guice.createInjector(Modules.override(createModule())
+        .with(new AbstractModule() {
+          protected void configure() {
+            bindScope(SessionScoped.class, ServletScopes.BUNDLED_SESSION);
+          }
+        }));
+
+    GuiceFilter filter = new GuiceFilter();
+
+    final HttpServletRequest request = createMock(HttpServletRequest.class);
+    final HttpSession session = newFakeHttpSession();
+
+    expect(request.getSession()).andReturn(session).times(4);
+
+    final InSession[] inSession = new InSession[1];
+    FilterChain filterChain = new FilterChain() {
+      public void doFilter(ServletRequest servletRequest,
+          ServletResponse servletResponse) {
+        inSession[0] = injector.getInstance(InSession.class);
+        assertSame(inSession[0], injector.getInstance(InSession.class));
+        assertNull(injector.getInstance(IN_SESSION_NULL_KEY));
+        assertNull(injector.getInstance(IN_SESSION_NULL_KEY));
+      }
+    };
+
+    replay(request);
+
+    filter.doFilter(request, null, filterChain);
+
+    verify(request);
+    assertNotNull(inSession[0]);
+
+    assertNull(session.getAttribute(IN_SESSION_KEY.toString()));
+    SessionScopeBundle bundle = SessionScopeBundle.get(session);
+    assertEquals(2, bundle.size());
+    assertEquals(ImmutableSet.of(IN_SESSION_KEY.toString(), IN_SESSION_NULL_KEY.toString()),
+        bundle.clearDirtyKeys());
+    assertEquals(0, bundle.getDirtyKeyCount());
+    assertTrue(bundle.getSerializedSize() > 0);
+
+    bundle.markDirty(IN_SESSION_KEY);
+    assertEquals(ImmutableSet.of(IN_SESSION_KEY.toString()), bundle.getDirtyKeys());
+
+    SessionScopeBundle deserialized = SessionScopeBundle.get(reserialize(session));
+    assertEquals(2, deserialized.size());
+    assertEquals(0, deserialized.getDirtyKeyCount());
+  }
+
   private static class FakeHttpSessionHandler implements InvocationHandler, Serializable {
     final Map<String, Object> attributes = Maps.newHashMap();
 
@@ -280,8 +333,11 @@ public class ServletTest extends TestCase {
   }
 
   private Injector createInjector() throws CreationException {
+    return Guice.createInjector(createModule());
+  }
 
-    return Guice.createInjector(new AbstractModule() {
+  private Module createModule() {
+    return new AbstractModule() {
 
       @Override
       protected void configure() {
@@ -291,7 +347,7 @@ public class ServletTest extends TestCase {
         bind(InRequest.class);
         bind(IN_REQUEST_NULL_KEY).toProvider(Providers.<InRequest>of(null)).in(RequestScoped.class);
       }
-    });
+    };
   }
 
   @SessionScoped
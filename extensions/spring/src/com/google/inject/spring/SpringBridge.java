@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.spring;
+
+import com.google.inject.Binder;
+import com.google.inject.Module;
+import com.google.inject.Provider;
+import com.google.inject.internal.util.Lists;
+import com.google.inject.internal.util.Maps;
+import static com.google.inject.internal.util.Preconditions.checkNotNull;
+import com.google.inject.name.Names;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectFactory;
+
+/**
+ * Binds all Spring beans from a factory by name, like {@link
+ * SpringIntegration#bindAll}, for applications that look up bridged beans on
+ * a hot path. Compared to {@code bindAll}, the bridge:
+ *
+ * <ul>
+ *   <li>doesn't query Spring for each bean's scope while the injector is
+ *       being created. Instead, the scopes of all bridged beans are resolved
+ *       together, the first time any of them is provisioned.
+ *   <li>keeps an {@link ObjectFactory} handle per bean: singletons are
+ *       fetched from Spring once, and prototypes go straight to Spring
+ *       without the bridge's own checks. A bridge installed in several
+ *       injectors shares its handles between them, and only asks Spring for
+ *       the types of beans it hasn't bound before.
+ *   <li>records the time spent provisioning each bean, so you can see
+ *       which bridged beans dominate provisioning. See {@link
+ *       #getProvisionTimes}.
+ * </ul>
+ *
+ * <p>Install the bridge like any other module:
+ * <pre>
+ * SpringBridge bridge = SpringIntegration.newBridge(beanFactory);
+ * Injector injector = Guice.createInjector(bridge, new MyModule());
+ * </pre>
+ *
+ * @since 3.0
+ */
+public final class SpringBridge implements Module {
+  private final ListableBeanFactory beanFactory;
+  /** Bridged beans by name, kept across configurations of the bridge. */
+  private final Map<String, BridgedBean<?>> beans = Maps.newLinkedHashMap();
+
+  SpringBridge(ListableBeanFactory beanFactory) {
+    this.beanFactory = checkNotNull(beanFactory, "beanFactory");
+  }
+
+  public synchronized void configure(Binder binder) {
+    binder = binder.skipSources(SpringBridge.class);
+
+    for (String name : beanFactory.getBeanDefinitionNames()) {
+      BridgedBean<?> bean = beans.get(name);
+      if (bean == null) {
+        Class<?> type = beanFactory.getType(name);
+        if (type == null) {
+          binder.addError("Cannot determine the type of Spring bean named '%s'.", name);
+          continue;
+        }
+        bean = newBridgedBean(type, name);
+        beans.put(name, bean);
+      }
+      bindBean(binder, bean);
+    }
+  }
+
+  private static <T> void bindBean(Binder binder, BridgedBean<T> bean) {
+    binder.bind(bean.type)
+        .annotatedWith(Names.named(bean.name))
+        .toProvider(bean);
+  }
+
+  private <T> BridgedBean<T> newBridgedBean(Class<T> type, String name) {
+    return new BridgedBean<T>(type, name);
+  }
+
+  /**
+   * Returns the total time spent provisioning each bridged bean, in
+   * nanoseconds, ordered from the most expensive bean to the least expensive.
+   * Beans that haven't been provisioned are omitted.
+   */
+  public synchronized Map<String, Long> getProvisionTimes() {
+    List<BridgedBean<?>> provisioned = Lists.newArrayList();
+    for (BridgedBean<?> bean : beans.values()) {
+      if (bean.provisionNanos.get() > 0) {
+        provisioned.add(bean);
+      }
+    }
+    Collections.sort(provisioned, new Comparator<BridgedBean<?>>() {
+      public int compare(BridgedBean<?> a, BridgedBean<?> b) {
+        long aNanos = a.provisionNanos.get();
+        long bNanos = b.provisionNanos.get();
+        return aNanos > bNanos ? -1 : (aNanos == bNanos ? 0 : 1);
+      }
+    });
+
+    Map<String, Long> result = Maps.newLinkedHashMap();
+    for (BridgedBean<?> bean : provisioned) {
+      result.put(bean.name, bean.provisionNanos.get());
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  /** Resolves the factory handles for every bridged bean that doesn't have one yet. */
+  private synchronized void resolve() {
+    for (BridgedBean<?> bean : beans.values()) {
+      if (bean.factory == null) {
+        bean.factory = beanFactory.isSingleton(bean.name)
+            ? new SingletonFactory(bean.name)
+            : new PrototypeFactory(bean.name);
+      }
+    }
+  }
+
+  private class BridgedBean<T> implements Provider<T> {
+    final Class<T> type;
+    final String name;
+    final AtomicLong provisionNanos = new AtomicLong();
+
+    /** Set when the bridge is resolved after this bean was bound. */
+    volatile ObjectFactory factory;
+
+    BridgedBean(Class<T> type, String name) {
+      this.type = type;
+      this.name = name;
+    }
+
+    public T get() {
+      ObjectFactory factory = this.factory;
+      if (factory == null) {
+        resolve();
+        factory = this.factory;
+      }
+
+      long start = System.nanoTime();
+      try {
+        return type.cast(factory.getObject());
+      } finally {
+        provisionNanos.addAndGet(Math.max(1, System.nanoTime() - start));
+      }
+    }
+
+    @Override public String toString() {
+      return "SpringBridge[" + name + "]";
+    }
+  }
+
+  private class SingletonFactory implements ObjectFactory {
+    private final String name;
+    private volatile Object instance;
+
+    SingletonFactory(String name) {
+      this.name = name;
+    }
+
+    public Object getObject() {
+      if (instance == null) {
+        instance = beanFactory.getBean(name);
+      }
+      return instance;
+    }
+  }
+
+  private class PrototypeFactory implements ObjectFactory {
+    private final String name;
+
+    PrototypeFactory(String name) {
+      this.name = name;
+    }
+
+    public Object getObject() {
+      return beanFactory.getBean(name);
+    }
+  }
+}
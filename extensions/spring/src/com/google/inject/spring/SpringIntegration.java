@@ -63,6 +63,17 @@ public class SpringIntegration {
     }
   }
 
+  /**
+   * Returns a module that binds all Spring beans from the given factory by
+   * name, like {@link #bindAll}, but is tuned for beans that are looked up
+   * frequently and reports the time spent provisioning each bean.
+   *
+   * @since 3.0
+   */
+  public static SpringBridge newBridge(ListableBeanFactory beanFactory) {
+    return new SpringBridge(beanFactory);
+  }
+
   static <T> void bindBean(Binder binder, ListableBeanFactory beanFactory,
       String name, Class<T> type) {
     SpringProvider<T> provider
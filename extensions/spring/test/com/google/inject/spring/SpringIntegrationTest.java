@@ -96,6 +96,82 @@ public class SpringIntegrationTest extends TestCase {
         injector.getInstance(prototypeKey));
   }
 
+  public void testBridge() throws CreationException {
+    final DefaultListableBeanFactory beanFactory
+        = new DefaultListableBeanFactory();
+
+    RootBeanDefinition singleton
+        = new RootBeanDefinition(Singleton.class);
+    beanFactory.registerBeanDefinition("singleton", singleton);
+
+    RootBeanDefinition prototype
+        = new RootBeanDefinition(Prototype.class, false);
+    beanFactory.registerBeanDefinition("prototype", prototype);
+
+    RootBeanDefinition slow
+        = new RootBeanDefinition(Slow.class, false);
+    beanFactory.registerBeanDefinition("slow", slow);
+
+    SpringBridge bridge = SpringIntegration.newBridge(beanFactory);
+    Injector injector = Guice.createInjector(bridge);
+
+    Key<Singleton> singletonKey
+        = Key.get(Singleton.class, Names.named("singleton"));
+    Key<Prototype> prototypeKey
+        = Key.get(Prototype.class, Names.named("prototype"));
+    Key<Slow> slowKey
+        = Key.get(Slow.class, Names.named("slow"));
+
+    assertNotNull(injector.getInstance(singletonKey));
+    assertSame(injector.getInstance(singletonKey),
+        injector.getInstance(singletonKey));
+
+    assertNotNull(injector.getInstance(prototypeKey));
+    assertNotSame(injector.getInstance(prototypeKey),
+        injector.getInstance(prototypeKey));
+
+    assertNotSame(injector.getInstance(slowKey),
+        injector.getInstance(slowKey));
+
+    assertEquals("slow",
+        bridge.getProvisionTimes().keySet().iterator().next());
+    assertEquals(3, bridge.getProvisionTimes().size());
+  }
+
+  public void testBridgeInstalledInTwoInjectors() throws CreationException {
+    final DefaultListableBeanFactory beanFactory
+        = new DefaultListableBeanFactory();
+
+    RootBeanDefinition singleton
+        = new RootBeanDefinition(Singleton.class);
+    beanFactory.registerBeanDefinition("singleton", singleton);
+
+    RootBeanDefinition prototype
+        = new RootBeanDefinition(Prototype.class, false);
+    beanFactory.registerBeanDefinition("prototype", prototype);
+
+    SpringBridge bridge = SpringIntegration.newBridge(beanFactory);
+    Key<Singleton> singletonKey
+        = Key.get(Singleton.class, Names.named("singleton"));
+    Key<Prototype> prototypeKey
+        = Key.get(Prototype.class, Names.named("prototype"));
+
+    Injector first = Guice.createInjector(bridge);
+    Singleton fromFirst = first.getInstance(singletonKey);
+    assertNotNull(first.getInstance(prototypeKey));
+
+    Injector second = Guice.createInjector(bridge);
+    assertSame(fromFirst, second.getInstance(singletonKey));
+    assertNotSame(second.getInstance(prototypeKey),
+        second.getInstance(prototypeKey));
+    assertEquals(2, bridge.getProvisionTimes().size());
+  }
+
   static class Singleton {}
   static class Prototype {}
+  static class Slow {
+    Slow() throws InterruptedException {
+      Thread.sleep(20);
+    }
+  }
 }
@@ -22,15 +22,21 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
+import org.apache.struts2.dispatcher.Dispatcher;
+
 import com.google.inject.AbstractModule;
 import com.google.inject.Binder;
 import com.google.inject.Injector;
+import com.google.inject.Provider;
 import com.google.inject.internal.Annotations;
 import com.opensymphony.xwork2.ActionInvocation;
 import com.opensymphony.xwork2.ObjectFactory;
 import com.opensymphony.xwork2.config.ConfigurationException;
+import com.opensymphony.xwork2.config.entities.ActionConfig;
 import com.opensymphony.xwork2.config.entities.InterceptorConfig;
 import com.opensymphony.xwork2.inject.Inject;
 import com.opensymphony.xwork2.interceptor.Interceptor;
@@ -55,6 +61,11 @@ public class Struts2Factory extends ObjectFactory {
   private final List<ProvidedInterceptor> interceptors = new ArrayList<ProvidedInterceptor>();
   private volatile Injector strutsInjector;
 
+  /** Providers for the classes built so far, so each build is a map lookup. */
+  private final ConcurrentMap<Class<?>, Provider<?>> providers
+      = new ConcurrentHashMap<Class<?>, Provider<?>>();
+  private boolean prebindActions;
+
   @Override
   public boolean isNoArgConstructorRequired() {
     return false;
@@ -67,6 +78,17 @@ public class Struts2Factory extends ObjectFactory {
         + " Please install your module via a GuiceServletContextListener instead.");
   }
 
+  /**
+   * If the "guice.prebindActions" constant is true, every action class in the
+   * Struts configuration is bound when the injector is created. This
+   * validates them at startup and readies their providers before the first
+   * request.
+   */
+  @Inject(value = "guice.prebindActions", required = false)
+  void setPrebindActions(String prebindActions) {
+    this.prebindActions = Boolean.parseBoolean(prebindActions);
+  }
+
   Set<Class<?>> boundClasses = new HashSet<Class<?>>();
 
   public Class<?> getClassInstance(String name) throws ClassNotFoundException {
@@ -105,7 +127,13 @@ public class Struts2Factory extends ObjectFactory {
         }
       }
     }
-    return strutsInjector.getInstance(clazz);
+
+    Provider<?> provider = providers.get(clazz);
+    if (provider == null) {
+      provider = strutsInjector.getProvider(clazz);
+      providers.putIfAbsent(clazz, provider);
+    }
+    return provider.get();
   }
 
   private void createInjector() {
@@ -118,6 +146,10 @@ public class Struts2Factory extends ObjectFactory {
       throw new RuntimeException(ERROR_NO_INJECTOR);
     }
 
+    if (prebindActions) {
+      addActionClasses();
+    }
+
     this.strutsInjector = injector.createChildInjector(new AbstractModule() {
       protected void configure() {
 
@@ -135,6 +167,10 @@ public class Struts2Factory extends ObjectFactory {
       }
     });
 
+    for (Class<?> boundClass : boundClasses) {
+      providers.put(boundClass, strutsInjector.getProvider(boundClass));
+    }
+
     // Inject interceptors.
     for (ProvidedInterceptor interceptor : interceptors) {
       interceptor.inject();
@@ -143,6 +179,35 @@ public class Struts2Factory extends ObjectFactory {
     logger.info("Injector created successfully.");
   }
 
+  /**
+   * Adds the class of every action in the Struts configuration to the bound
+   * classes. Struts doesn't load action classes itself since we don't
+   * require no-arg constructors.
+   */
+  private void addActionClasses() {
+    Dispatcher dispatcher = Dispatcher.getInstance();
+    if (dispatcher == null) {
+      logger.warning("Cannot prebind actions: the Struts configuration is not available.");
+      return;
+    }
+
+    for (Map<String, ActionConfig> namespace : dispatcher.getConfigurationManager()
+        .getConfiguration().getRuntimeConfiguration().getActionConfigs().values()) {
+      for (ActionConfig actionConfig : namespace.values()) {
+        String className = actionConfig.getClassName();
+        // Wildcard class names aren't known until the action is requested.
+        if (className == null || className.indexOf('{') != -1) {
+          continue;
+        }
+        try {
+          getClassInstance(className);
+        } catch (ClassNotFoundException e) {
+          logger.warning("Cannot prebind action " + className + ": " + e);
+        }
+      }
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public Interceptor buildInterceptor(InterceptorConfig interceptorConfig,
       Map interceptorRefParams) throws ConfigurationException {
@@ -82,4 +82,21 @@ public class Struts2FactoryTest extends TestCase {
     assertEquals(TODAY, s2Factory.buildBean(Date.class, null));
   }
 
+  public void testBoundClassesAreBuiltUnscoped() throws ClassNotFoundException {
+    Struts2Factory s2Factory = new Struts2Factory();
+    new TestListener(new AbstractModule() {
+      @Override
+      protected void configure() {
+      }
+    }).getInjector();
+
+    assertEquals(TestAction.class, s2Factory.getClassInstance(TestAction.class.getName()));
+    Object action = s2Factory.buildBean(TestAction.class, null);
+    assertTrue(action instanceof TestAction);
+    assertNotSame(action, s2Factory.buildBean(TestAction.class, null));
+  }
+
+  public static class TestAction {
+  }
+
 }
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.throwingproviders;
+
+import java.util.concurrent.Future;
+
+/**
+ * A checked provider whose value is computed asynchronously. Injecting an {@code
+ * AsyncCheckedProvider} never blocks; callers wait only when they call {@link Future#get} on the
+ * returned future. Exceptions thrown while computing the value are reported as the cause of the
+ * {@link java.util.concurrent.ExecutionException} thrown by {@link Future#get}.
+ *
+ * <p>Bind implementations using {@link ThrowingProviderBinder#bindAsync}:
+ * <pre>
+ * ThrowingProviderBinder.create(binder())
+ *     .bindAsync(Config.class)
+ *     .to(RemoteConfigFetcher.class)
+ *     .in(Singleton.class);
+ * </pre>
+ *
+ * <p>The future returned by {@link #get} is scoped, so a singleton or request scoped value is
+ * computed once and its future shared by every caller in that scope.
+ *
+ * <p>Provider methods can also be asynchronous. Annotate them with {@literal @}{@link
+ * CheckedProvides}{@code (AsyncCheckedProvider.class)} and bind an {@link
+ * java.util.concurrent.Executor Executor} annotated with {@literal @}{@link AsyncExecutor} to run
+ * them. Parameters of type {@code Future<T>} are satisfied by the {@code AsyncCheckedProvider<T>}
+ * binding with the same binding annotation. The method runs once all of its future parameters
+ * have completed, so it may call {@link Future#get} on them without blocking:
+ * <pre>
+ * {@literal @}CheckedProvides(AsyncCheckedProvider.class)
+ * Customer provideCustomer(Future&lt;Config&gt; config, Future&lt;Database&gt; database)
+ *     throws Exception {
+ *   return database.get().lookupCustomer(config.get().getCustomerId());
+ * }
+ * </pre>
+ * Independent dependencies like {@code Config} and {@code Database} above are started together
+ * and resolve concurrently.
+ *
+ * @since 3.0
+ */
+public interface AsyncCheckedProvider<T> extends CheckedProvider<Future<T>> {
+  Future<T> get();
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.throwingproviders;
+
+import com.google.inject.Binder;
+import com.google.inject.Exposed;
+import com.google.inject.Key;
+import com.google.inject.PrivateBinder;
+import com.google.inject.Provider;
+import com.google.inject.binder.ScopedBindingBuilder;
+import com.google.inject.internal.util.ImmutableSet;
+import com.google.inject.internal.util.Lists;
+import com.google.inject.internal.util.StackTraceElements;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.HasDependencies;
+import com.google.inject.throwingproviders.ThrowingProviderBinder.AsyncBinder;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A provider method annotated with {@literal @}{@code CheckedProvides(AsyncCheckedProvider.class)}.
+ * Each call starts the method's future dependencies and returns immediately; the method itself
+ * runs on the {@literal @}{@link AsyncExecutor} once they have all completed.
+ */
+class AsyncCheckedProviderMethod<T> implements AsyncCheckedProvider<T>, HasDependencies {
+  private final Key<T> key;
+  private final Class<? extends Annotation> scopeAnnotation;
+  private final Object instance;
+  private final Method method;
+  private final ImmutableSet<Dependency<?>> dependencies;
+  private final List<Provider<?>> parameterProviders;
+  private final boolean[] futureParameters;
+  private final Provider<Executor> executorProvider;
+  private final boolean exposed;
+
+  /**
+   * @param futureParameters true for each parameter whose provider is an {@link
+   *     AsyncCheckedProvider} that supplies a future, rather than the parameter itself.
+   */
+  AsyncCheckedProviderMethod(
+      Key<T> key,
+      Method method,
+      Object instance,
+      ImmutableSet<Dependency<?>> dependencies,
+      List<Provider<?>> parameterProviders,
+      boolean[] futureParameters,
+      Provider<Executor> executorProvider,
+      Class<? extends Annotation> scopeAnnotation) {
+    this.key = key;
+    this.scopeAnnotation = scopeAnnotation;
+    this.instance = instance;
+    this.dependencies = dependencies;
+    this.method = method;
+    this.parameterProviders = parameterProviders;
+    this.futureParameters = futureParameters;
+    this.executorProvider = executorProvider;
+    this.exposed = method.isAnnotationPresent(Exposed.class);
+
+    method.setAccessible(true);
+  }
+
+  void configure(Binder binder) {
+    binder = binder.withSource(method);
+
+    AsyncBinder<T> abinder = ThrowingProviderBinder.create(binder)
+        .bindAsync(key.getTypeLiteral());
+    if (key.getAnnotation() != null) {
+      abinder = abinder.annotatedWith(key.getAnnotation());
+    } else if (key.getAnnotationType() != null) {
+      abinder = abinder.annotatedWith(key.getAnnotationType());
+    }
+    ScopedBindingBuilder sbbuilder = abinder.toProviderMethod(this);
+    if (scopeAnnotation != null) {
+      sbbuilder.in(scopeAnnotation);
+    }
+
+    if (exposed) {
+      // the cast is safe 'cause the only binder we have implements PrivateBinder. If there's a
+      // misplaced @Exposed, calling this will add an error to the binder's error queue
+      ((PrivateBinder) binder).expose(abinder.getKey());
+    }
+  }
+
+  public Future<T> get() {
+    final Executor executor = executorProvider.get();
+
+    // Provision the parameters on the calling thread, where scopes are available. This also
+    // starts every future dependency before we wait on any of them.
+    final Object[] parameters = new Object[parameterProviders.size()];
+    final List<Future<?>> inputs = Lists.newArrayList();
+    for (int i = 0; i < parameters.length; i++) {
+      parameters[i] = parameterProviders.get(i).get();
+      if (futureParameters[i]) {
+        Future<?> input = ((AsyncCheckedProvider<?>) parameters[i]).get();
+        parameters[i] = input;
+        inputs.add(input);
+      }
+    }
+
+    final AsyncResult<T> result = new AsyncResult<T>();
+    final AtomicInteger pending = new AtomicInteger(inputs.size() + 1);
+    Runnable countDown = new Runnable() {
+      public void run() {
+        if (pending.decrementAndGet() != 0) {
+          return;
+        }
+        try {
+          executor.execute(new Runnable() {
+            public void run() {
+              invoke(parameters, inputs, result);
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          result.setException(e);
+        }
+      }
+    };
+    for (Future<?> input : inputs) {
+      AsyncResult.whenDone(input, executor, countDown);
+    }
+    countDown.run();
+    return result;
+  }
+
+  private void invoke(Object[] parameters, List<Future<?>> inputs, AsyncResult<T> result) {
+    // fail fast if a dependency failed; the inputs are all done so this never blocks
+    for (Future<?> input : inputs) {
+      try {
+        input.get();
+      } catch (ExecutionException e) {
+        result.setException(e.getCause());
+        return;
+      } catch (CancellationException e) {
+        result.cancel(false);
+        return;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        result.setException(e);
+        return;
+      }
+    }
+
+    try {
+      // We know this cast is safe becase T is the method's return type.
+      @SuppressWarnings("unchecked")
+      T value = (T) method.invoke(instance, parameters);
+      result.set(value);
+    } catch (IllegalAccessException e) {
+      result.setException(new AssertionError(e));
+    } catch (InvocationTargetException e) {
+      result.setException(e.getCause());
+    } catch (RuntimeException e) {
+      result.setException(e);
+    }
+  }
+
+  public Set<Dependency<?>> getDependencies() {
+    return dependencies;
+  }
+
+  @Override public String toString() {
+    return "@CheckedProvides " + StackTraceElements.forMember(method).toString();
+  }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.throwingproviders;
+
+import com.google.inject.internal.util.Lists;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A future that is completed explicitly and notifies listeners when it completes. This lets
+ * asynchronous provider methods be composed without tying up a thread per pending dependency.
+ */
+final class AsyncResult<T> implements Future<T> {
+  private final CountDownLatch done = new CountDownLatch(1);
+
+  // guarded by this; listeners is null once completed
+  private List<Runnable> listeners = Lists.newArrayList();
+  private T value;
+  private Throwable failure;
+  private boolean cancelled;
+
+  boolean set(T value) {
+    return complete(value, null, false);
+  }
+
+  boolean setException(Throwable failure) {
+    return complete(null, failure, false);
+  }
+
+  public boolean cancel(boolean mayInterruptIfRunning) {
+    return complete(null, null, true);
+  }
+
+  private boolean complete(T value, Throwable failure, boolean cancelled) {
+    List<Runnable> toNotify;
+    synchronized (this) {
+      if (listeners == null) {
+        return false;
+      }
+      this.value = value;
+      this.failure = failure;
+      this.cancelled = cancelled;
+      toNotify = listeners;
+      listeners = null;
+      done.countDown();
+    }
+
+    for (Runnable listener : toNotify) {
+      listener.run();
+    }
+    return true;
+  }
+
+  /**
+   * Runs {@code listener} once this future completes. If it has already completed, the listener
+   * runs immediately on the calling thread.
+   */
+  void addListener(Runnable listener) {
+    synchronized (this) {
+      if (listeners != null) {
+        listeners.add(listener);
+        return;
+      }
+    }
+    listener.run();
+  }
+
+  public boolean isDone() {
+    return done.getCount() == 0;
+  }
+
+  public synchronized boolean isCancelled() {
+    return cancelled;
+  }
+
+  public T get() throws InterruptedException, ExecutionException {
+    done.await();
+    return getDone();
+  }
+
+  public T get(long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    if (!done.await(timeout, unit)) {
+      throw new TimeoutException();
+    }
+    return getDone();
+  }
+
+  private synchronized T getDone() throws ExecutionException {
+    if (cancelled) {
+      throw new CancellationException();
+    }
+    if (failure != null) {
+      throw new ExecutionException(failure);
+    }
+    return value;
+  }
+
+  /**
+   * Runs {@code listener} once {@code future} completes. Futures created by this extension notify
+   * their listeners directly; other futures are awaited by a task on {@code executor}.
+   */
+  static void whenDone(final Future<?> future, Executor executor, final Runnable listener) {
+    if (future instanceof AsyncResult) {
+      ((AsyncResult<?>) future).addListener(listener);
+    } else if (future.isDone()) {
+      listener.run();
+    } else {
+      executor.execute(new Runnable() {
+        public void run() {
+          try {
+            future.get();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } catch (ExecutionException e) {
+            // reported by whoever consumes the future
+          } catch (CancellationException e) {
+            // reported by whoever consumes the future
+          }
+          listener.run();
+        }
+      });
+    }
+  }
+}
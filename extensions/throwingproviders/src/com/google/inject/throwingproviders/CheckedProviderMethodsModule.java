@@ -33,7 +33,11 @@ import com.google.inject.util.Modules;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 /**
@@ -67,6 +71,9 @@ final class CheckedProviderMethodsModule implements Module {
     for (CheckedProviderMethod<?> throwingProviderMethod : getProviderMethods(binder)) {
       throwingProviderMethod.configure(binder);
     }
+    for (AsyncCheckedProviderMethod<?> asyncProviderMethod : getAsyncProviderMethods(binder)) {
+      asyncProviderMethod.configure(binder);
+    }
   }
 
   List<CheckedProviderMethod<?>> getProviderMethods(Binder binder) {
@@ -75,7 +82,7 @@ final class CheckedProviderMethodsModule implements Module {
       for (Method method : c.getDeclaredMethods()) {
         CheckedProvides checkedProvides =
           (CheckedProvides)method.getAnnotation(CheckedProvides.class);
-        if(checkedProvides != null) {
+        if(checkedProvides != null && checkedProvides.value() != AsyncCheckedProvider.class) {
           result.add(createProviderMethod(binder, method, checkedProvides.value()));
         }
       }
@@ -83,6 +90,19 @@ final class CheckedProviderMethodsModule implements Module {
     return result;
   }
 
+  List<AsyncCheckedProviderMethod<?>> getAsyncProviderMethods(Binder binder) {
+    List<AsyncCheckedProviderMethod<?>> result = Lists.newArrayList();
+    for (Class<?> c = delegate.getClass(); c != Object.class; c = c.getSuperclass()) {
+      for (Method method : c.getDeclaredMethods()) {
+        CheckedProvides checkedProvides = method.getAnnotation(CheckedProvides.class);
+        if (checkedProvides != null && checkedProvides.value() == AsyncCheckedProvider.class) {
+          result.add(createAsyncProviderMethod(binder, method));
+        }
+      }
+    }
+    return result;
+  }
+
   <T> CheckedProviderMethod<T> createProviderMethod(Binder binder, final Method method,
       Class<? extends CheckedProvider> throwingProvider) {
     binder = binder.withSource(method);
@@ -94,15 +114,8 @@ final class CheckedProviderMethodsModule implements Module {
     List<TypeLiteral<?>> parameterTypes = typeLiteral.getParameterTypes(method);
     Annotation[][] parameterAnnotations = method.getParameterAnnotations();
     for (int i = 0; i < parameterTypes.size(); i++) {
-      Key<?> key = getKey(errors, parameterTypes.get(i), method, parameterAnnotations[i]);
-      if(key.equals(Key.get(Logger.class))) {
-        // If it was a Logger, change the key to be unique & bind it to a
-        // provider that provides a logger with a proper name.
-        // This solves issue 482 (returning a new anonymous logger on every call exhausts memory)
-        Key<Logger> loggerKey = Key.get(Logger.class, UniqueAnnotations.create());
-        binder.bind(loggerKey).toProvider(new LogProvider(method));
-        key = loggerKey;
-      }
+      Key<?> key = getParameterKey(binder, errors, method, parameterTypes.get(i),
+          parameterAnnotations[i]);
       dependencies.add(Dependency.get(key));
       parameterProviders.add(binder.getProvider(key));        
     }
@@ -123,6 +136,67 @@ final class CheckedProviderMethodsModule implements Module {
         parameterProviders, scopeAnnotation, throwingProvider, exceptionTypes);
   }
 
+  <T> AsyncCheckedProviderMethod<T> createAsyncProviderMethod(Binder binder, Method method) {
+    binder = binder.withSource(method);
+    Errors errors = new Errors(method);
+
+    // prepare the parameter providers. Future<T> parameters are satisfied by the corresponding
+    // AsyncCheckedProvider<T>, so that the method can be run once they've completed.
+    List<Dependency<?>> dependencies = Lists.newArrayList();
+    List<Provider<?>> parameterProviders = Lists.newArrayList();
+    List<TypeLiteral<?>> parameterTypes = typeLiteral.getParameterTypes(method);
+    Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+    boolean[] futureParameters = new boolean[parameterTypes.size()];
+    for (int i = 0; i < parameterTypes.size(); i++) {
+      TypeLiteral<?> parameterType = parameterTypes.get(i);
+      if (parameterType.getRawType() == Future.class) {
+        if (!(parameterType.getType() instanceof ParameterizedType)) {
+          errors.addMessage("Cannot inject a Future that has no type parameter");
+          continue;
+        }
+        Type futureOf = ((ParameterizedType) parameterType.getType()).getActualTypeArguments()[0];
+        parameterType = ThrowingProviderBinder.asyncProviderOf(TypeLiteral.get(futureOf));
+        futureParameters[i] = true;
+      }
+      Key<?> key = getParameterKey(binder, errors, method, parameterType, parameterAnnotations[i]);
+      dependencies.add(Dependency.get(key));
+      parameterProviders.add(binder.getProvider(key));
+    }
+
+    Key<Executor> executorKey = Key.get(Executor.class, AsyncExecutor.class);
+    dependencies.add(Dependency.get(executorKey));
+    Provider<Executor> executorProvider = binder.getProvider(executorKey);
+
+    @SuppressWarnings("unchecked") // Define T as the method's return type.
+    TypeLiteral<T> returnType = (TypeLiteral<T>) typeLiteral.getReturnType(method);
+
+    Key<T> key = getKey(errors, returnType, method, method.getAnnotations());
+    Class<? extends Annotation> scopeAnnotation
+        = Annotations.findScopeAnnotation(errors, method.getAnnotations());
+
+    for (Message message : errors.getMessages()) {
+      binder.addError(message);
+    }
+
+    return new AsyncCheckedProviderMethod<T>(key, method, delegate,
+        ImmutableSet.copyOf(dependencies), parameterProviders, futureParameters, executorProvider,
+        scopeAnnotation);
+  }
+
+  private Key<?> getParameterKey(Binder binder, Errors errors, Method method,
+      TypeLiteral<?> parameterType, Annotation[] parameterAnnotations) {
+    Key<?> key = getKey(errors, parameterType, method, parameterAnnotations);
+    if(key.equals(Key.get(Logger.class))) {
+      // If it was a Logger, change the key to be unique & bind it to a
+      // provider that provides a logger with a proper name.
+      // This solves issue 482 (returning a new anonymous logger on every call exhausts memory)
+      Key<Logger> loggerKey = Key.get(Logger.class, UniqueAnnotations.create());
+      binder.bind(loggerKey).toProvider(new LogProvider(method));
+      key = loggerKey;
+    }
+    return key;
+  }
+
   <T> Key<T> getKey(Errors errors, TypeLiteral<T> type, Member member, Annotation[] annotations) {
     Annotation bindingAnnotation = Annotations.findBindingAnnotation(errors, member, annotations);
     return bindingAnnotation == null ? Key.get(type) : Key.get(type, bindingAnnotation);
@@ -17,16 +17,24 @@
 package com.google.inject.throwingproviders;
 
 import com.google.inject.Binder;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
 import com.google.inject.Provider;
+import com.google.inject.ProvisionException;
+import com.google.inject.Scope;
+import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
 import com.google.inject.binder.ScopedBindingBuilder;
 import static com.google.inject.internal.util.Preconditions.checkNotNull;
 import com.google.inject.internal.UniqueAnnotations;
+import com.google.inject.internal.util.Function;
 import com.google.inject.internal.util.ImmutableList;
 import com.google.inject.internal.util.ImmutableSet;
 import com.google.inject.internal.util.Lists;
+import com.google.inject.internal.util.MapMaker;
+import com.google.inject.spi.DefaultBindingScopingVisitor;
 import com.google.inject.spi.Dependency;
 import com.google.inject.spi.ProviderWithDependencies;
 import com.google.inject.util.Types;
@@ -41,7 +49,9 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 /**
  * <p>Builds a binding for a {@link CheckedProvider}.
@@ -65,6 +75,15 @@ import java.util.Set;
  *   }
  * }
  * </code></pre>
+ * Values that are slow to compute can be bound to an {@link AsyncCheckedProvider} using
+ * {@link #bindAsync}, so that injecting them doesn't block.
+ *
+ * <p>If a checked provider binding is unscoped, its {@code get()} method calls the bound provider
+ * directly rather than provisioning a binding. As a result, {@link
+ * com.google.inject.spi.ProvisionListener provision listeners} aren't notified of these calls,
+ * and a runtime exception thrown by the provider is wrapped in a {@link ProvisionException} that
+ * doesn't describe the binding's source or dependencies. Scope the binding to have these calls
+ * provisioned.
  * 
  * @author jmourits@google.com (Jerome Mourits)
  * @author jessewilson@google.com (Jesse Wilson)
@@ -97,6 +116,146 @@ public class ThrowingProviderBinder {
     return new SecondaryBinder<P>(interfaceType, valueType);
   }
 
+  /**
+   * Binds an {@link AsyncCheckedProvider} of {@code valueType}.
+   *
+   * @since 3.0
+   */
+  public <T> AsyncBinder<T> bindAsync(Class<T> valueType) {
+    return bindAsync(TypeLiteral.get(valueType));
+  }
+
+  /**
+   * Binds an {@link AsyncCheckedProvider} of {@code valueType}.
+   *
+   * @since 3.0
+   */
+  public <T> AsyncBinder<T> bindAsync(TypeLiteral<T> valueType) {
+    return new AsyncBinder<T>(valueType);
+  }
+
+  /**
+   * Binds an {@link AsyncCheckedProvider} to a target. The future returned by the target is what
+   * gets scoped, so within each scope the value is computed at most once and callers share its
+   * future.
+   *
+   * @since 3.0
+   */
+  public class AsyncBinder<T> {
+    private final TypeLiteral<T> valueType;
+
+    private Class<? extends Annotation> annotationType;
+    private Annotation annotation;
+    private Key<AsyncCheckedProvider<T>> interfaceKey;
+
+    private AsyncBinder(TypeLiteral<T> valueType) {
+      this.valueType = checkNotNull(valueType, "valueType");
+    }
+
+    Key<AsyncCheckedProvider<T>> getKey() {
+      return interfaceKey;
+    }
+
+    public AsyncBinder<T> annotatedWith(Class<? extends Annotation> annotationType) {
+      if (!(this.annotationType == null && this.annotation == null)) {
+        throw new IllegalStateException();
+      }
+      this.annotationType = annotationType;
+      return this;
+    }
+
+    public AsyncBinder<T> annotatedWith(Annotation annotation) {
+      if (!(this.annotationType == null && this.annotation == null)) {
+        throw new IllegalStateException();
+      }
+      this.annotation = annotation;
+      return this;
+    }
+
+    public ScopedBindingBuilder to(AsyncCheckedProvider<T> target) {
+      Key<AsyncCheckedProvider<T>> targetKey = Key.get(
+          asyncProviderOf(valueType), UniqueAnnotations.create());
+      binder.bind(targetKey).toInstance(target);
+      return to(targetKey);
+    }
+
+    public ScopedBindingBuilder to(Class<? extends AsyncCheckedProvider<T>> targetType) {
+      return to(Key.get(targetType));
+    }
+
+    public ScopedBindingBuilder to(Key<? extends AsyncCheckedProvider<T>> targetKey) {
+      checkNotNull(targetKey, "targetKey");
+      return toInternal(targetKey);
+    }
+
+    ScopedBindingBuilder toProviderMethod(AsyncCheckedProviderMethod<T> target) {
+      Key<AsyncCheckedProviderMethod> targetKey =
+          Key.get(AsyncCheckedProviderMethod.class, UniqueAnnotations.create());
+      binder.bind(targetKey).toInstance(target);
+      return toInternal(targetKey);
+    }
+
+    private ScopedBindingBuilder toInternal(final Key<? extends AsyncCheckedProvider> targetKey) {
+      final Key<Future> futureKey = Key.get(Future.class, UniqueAnnotations.create());
+      final Provider<Future> futureProvider = binder.getProvider(futureKey);
+      final Provider<? extends AsyncCheckedProvider> targetProvider =
+          binder.getProvider(targetKey);
+      interfaceKey = createKey();
+
+      final AsyncCheckedProvider<T> instance = new AsyncCheckedProvider<T>() {
+        @SuppressWarnings("unchecked") // the target provides futures of T
+        public Future<T> get() {
+          return futureProvider.get();
+        }
+
+        @Override public String toString() {
+          return interfaceKey.toString();
+        }
+      };
+      binder.bind(interfaceKey).toProvider(new ProviderWithDependencies<AsyncCheckedProvider<T>>() {
+        public AsyncCheckedProvider<T> get() {
+          return instance;
+        }
+
+        public Set<Dependency<?>> getDependencies() {
+          return ImmutableSet.<Dependency<?>>of(Dependency.get(futureKey));
+        }
+      });
+
+      return binder.bind(futureKey).toProvider(new ProviderWithDependencies<Future>() {
+        public Future get() {
+          Future future = targetProvider.get().get();
+          if (future == null) {
+            throw new NullPointerException(targetKey + " returned a null future");
+          }
+          return future;
+        }
+
+        public Set<Dependency<?>> getDependencies() {
+          return ImmutableSet.<Dependency<?>>of(Dependency.get(targetKey));
+        }
+      });
+    }
+
+    private Key<AsyncCheckedProvider<T>> createKey() {
+      TypeLiteral<AsyncCheckedProvider<T>> typeLiteral = asyncProviderOf(valueType);
+      if (annotation != null) {
+        return Key.get(typeLiteral, annotation);
+      } else if (annotationType != null) {
+        return Key.get(typeLiteral, annotationType);
+      } else {
+        return Key.get(typeLiteral);
+      }
+    }
+  }
+
+  /** Returns the type literal for {@code AsyncCheckedProvider<T>}. */
+  @SuppressWarnings("unchecked")
+  static <T> TypeLiteral<AsyncCheckedProvider<T>> asyncProviderOf(TypeLiteral<T> valueType) {
+    return (TypeLiteral<AsyncCheckedProvider<T>>) TypeLiteral.get(
+        Types.newParameterizedType(AsyncCheckedProvider.class, valueType.getType()));
+  }
+
   public class SecondaryBinder<P extends CheckedProvider> {
     private final Class<P> interfaceType;
     private final Type valueType;
@@ -170,28 +329,13 @@ public class ThrowingProviderBinder {
       final Key<Result> resultKey = Key.get(Result.class, UniqueAnnotations.create());
       final Provider<Result> resultProvider = binder.getProvider(resultKey);
       final Provider<? extends CheckedProvider> targetProvider = binder.getProvider(targetKey);
+      final ExceptionTable exceptionTable = new ExceptionTable(exceptionTypes);
       interfaceKey = createKey();
 
       // don't bother binding the proxy type if this is in an invalid state.
       if(valid) {
-        binder.bind(interfaceKey).toProvider(new ProviderWithDependencies<P>() {
-          private final P instance = interfaceType.cast(Proxy.newProxyInstance(
-              interfaceType.getClassLoader(), new Class<?>[] { interfaceType },
-              new InvocationHandler() {
-                public Object invoke(Object proxy, Method method, Object[] args)
-                    throws Throwable {
-                  return resultProvider.get().getOrThrow();
-                }
-              }));
-            
-            public P get() {
-              return instance;
-            }
-            
-            public Set<Dependency<?>> getDependencies() {
-              return ImmutableSet.<Dependency<?>>of(Dependency.get(resultKey));
-            }
-          });
+        binder.bind(interfaceKey).toProvider(new ProxyProvider<P>(
+            interfaceType, resultKey, resultProvider, targetProvider, exceptionTable));
       }
 
       return binder.bind(resultKey).toProvider(new ProviderWithDependencies<Result>() {
@@ -199,13 +343,9 @@ public class ThrowingProviderBinder {
           try {
             return Result.forValue(targetProvider.get().get());
           } catch (Exception e) {
-            for(Class<? extends Throwable> exceptionType : exceptionTypes) {
-              if (exceptionType.isInstance(e)) {
-                return Result.forException(e);
-              }
-            }
-            
-            if (e instanceof RuntimeException) {
+            if (exceptionTable.isDeclared(e)) {
+              return Result.forException(e);
+            } else if (e instanceof RuntimeException) {
               throw (RuntimeException) e;
             } else {
               // this should never happen
@@ -355,6 +495,107 @@ public class ThrowingProviderBinder {
     }
   }
 
+  /**
+   * Provides the proxy that implements the checked provider interface. If the result binding is
+   * unscoped, there's nothing to share between calls, so the proxy calls the target provider
+   * directly rather than provisioning a {@link Result} on each call. Direct calls skip the result
+   * binding's provision listeners, and wrap undeclared exceptions themselves.
+   */
+  private static class ProxyProvider<P> implements ProviderWithDependencies<P> {
+    private final Key<Result> resultKey;
+    private final Provider<Result> resultProvider;
+    private final Provider<? extends CheckedProvider> targetProvider;
+    private final ExceptionTable exceptionTable;
+    private final P instance;
+
+    /** True if the result binding is unscoped. Set once the injector has been created. */
+    private volatile boolean direct;
+
+    ProxyProvider(Class<P> interfaceType, Key<Result> resultKey, Provider<Result> resultProvider,
+        Provider<? extends CheckedProvider> targetProvider, ExceptionTable exceptionTable) {
+      this.resultKey = resultKey;
+      this.resultProvider = resultProvider;
+      this.targetProvider = targetProvider;
+      this.exceptionTable = exceptionTable;
+      this.instance = interfaceType.cast(Proxy.newProxyInstance(
+          interfaceType.getClassLoader(), new Class<?>[] { interfaceType },
+          new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+              return ProxyProvider.this.invoke();
+            }
+          }));
+    }
+
+    @Inject void initialize(Injector injector) {
+      direct = injector.getBinding(resultKey).acceptScopingVisitor(
+          new DefaultBindingScopingVisitor<Boolean>() {
+            @Override public Boolean visitNoScoping() {
+              return true;
+            }
+
+            @Override public Boolean visitScope(Scope scope) {
+              return scope == Scopes.NO_SCOPE;
+            }
+
+            @Override protected Boolean visitOther() {
+              return false;
+            }
+          });
+    }
+
+    Object invoke() throws Exception {
+      if (!direct) {
+        return resultProvider.get().getOrThrow();
+      }
+
+      try {
+        return targetProvider.get().get();
+      } catch (ProvisionException e) {
+        throw e;
+      } catch (Exception e) {
+        if (exceptionTable.isDeclared(e)) {
+          throw e;
+        }
+        // fail like the result binding's provider would have
+        throw new ProvisionException("Error in custom provider, " + e, e);
+      }
+    }
+
+    public P get() {
+      return instance;
+    }
+
+    public Set<Dependency<?>> getDependencies() {
+      return ImmutableSet.<Dependency<?>>of(Dependency.get(resultKey));
+    }
+  }
+
+  /**
+   * Remembers whether each exception type is declared by the checked provider interface, so the
+   * declared types are only searched once per exception type.
+   */
+  private static class ExceptionTable {
+    private final Map<Class<?>, Boolean> declared;
+
+    ExceptionTable(final List<Class<? extends Throwable>> exceptionTypes) {
+      declared = new MapMaker().weakKeys().makeComputingMap(new Function<Class<?>, Boolean>() {
+        public Boolean apply(Class<?> type) {
+          for (Class<? extends Throwable> exceptionType : exceptionTypes) {
+            if (exceptionType.isAssignableFrom(type)) {
+              return true;
+            }
+          }
+          return false;
+        }
+      });
+    }
+
+    /** Returns true if the type of {@code e} is declared by the interface. */
+    boolean isDeclared(Exception e) {
+      return declared.get(e.getClass());
+    }
+  }
+
   /**
    * Represents the returned value from a call to {@link
    * CheckedProvider#get()}. This is the value that will be scoped by Guice.
@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2010 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.inject.throwingproviders;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.CreationException;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Singleton;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Named;
+import java.rmi.RemoteException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+/**
+ * Tests for {@link AsyncCheckedProvider}.
+ */
+public class AsyncCheckedProviderTest extends TestCase {
+
+  private final TypeLiteral<AsyncCheckedProvider<String>> asyncProviderOfString
+      = new TypeLiteral<AsyncCheckedProvider<String>>() { };
+  private final TypeLiteral<AsyncCheckedProvider<Integer>> asyncProviderOfInteger
+      = new TypeLiteral<AsyncCheckedProvider<Integer>>() { };
+
+  private ExecutorService executor;
+
+  @Override protected void setUp() throws Exception {
+    super.setUp();
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @Override protected void tearDown() throws Exception {
+    executor.shutdownNow();
+    super.tearDown();
+  }
+
+  public void testBindAsyncIsScoped() throws Exception {
+    final AtomicInteger calls = new AtomicInteger();
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        ThrowingProviderBinder.create(binder())
+            .bindAsync(String.class)
+            .to(new AsyncCheckedProvider<String>() {
+              public Future<String> get() {
+                final int call = calls.incrementAndGet();
+                return executor.submit(new Callable<String>() {
+                  public String call() {
+                    return "A" + call;
+                  }
+                });
+              }
+            })
+            .in(Singleton.class);
+      }
+    });
+
+    AsyncCheckedProvider<String> provider = injector.getInstance(Key.get(asyncProviderOfString));
+    Future<String> future = provider.get();
+    assertSame(future, provider.get());
+    assertEquals("A1", future.get(5, TimeUnit.SECONDS));
+    assertEquals(1, calls.get());
+  }
+
+  public void testProviderMethodsResolveConcurrently() throws Exception {
+    final CountDownLatch bothStarted = new CountDownLatch(2);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger sums = new AtomicInteger();
+
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        bind(Executor.class).annotatedWith(AsyncExecutor.class).toInstance(executor);
+        install(ThrowingProviderBinder.forModule(this));
+      }
+
+      @CheckedProvides(AsyncCheckedProvider.class) @Named("a")
+      Integer provideA() throws InterruptedException {
+        bothStarted.countDown();
+        release.await();
+        return 2;
+      }
+
+      @CheckedProvides(AsyncCheckedProvider.class) @Named("b")
+      Integer provideB() throws InterruptedException {
+        bothStarted.countDown();
+        release.await();
+        return 3;
+      }
+
+      @CheckedProvides(AsyncCheckedProvider.class) @Singleton
+      Integer provideSum(@Named("a") Future<Integer> a, @Named("b") Future<Integer> b)
+          throws Exception {
+        assertTrue(a.isDone());
+        assertTrue(b.isDone());
+        sums.incrementAndGet();
+        return a.get() + b.get();
+      }
+    });
+
+    AsyncCheckedProvider<Integer> provider
+        = injector.getInstance(Key.get(asyncProviderOfInteger));
+    Future<Integer> sum = provider.get();
+    assertTrue("dependencies should start together", bothStarted.await(5, TimeUnit.SECONDS));
+    assertFalse(sum.isDone());
+
+    release.countDown();
+    assertEquals(5, (int) sum.get(5, TimeUnit.SECONDS));
+    assertSame(sum, provider.get());
+    assertEquals(1, sums.get());
+  }
+
+  public void testFailedDependencyFailsDependents() throws Exception {
+    final AtomicInteger calls = new AtomicInteger();
+
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        bind(Executor.class).annotatedWith(AsyncExecutor.class).toInstance(executor);
+        install(ThrowingProviderBinder.forModule(this));
+      }
+
+      @CheckedProvides(AsyncCheckedProvider.class)
+      Integer provideCount() throws RemoteException {
+        throw new RemoteException("unreachable");
+      }
+
+      @CheckedProvides(AsyncCheckedProvider.class)
+      String provideDescription(Future<Integer> count) throws Exception {
+        calls.incrementAndGet();
+        return "count: " + count.get();
+      }
+    });
+
+    Future<String> description = injector.getInstance(Key.get(asyncProviderOfString)).get();
+    try {
+      description.get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException expected) {
+      assertTrue(expected.getCause() instanceof RemoteException);
+      assertEquals("unreachable", expected.getCause().getMessage());
+    }
+    assertEquals(0, calls.get());
+  }
+
+  public void testProviderMethodsRequireExecutor() {
+    try {
+      Guice.createInjector(new AbstractModule() {
+        protected void configure() {
+          install(ThrowingProviderBinder.forModule(this));
+        }
+
+        @CheckedProvides(AsyncCheckedProvider.class)
+        String provideString() {
+          return "A";
+        }
+      });
+      fail();
+    } catch (CreationException expected) {
+      assertTrue(expected.getMessage(), expected.getMessage().contains(
+          "No implementation for java.util.concurrent.Executor annotated with "
+              + AsyncExecutor.class + " was bound."));
+    }
+  }
+}
@@ -99,6 +99,31 @@ public class ThrowingProviderTest extends TestCase {
     }
   }
 
+  public void testUnscopedValuesAndExceptions() throws RemoteException {
+    Injector injector = Guice.createInjector(new AbstractModule() {
+      protected void configure() {
+        ThrowingProviderBinder.create(binder())
+            .bind(RemoteProvider.class, String.class)
+            .to(mockRemoteProvider);
+      }
+    });
+    RemoteProvider<String> remoteProvider =
+      injector.getInstance(Key.get(remoteProviderOfString));
+
+    mockRemoteProvider.setNextToReturn("A");
+    assertEquals("A", remoteProvider.get());
+    mockRemoteProvider.setNextToReturn("B");
+    assertEquals("B", remoteProvider.get());
+
+    mockRemoteProvider.throwOnNextGet("kaboom!");
+    try {
+      remoteProvider.get();
+      fail();
+    } catch (RemoteException expected) {
+      assertEquals("kaboom!", expected.getMessage());
+    }
+  }
+
   public void testValuesScoped_Bind() throws RemoteException {
     tValuesScoped(bindInjector);
   }